@@ -13,6 +13,13 @@ plugins {
      */
     id("com.github.johnrengelman.shadow") version "8.1.1"
     id("org.danilopianini.gradle-java-qa") version "1.96.0"
+
+    /*
+     * Adds the "jmh" source set (src/jmh/java) for microbenchmarks.
+     * Run them with the "jmh" task: ./gradlew jmh
+     * A subset can be selected with -PjmhIncludes=<regex>
+     */
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 repositories { // Where to search for dependencies
@@ -45,7 +52,19 @@ dependencies {
 
 application {
     // Define the main class for the application.
-    mainClass.set("it.unibo.sampleapp.RateAMovie")
+    mainClass.set("it.unibo.App")
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    // Throughput, with the GC profiler reporting the bytes allocated per operation
+    benchmarkMode.set(listOf("thrpt"))
+    profilers.set(listOf("gc"))
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    resultFormat.set("JSON")
+    project.findProperty("jmhIncludes")?.let { includes.set(listOf(it.toString())) }
 }
 
 tasks.test {
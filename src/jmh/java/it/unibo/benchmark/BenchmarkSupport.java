@@ -0,0 +1,14 @@
+package it.unibo.benchmark;
+
+/**
+ * Values shared by the benchmarks, matching the ones the game uses.
+ */
+final class BenchmarkSupport {
+
+    static final int WIDTH = 800;
+    static final int HEIGHT = 600;
+    static final long SEED = 42L;
+
+    private BenchmarkSupport() {
+    }
+}
@@ -0,0 +1,54 @@
+package it.unibo.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import it.unibo.model.Map.api.Chunk;
+import it.unibo.model.Map.impl.ChunkFactoryImpl;
+import it.unibo.model.Map.impl.ChunkImpl;
+import it.unibo.model.Map.impl.ChunkPools;
+
+/**
+ * Cost of generating a chunk of each type. Chunks are recycled after each
+ * call, as the map does, so the numbers include the pooled steady state.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ChunkFactoryBenchmark {
+
+    @Param({"RANDOM", "ROAD", "RAILWAY", "RIVER", "GRASS"})
+    private String type;
+
+    private ChunkFactoryImpl factory;
+    private int position;
+
+    @Setup
+    public void setUp() {
+        factory = new ChunkFactoryImpl(ChunkImpl.DEFAULT_CELL_SIZE, BenchmarkSupport.SEED, new ChunkPools());
+        position = 0;
+    }
+
+    @Benchmark
+    public int createChunk() {
+        position += ChunkImpl.STANDARD_HEIGHT;
+        Chunk chunk = switch (type) {
+            case "ROAD" -> factory.createRoadChunk(position, BenchmarkSupport.WIDTH);
+            case "RAILWAY" -> factory.createRailwayChunk(position, BenchmarkSupport.WIDTH);
+            case "RIVER" -> factory.createRiverChunk(position, BenchmarkSupport.WIDTH);
+            case "GRASS" -> factory.createGrassChunk(position, BenchmarkSupport.WIDTH);
+            default -> factory.createRandomChunk(position, BenchmarkSupport.WIDTH);
+        };
+        int objects = chunk.getObjects().size();
+        factory.recycle(chunk);
+        return objects;
+    }
+}
@@ -0,0 +1,48 @@
+package it.unibo.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import it.unibo.model.Map.impl.ChunkImpl;
+import it.unibo.model.Map.impl.GameMapImpl;
+
+/**
+ * Cost of a single map update, including chunk generation and cleanup
+ * whenever the scroll crosses a chunk boundary.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class GameMapBenchmark {
+
+    @Param({"1", "3", "10"})
+    private int scrollSpeed;
+
+    private GameMapImpl gameMap;
+
+    @Setup
+    public void setUp() {
+        gameMap = new GameMapImpl(BenchmarkSupport.WIDTH, BenchmarkSupport.HEIGHT, scrollSpeed,
+            ChunkImpl.DEFAULT_CELL_SIZE, BenchmarkSupport.SEED);
+    }
+
+    @TearDown
+    public void tearDown() {
+        gameMap.dispose();
+    }
+
+    @Benchmark
+    public int update() {
+        gameMap.update();
+        return gameMap.getCurrentPosition();
+    }
+}
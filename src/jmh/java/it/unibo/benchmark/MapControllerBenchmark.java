@@ -0,0 +1,82 @@
+package it.unibo.benchmark;
+
+import java.awt.Graphics;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import it.unibo.controller.Map.impl.MapControllerImpl;
+import it.unibo.model.Map.impl.ChunkImpl;
+import it.unibo.model.Map.impl.GameMapImpl;
+import it.unibo.model.Map.util.CollectibleType;
+import it.unibo.view.Map.api.MapView;
+
+/**
+ * Cost of the point queries the player makes every tick, on a map that
+ * has scrolled far enough to have its buffer full of generated chunks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MapControllerBenchmark {
+
+    private static final int WARMUP_UPDATES = 2000;
+    private static final int PROBES = 1024;
+
+    private GameMapImpl gameMap;
+    private MapControllerImpl controller;
+    private final int[] probeX = new int[PROBES];
+    private final int[] probeY = new int[PROBES];
+    private int nextProbe;
+
+    @Setup
+    public void setUp() {
+        gameMap = new GameMapImpl(BenchmarkSupport.WIDTH, BenchmarkSupport.HEIGHT, 3,
+            ChunkImpl.DEFAULT_CELL_SIZE, BenchmarkSupport.SEED);
+        controller = new MapControllerImpl(gameMap, new MapView() {
+            @Override
+            public void updateViewport() {
+            }
+
+            @Override
+            public void render(final Graphics g) {
+            }
+        });
+        for (int i = 0; i < WARMUP_UPDATES; i++) {
+            controller.update();
+        }
+        Random random = new Random(BenchmarkSupport.SEED);
+        for (int i = 0; i < PROBES; i++) {
+            probeX[i] = random.nextInt(BenchmarkSupport.WIDTH);
+            probeY[i] = gameMap.getCurrentPosition() + random.nextInt(BenchmarkSupport.HEIGHT);
+        }
+        nextProbe = 0;
+    }
+
+    @TearDown
+    public void tearDown() {
+        gameMap.dispose();
+    }
+
+    @Benchmark
+    public boolean isCollision() {
+        int probe = nextProbe;
+        nextProbe = (nextProbe + 1) % PROBES;
+        return controller.isCollision(probeX[probe], probeY[probe]);
+    }
+
+    @Benchmark
+    public CollectibleType tryCollectItem() {
+        int probe = nextProbe;
+        nextProbe = (nextProbe + 1) % PROBES;
+        return controller.tryCollectItem(probeX[probe], probeY[probe]);
+    }
+}
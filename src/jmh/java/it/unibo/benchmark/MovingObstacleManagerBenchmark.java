@@ -0,0 +1,71 @@
+package it.unibo.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import it.unibo.model.Map.Obstacles.impl.MovingObstacleManagerImpl;
+import it.unibo.model.Map.Obstacles.impl.MovingObstacles;
+import it.unibo.model.Map.util.ObstacleType;
+
+/**
+ * Cost of moving every obstacle by one tick and of a player collision
+ * check, with the obstacles spread over lanes of a long stretch of map.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MovingObstacleManagerBenchmark {
+
+    private static final int LANE_SPACING = 40;
+    private static final int OBSTACLES_PER_LANE = 8;
+    private static final int PROBES = 1024;
+
+    @Param({"10", "100", "1000", "10000"})
+    private int obstacles;
+
+    private MovingObstacleManagerImpl manager;
+    private final int[] probeX = new int[PROBES];
+    private final int[] probeY = new int[PROBES];
+    private int nextProbe;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(BenchmarkSupport.SEED);
+        manager = new MovingObstacleManagerImpl();
+        int lanes = Math.max(1, obstacles / OBSTACLES_PER_LANE);
+        for (int i = 0; i < obstacles; i++) {
+            int lane = i % lanes;
+            ObstacleType type = lane % 4 == 3 ? ObstacleType.TRAIN : ObstacleType.CAR;
+            int speed = (1 + random.nextInt(4)) * (lane % 2 == 0 ? 1 : -1);
+            manager.addObstacle(new MovingObstacles(random.nextInt(BenchmarkSupport.WIDTH),
+                lane * LANE_SPACING, type, speed));
+        }
+        for (int i = 0; i < PROBES; i++) {
+            probeX[i] = random.nextInt(BenchmarkSupport.WIDTH);
+            probeY[i] = random.nextInt(lanes * LANE_SPACING);
+        }
+        nextProbe = 0;
+    }
+
+    @Benchmark
+    public long updateAll() {
+        manager.updateAll(BenchmarkSupport.WIDTH);
+        return manager.getTick();
+    }
+
+    @Benchmark
+    public boolean checkCollision() {
+        int probe = nextProbe;
+        nextProbe = (nextProbe + 1) % PROBES;
+        return manager.checkCollision(probeX[probe], probeY[probe]);
+    }
+}
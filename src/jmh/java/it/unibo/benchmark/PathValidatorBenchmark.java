@@ -0,0 +1,53 @@
+package it.unibo.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import it.unibo.model.Map.api.Chunk;
+import it.unibo.model.Map.impl.ChunkFactoryImpl;
+import it.unibo.model.Map.impl.ChunkImpl;
+import it.unibo.model.Map.impl.PathValidatorImpl;
+
+/**
+ * Cost of validating a grass chunk against the previous one.
+ * A run of consecutive grass chunks is generated for every iteration, so
+ * each chunk is validated with its neighbour; chunks validated again in a
+ * later round already have their path and only pay for the check.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PathValidatorBenchmark {
+
+    private static final int CHUNKS = 1024;
+
+    private final Chunk[] chunks = new Chunk[CHUNKS];
+    private PathValidatorImpl validator;
+    private int next;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        ChunkFactoryImpl factory = new ChunkFactoryImpl(ChunkImpl.DEFAULT_CELL_SIZE, BenchmarkSupport.SEED);
+        for (int i = 0; i < CHUNKS; i++) {
+            chunks[i] = factory.createGrassChunk(i * ChunkImpl.STANDARD_HEIGHT, BenchmarkSupport.WIDTH);
+        }
+        validator = new PathValidatorImpl();
+        next = 0;
+    }
+
+    @Benchmark
+    public Chunk ensureTraversability() {
+        Chunk chunk = chunks[next];
+        next = (next + 1) % CHUNKS;
+        validator.ensureTraversability(chunk);
+        return chunk;
+    }
+}
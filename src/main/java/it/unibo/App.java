@@ -1,9 +1,72 @@
 package it.unibo;
 
+import it.unibo.controller.HeadlessSimulation;
+import it.unibo.view.GameView;
+
 public class App {
 
+    private static final long DEFAULT_TICKS = 100_000;
+    private static final int DEFAULT_SPEED = 3;
+
     public static void main(String[] args) {
-        
+        long seed = System.nanoTime();
+        long ticks = DEFAULT_TICKS;
+        int speed = DEFAULT_SPEED;
+        boolean headless = false;
+
+        // Senza opzioni parte il gioco; --headless [--seed N] [--ticks N] [--speed N] avvia la simulazione
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--headless" -> headless = true;
+                    case "--seed" -> seed = Long.parseLong(valueOf(args, i++));
+                    case "--ticks" -> ticks = Long.parseLong(valueOf(args, i++));
+                    case "--speed" -> speed = Integer.parseInt(valueOf(args, i++));
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            if (ticks <= 0) {
+                throw new IllegalArgumentException("--ticks must be positive: " + ticks);
+            }
+            if (speed <= 0) {
+                throw new IllegalArgumentException("--speed must be positive: " + speed);
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            printUsage();
+            System.exit(2);
+        }
+
+        if (!headless) {
+            GameView.main(args);
+            return;
+        }
+
+        HeadlessSimulation simulation = new HeadlessSimulation(seed, speed);
+        try {
+            System.out.println(simulation.run(ticks));
+        } finally {
+            simulation.dispose();
+        }
+    }
+
+    /**
+     * Gets the value following an option.
+     * 
+     * @param args Command line arguments
+     * @param i Index of the option
+     * @return The value of the option
+     */
+    private static String valueOf(String[] args, int i) {
+        if (i + 1 >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[i]);
+        }
+        return args[i + 1];
+    }
+
+    private static void printUsage() {
+        System.err.println("Usage: App                                           start the game");
+        System.err.println("       App --headless [--seed N] [--ticks N] [--speed N]  run the simulation without a window");
     }
 
 }
@@ -86,6 +86,17 @@ public class MainGamePanel extends JPanel implements GameStateManager.GameInitia
         }
     }
     
+    /**
+     * Rilascia le risorse della mappa quando il pannello viene rimosso dalla finestra.
+     */
+    @Override
+    public void removeNotify() {
+        super.removeNotify();
+        if (gameMap != null) {
+            gameMap.dispose();
+        }
+    }
+    
     @Override
     public void initShop() {
         // TODO: Inizializza le componenti del negozio
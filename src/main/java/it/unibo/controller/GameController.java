@@ -3,8 +3,11 @@ package it.unibo.controller;
 import it.unibo.controller.Map.api.MapController;
 import it.unibo.controller.Map.impl.MapControllerImpl;
 import it.unibo.model.Map.api.GameMap;
+import it.unibo.model.Map.util.FrameMetrics;
+import it.unibo.model.Map.util.FrameMetrics.Phase;
 import it.unibo.view.GameView;
 import it.unibo.view.Map.api.MapView;
+import it.unibo.view.Map.impl.MapViewImpl;
 
 /**
  * Controller principale che gestisce il ciclo di gioco e coordina
@@ -21,14 +24,14 @@ public class GameController {
     //private final CollisionController collisionController;
     //rivate final ScoreController scoreController;
     private final GameView gameView;
+    private final MapView mapView;
     private final GameStateManager gameStateManager;
     private final MovingObstacleController movingObstacleController;
     
     // Gestione del game loop
-    //private final GameLoopManager gameLoopManager;
+    private final GameLoopManager gameLoopManager;
     private boolean gameRunning;
     private boolean gamePaused;
-    private long gameStartTime;
 
      // Configurazione della difficoltà
      private static final long DIFFICULTY_INCREASE_INTERVAL = 30000; // 30 secondi
@@ -45,6 +48,7 @@ public class GameController {
      */
     public GameController(GameView gameView, MapView mapView, GameMap gameMap,/* Player player ,*/ GameStateManager gameStateManager) {
         this.gameView = gameView;
+        this.mapView = mapView;
         this.gameMap = gameMap;
        // this.player = player;
         this.gameStateManager = gameStateManager;
@@ -54,7 +58,8 @@ public class GameController {
        // this.playerController = new PlayerController(player);
         //this.collisionController = new CollisionController(mapController, player);
         //this.scoreController = new ScoreController(player, gameView);
-        //this.gameLoopManager = new GameLoopManager(this::gameLoopUpdate);
+        this.gameLoopManager = new GameLoopManager(this::gameLoopUpdate, this::renderFrame,
+            GameLoopManager.DEFAULT_TICKS_PER_SECOND, GameLoopManager.DEFAULT_FRAMES_PER_SECOND);
 
         // Controller degli ostacoli mobili
         this.movingObstacleController = new MovingObstacleController(gameMap);
@@ -76,8 +81,7 @@ public class GameController {
             gameRunning = true;
             gamePaused = false;
             //scoreController.resetScore();
-            gameStartTime = System.currentTimeMillis();
-            lastDifficultyIncrease = gameStartTime;
+            lastDifficultyIncrease = gameLoopManager.getSimulatedMillis();
             
             // Posiziona il giocatore nella posizione iniziale
            // player.setPosition(gameMap.getViewportWidth() / 2, gameMap.getCurrentPosition() + 50);
@@ -87,7 +91,7 @@ public class GameController {
             movingObstacleController.startObstacleGeneration();
             
             // Avvia il game loop
-           // gameLoopManager.startGameLoop();
+            gameLoopManager.startGameLoop();
             
             // Informa la view che il gioco è iniziato
             gameView.showGameScreen();
@@ -104,11 +108,13 @@ public class GameController {
         gamePaused = !gamePaused;
 
         if (gamePaused) {
-            // Quando in pausa, sospendi la generazione di ostacoli
+            // Quando in pausa, sospendi la simulazione e la generazione di ostacoli
+            gameLoopManager.pauseGameLoop();
             movingObstacleController.pauseObstacleGeneration();
         } else {
-            // Quando riprendi, riavvia la generazione di ostacoli
+            // Quando riprendi, riavvia la simulazione e la generazione di ostacoli
             movingObstacleController.resumeObstacleGeneration();
+            gameLoopManager.resumeGameLoop();
         }
         
         gameView.setPauseState(gamePaused);
@@ -120,10 +126,11 @@ public class GameController {
     public void endGame() {
         if (gameRunning) {
             gameRunning = false;
-           // gameLoopManager.stopGameLoop();
+            gameLoopManager.stopGameLoop();
 
             // Ferma la generazione di ostacoli e rilascia le risorse
             movingObstacleController.dispose();
+            gameMap.dispose();
             
             // Aggiorna il punteggio massimo se necessario
            // scoreController.updateHighScore();
@@ -142,7 +149,9 @@ public class GameController {
     private void gameLoopUpdate() {
         try {
             if (gameRunning && !gamePaused) {
-                // Aggiorna prima gli ostacoli mobili
+                long start = System.nanoTime();
+                
+                // Genera prima gli ostacoli mobili di questo tick, poi la mappa li muove
                 movingObstacleController.update();
 
                 // Aggiorna la mappa
@@ -175,6 +184,8 @@ public class GameController {
                 // Aumenta progressivamente la difficoltà
                 updateDifficulty();
                 
+                FrameMetrics.record(Phase.TICK, start);
+                
                 // Aggiorna la view
                // gameView.updateView();
             }
@@ -184,12 +195,24 @@ public class GameController {
         }
     }
     
+    /**
+     * Disegna un frame, interpolando tra l'ultimo passo di simulazione e il successivo.
+     * 
+     * @param alpha Frazione di passo trascorsa dall'ultimo aggiornamento
+     */
+    private void renderFrame(double alpha) {
+        if (mapView instanceof MapViewImpl mapViewImpl) {
+            mapViewImpl.setInterpolation(alpha);
+        }
+        gameView.renderFrame();
+    }
+    
     /**
      * Aggiorna la difficoltà del gioco con il passare del tempo.
      */
     private void updateDifficulty() {
-         // Calcola il tempo di gioco in millisecondi
-         long currentTime = System.currentTimeMillis();
+         // Tempo di gioco simulato in millisecondi: le pause non contano
+         long currentTime = gameLoopManager.getSimulatedMillis();
         
          // Aumenta la difficoltà ogni DIFFICULTY_INCREASE_INTERVAL millisecondi
          if (currentTime - lastDifficultyIncrease >= DIFFICULTY_INCREASE_INTERVAL) {
@@ -248,6 +271,15 @@ public class GameController {
         }
     }
 
+    /**
+     * Ottiene il game loop.
+     * 
+     * @return Il gestore del game loop
+     */
+    public GameLoopManager getGameLoopManager() {
+        return gameLoopManager;
+    }
+
     /**
      * Ottiene il controller degli ostacoli mobili.
      * 
@@ -0,0 +1,244 @@
+package it.unibo.controller;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Game loop with a fixed simulation step and a separate render rate.
+ * Elapsed time is collected in an accumulator and consumed in whole steps,
+ * so the game runs at the same speed whatever the frame rate; what is left
+ * of the accumulator is passed to the renderer as the interpolation factor
+ * between the previous and the current state.
+ * If the simulation falls too far behind, the backlog is dropped instead of
+ * being caught up, so a slow frame cannot make the following ones slower.
+ */
+public class GameLoopManager {
+
+    public static final int DEFAULT_TICKS_PER_SECOND = 60;
+    public static final int DEFAULT_FRAMES_PER_SECOND = 60;
+
+    // Numero massimo di passi di simulazione eseguiti per un singolo frame
+    private static final int MAX_STEPS_PER_FRAME = 5;
+    private static final long STOP_TIMEOUT_MILLIS = 500;
+
+    private final Runnable update;
+    private final DoubleConsumer render;
+    private final long stepNanos;
+    private volatile long frameNanos;
+
+    private long accumulator;
+    private volatile long tickCount;
+    private volatile long droppedNanos;
+    private volatile boolean running;
+    private volatile boolean paused;
+    private Thread loopThread;
+
+    /**
+     * Constructor for the GameLoopManager class, with the default rates and no renderer.
+     *
+     * @param update Action run once per simulation step
+     */
+    public GameLoopManager(final Runnable update) {
+        this(update, alpha -> { }, DEFAULT_TICKS_PER_SECOND, DEFAULT_FRAMES_PER_SECOND);
+    }
+
+    /**
+     * Constructor for the GameLoopManager class.
+     *
+     * @param update Action run once per simulation step
+     * @param render Action run once per frame, receiving the interpolation factor in [0, 1)
+     * @param ticksPerSecond Simulation steps per second
+     * @param framesPerSecond Frames rendered per second
+     */
+    public GameLoopManager(final Runnable update, final DoubleConsumer render,
+            final int ticksPerSecond, final int framesPerSecond) {
+        if (ticksPerSecond <= 0) {
+            throw new IllegalArgumentException("Ticks per second must be positive: " + ticksPerSecond);
+        }
+        this.update = update;
+        this.render = render;
+        this.stepNanos = TimeUnit.SECONDS.toNanos(1) / ticksPerSecond;
+        setFramesPerSecond(framesPerSecond);
+    }
+
+    /**
+     * Starts the loop on its own thread. Does nothing if it is already running.
+     */
+    public synchronized void startGameLoop() {
+        if (running) {
+            return;
+        }
+        running = true;
+        paused = false;
+        accumulator = 0;
+        loopThread = new Thread(this::run, "game-loop");
+        loopThread.setDaemon(true);
+        loopThread.start();
+    }
+
+    /**
+     * Suspends the simulation; frames keep being rendered.
+     */
+    public void pauseGameLoop() {
+        paused = true;
+    }
+
+    /**
+     * Resumes the simulation. The time spent in pause is not simulated.
+     */
+    public void resumeGameLoop() {
+        paused = false;
+    }
+
+    /**
+     * Stops the loop and waits for the current frame to finish,
+     * unless it is called from the loop itself.
+     */
+    public void stopGameLoop() {
+        Thread thread;
+        synchronized (this) {
+            running = false;
+            thread = loopThread;
+            loopThread = null;
+        }
+        if (thread != null && thread != Thread.currentThread()) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(STOP_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Converts a duration to a number of steps at the default rate.
+     *
+     * @param millis Duration in milliseconds
+     * @return Number of steps, at least one
+     */
+    public static long millisToTicks(final long millis) {
+        return Math.max(1, millis * DEFAULT_TICKS_PER_SECOND / TimeUnit.SECONDS.toMillis(1));
+    }
+
+    /**
+     * Adds elapsed time to the accumulator and runs the simulation steps it covers.
+     * At most {@value #MAX_STEPS_PER_FRAME} steps are run; older time is dropped.
+     *
+     * @param elapsedNanos Time elapsed since the previous call
+     * @return Number of steps run
+     */
+    public int advance(final long elapsedNanos) {
+        if (paused) {
+            return 0;
+        }
+        accumulator += Math.max(0, elapsedNanos);
+        int steps = 0;
+        while (accumulator >= stepNanos && steps < MAX_STEPS_PER_FRAME) {
+            update.run();
+            tickCount++;
+            accumulator -= stepNanos;
+            steps++;
+        }
+        if (accumulator >= stepNanos) {
+            // Spirale della morte: si rinuncia al tempo arretrato e si tiene solo la frazione di passo
+            droppedNanos += accumulator - accumulator % stepNanos;
+            accumulator %= stepNanos;
+        }
+        return steps;
+    }
+
+    /**
+     * Gets how far the current time is between the last step and the next one.
+     *
+     * @return Interpolation factor in [0, 1)
+     */
+    public double getInterpolation() {
+        return (double) accumulator / stepNanos;
+    }
+
+    /**
+     * Changes the render rate without affecting the simulation speed.
+     *
+     * @param framesPerSecond Frames rendered per second
+     */
+    public void setFramesPerSecond(final int framesPerSecond) {
+        if (framesPerSecond <= 0) {
+            throw new IllegalArgumentException("Frames per second must be positive: " + framesPerSecond);
+        }
+        this.frameNanos = TimeUnit.SECONDS.toNanos(1) / framesPerSecond;
+    }
+
+    /**
+     * Gets the duration of a simulation step.
+     *
+     * @return Step duration in nanoseconds
+     */
+    public long getStepNanos() {
+        return stepNanos;
+    }
+
+    /**
+     * Gets the number of simulation steps run since the loop was created.
+     *
+     * @return Number of steps
+     */
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    /**
+     * Gets the simulated time, which does not include pauses and dropped time.
+     *
+     * @return Simulated time in milliseconds
+     */
+    public long getSimulatedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(tickCount * stepNanos);
+    }
+
+    /**
+     * Gets the time dropped because the simulation could not keep up.
+     *
+     * @return Dropped time in nanoseconds
+     */
+    public long getDroppedNanos() {
+        return droppedNanos;
+    }
+
+    /**
+     * Checks if the loop is running.
+     *
+     * @return True if the loop thread is active
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Checks if the simulation is paused.
+     *
+     * @return True if paused
+     */
+    public boolean isPaused() {
+        return paused;
+    }
+
+    private void run() {
+        long previous = System.nanoTime();
+        while (running) {
+            long frameStart = System.nanoTime();
+            advance(frameStart - previous);
+            previous = frameStart;
+            if (!running) {
+                break;
+            }
+            render.accept(getInterpolation());
+            // Attende l'inizio del frame successivo
+            long remaining = frameStart + frameNanos - System.nanoTime();
+            if (remaining > 0) {
+                LockSupport.parkNanos(this, remaining);
+            }
+        }
+    }
+}
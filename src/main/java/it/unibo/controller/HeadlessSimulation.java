@@ -0,0 +1,181 @@
+package it.unibo.controller;
+
+import java.awt.Graphics;
+import java.util.concurrent.TimeUnit;
+
+import it.unibo.controller.Map.impl.MapControllerImpl;
+import it.unibo.model.Map.api.ChunkPipeline;
+import it.unibo.model.Map.impl.ChunkImpl;
+import it.unibo.model.Map.impl.GameMapImpl;
+import it.unibo.model.Map.util.FrameMetrics;
+import it.unibo.model.Map.util.ObstacleType;
+import it.unibo.view.Map.api.MapView;
+
+/**
+ * Runs the game model without a window, as fast as the CPU allows.
+ * It drives the same map and obstacle controllers as the game, with a view
+ * that draws nothing. Obstacles are spawned on simulation ticks, as in the
+ * game, so a run depends only on its seed, speed and number of ticks.
+ */
+public class HeadlessSimulation {
+
+    public static final int WIDTH = 800;
+    public static final int HEIGHT = 600;
+
+    private final GameMapImpl gameMap;
+    private final MapControllerImpl mapController;
+    private final MovingObstacleController obstacleController;
+    private long tick;
+    private int peakObstacles;
+
+    /**
+     * Constructor for the HeadlessSimulation class.
+     *
+     * @param seed World seed
+     * @param scrollSpeed Scrolling speed of the map, in pixels per tick
+     */
+    public HeadlessSimulation(final long seed, final int scrollSpeed) {
+        this.gameMap = new GameMapImpl(WIDTH, HEIGHT, scrollSpeed, ChunkImpl.DEFAULT_CELL_SIZE, seed);
+        this.mapController = new MapControllerImpl(gameMap, new NoOpMapView());
+        this.obstacleController = new MovingObstacleController(gameMap);
+        obstacleController.startObstacleGeneration();
+    }
+
+    /**
+     * Runs one simulation step, in the same order as the game loop.
+     */
+    public void step() {
+        tick++;
+        obstacleController.update();
+        mapController.update();
+        peakObstacles = Math.max(peakObstacles, gameMap.getObstacleManager().getObstacleCount());
+    }
+
+    /**
+     * Runs a number of steps and measures them.
+     *
+     * @param ticks Number of steps to run
+     * @return Report of the run
+     */
+    public Report run(final long ticks) {
+        FrameMetrics.reset();
+        long start = System.nanoTime();
+        for (long i = 0; i < ticks; i++) {
+            step();
+        }
+        return new Report(ticks, System.nanoTime() - start);
+    }
+
+    /**
+     * Releases the resources of the map.
+     */
+    public void dispose() {
+        gameMap.dispose();
+    }
+
+    /**
+     * Gets the simulated map.
+     *
+     * @return The map
+     */
+    public GameMapImpl getGameMap() {
+        return gameMap;
+    }
+
+    /**
+     * Gets the number of steps run so far.
+     *
+     * @return Number of steps
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Summary of a run: throughput and the state of the map at the end.
+     */
+    public final class Report {
+
+        private final long ticks;
+        private final long elapsedNanos;
+        private final int prefetched;
+        private final int fallback;
+        private final int cars;
+        private final int trains;
+        private final String phases;
+
+        private Report(final long ticks, final long elapsedNanos) {
+            ChunkPipeline pipeline = gameMap.getChunkPipeline();
+            this.ticks = ticks;
+            this.elapsedNanos = elapsedNanos;
+            this.prefetched = pipeline.getPrefetchedCount();
+            this.fallback = pipeline.getFallbackCount();
+            this.cars = obstacleController.getObstaclesByType(ObstacleType.CAR).size();
+            this.trains = obstacleController.getObstaclesByType(ObstacleType.TRAIN).size();
+            this.phases = FrameMetrics.report();
+        }
+
+        /**
+         * Gets the simulation speed.
+         *
+         * @return Steps per second of wall clock time
+         */
+        public double getTicksPerSecond() {
+            return elapsedNanos == 0 ? 0 : ticks * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        }
+
+        /**
+         * Gets the number of chunks generated since the map was created.
+         *
+         * @return Number of chunks
+         */
+        public int getChunksGenerated() {
+            return prefetched + fallback;
+        }
+
+        /**
+         * Gets the number of cars on the map at the end of the run.
+         *
+         * @return Number of cars
+         */
+        public int getCars() {
+            return cars;
+        }
+
+        /**
+         * Gets the number of trains on the map at the end of the run.
+         *
+         * @return Number of trains
+         */
+        public int getTrains() {
+            return trains;
+        }
+
+        @Override
+        public String toString() {
+            double simulatedMinutes = ticks / (double) GameLoopManager.DEFAULT_TICKS_PER_SECOND / 60;
+            return String.format(
+                "seed=%d ticks=%d (%.1f simulated min) elapsed=%.3fs ticks/sec=%.0f%n"
+                + "position=%d chunks generated=%d (prefetched=%d, fallback=%d)%n"
+                + "obstacles: cars=%d trains=%d peak=%d%n%s",
+                gameMap.getSeed(), ticks, simulatedMinutes, elapsedNanos / 1e9, getTicksPerSecond(),
+                gameMap.getCurrentPosition(), getChunksGenerated(), prefetched, fallback, cars, trains, peakObstacles, phases);
+        }
+    }
+
+    /**
+     * View that ignores every update, used when there is no window.
+     */
+    private static final class NoOpMapView implements MapView {
+
+        @Override
+        public void updateViewport() {
+            // Niente da aggiornare senza finestra
+        }
+
+        @Override
+        public void render(final Graphics g) {
+            // Niente da disegnare senza finestra
+        }
+    }
+}
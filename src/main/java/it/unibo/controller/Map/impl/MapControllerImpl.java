@@ -1,13 +1,19 @@
 package it.unibo.controller.Map.impl;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import it.unibo.controller.Map.api.MapController;
 import it.unibo.model.Map.api.Chunk;
 import it.unibo.model.Map.api.Collectible;
 import it.unibo.model.Map.api.GameMap;
+import it.unibo.model.Map.api.GameObject;
 import it.unibo.model.Map.api.Obstacle;
+import it.unibo.model.Map.api.SpatialIndex;
+import it.unibo.model.Map.impl.RenderSnapshotBuffer;
 import it.unibo.model.Map.util.CollectibleType;
+import it.unibo.model.Map.util.FrameMetrics;
+import it.unibo.model.Map.util.FrameMetrics.Phase;
 import it.unibo.model.Map.util.ObstacleType;
 import it.unibo.view.Map.api.MapView;
 import it.unibo.view.Map.impl.MapViewImpl;
@@ -16,6 +22,10 @@ public class MapControllerImpl implements MapController {
 
     private final GameMap model;
     private final MapView view;
+    // Lista riutilizzata per i risultati delle query sull'indice spaziale
+    private final List<GameObject> candidates = new ArrayList<>();
+    // Istantanee passate alla view alla fine di ogni passo
+    private final RenderSnapshotBuffer snapshots = new RenderSnapshotBuffer();
     
     /**
      * Constructor for the MapController class.
@@ -30,38 +40,44 @@ public class MapControllerImpl implements MapController {
         // Initialize the view with current model data
         if (view instanceof MapViewImpl viewImpl) {
             viewImpl.setViewportWidth(model.getViewportWidth());
-            viewImpl.setCurrentPosition(model.getCurrentPosition());
-            viewImpl.setVisibleChunks(model.getVisibleChunks());
+            viewImpl.setSnapshotBuffer(snapshots);
+            snapshots.publish(model);
         }
     }
     
     @Override
     public void update() {
+        long start = System.nanoTime();
+
         // Update the model
         model.update();
         
         // Update all game objects in visible chunks
         updateGameObjects();
         
-        // Update the view with new data from the model
-        if (view instanceof MapViewImpl viewImpl) {
-            viewImpl.setCurrentPosition(model.getCurrentPosition());
-            viewImpl.setVisibleChunks(model.getVisibleChunks());
+        // Publish the new state to the view, which never reads the live model
+        if (view instanceof MapViewImpl) {
+            snapshots.publish(model);
         }
         
         // Update the view
         view.updateViewport();
+
+        FrameMetrics.record(Phase.MAP_UPDATE, start);
     }
     
     /**
      * Updates all game objects in visible chunks.
      */
     private void updateGameObjects() {
+        SpatialIndex index = model.getSpatialIndex();
         List<Chunk> visibleChunks = model.getVisibleChunks();
         for (Chunk chunk : visibleChunks) {
             for (var obj : chunk.getObjects()) {
                 if (obj.isMovable()) {
-                    obj.update(model.getViewportWidth());
+                    // Posizione in forma chiusa: muovere due volte nello stesso tick non ha effetto
+                    obj.advanceTo(model.getTick(), model.getViewportWidth());
+                    index.update(obj);
                 }
             }
         }
@@ -69,34 +85,39 @@ public class MapControllerImpl implements MapController {
     
     @Override
     public boolean isCollision(int screenX, int screenY) {
-        List<Chunk> chunks = model.getVisibleChunks();
-        for (Chunk chunk : chunks) {
-            for (var obj : chunk.getObjects()) {
+        long start = System.nanoTime();
+        try {
+            // Solo gli oggetti vicini al punto vengono controllati
+            candidates.clear();
+            model.getSpatialIndex().queryPoint(screenX, screenY, candidates);
+            for (GameObject obj : candidates) {
                 if (obj instanceof Obstacle && obj.collidesWith(screenX, screenY)) {
                     Obstacle obstacle = (Obstacle) obj;
                     
                     // Special case for water - player can be on water if standing on a platform
                     if (obstacle.getType() == ObstacleType.WATER) {
-                        return !isOnPlatform(screenX, screenY, chunk);
+                        return !isOnPlatform(screenX, screenY);
                     }
                     
                     return true;
                 }
             }
+            return false;
+        } finally {
+            FrameMetrics.record(Phase.COLLISION, start);
         }
-        return false;
     }
     
     /**
      * Checks if a point is on a platform (like a log in water).
+     * Uses the candidates of the last point query.
      * 
      * @param x X-coordinate
      * @param y Y-coordinate
-     * @param chunk The chunk to check
      * @return True if the point is on a platform
      */
-    private boolean isOnPlatform(int x, int y, Chunk chunk) {
-        for (var obj : chunk.getObjects()) {
+    private boolean isOnPlatform(int x, int y) {
+        for (GameObject obj : candidates) {
             if (obj.isPlatform() && obj.collidesWith(x, y)) {
                 return true;
             }
@@ -106,9 +127,11 @@ public class MapControllerImpl implements MapController {
     
     @Override
     public CollectibleType tryCollectItem(int x, int y) {
-        List<Chunk> chunks = model.getVisibleChunks();
-        for (Chunk chunk : chunks) {
-            for (var obj : chunk.getObjects()) {
+        long start = System.nanoTime();
+        try {
+            candidates.clear();
+            model.getSpatialIndex().queryPoint(x, y, candidates);
+            for (GameObject obj : candidates) {
                 if (obj instanceof Collectible && obj.collidesWith(x, y)) {
                     Collectible collectible = (Collectible) obj;
                     if (!collectible.isCollected()) {
@@ -117,8 +140,10 @@ public class MapControllerImpl implements MapController {
                     }
                 }
             }
+            return null;
+        } finally {
+            FrameMetrics.record(Phase.COLLISION, start);
         }
-        return null;
     }
     
     @Override
@@ -128,7 +153,9 @@ public class MapControllerImpl implements MapController {
         if (!visibleChunks.isEmpty()) {
             // Place in the farthest visible chunk
             Chunk targetChunk = visibleChunks.get(visibleChunks.size() - 1);
-            targetChunk.addObject(item);
+            if (targetChunk.addObject(item)) {
+                model.getSpatialIndex().insert(item);
+            }
         }
     }
     
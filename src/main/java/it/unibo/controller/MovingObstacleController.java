@@ -2,9 +2,6 @@ package it.unibo.controller;
 
 import java.util.List;
 import java.util.Random;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
 
 import it.unibo.model.Map.Obstacles.api.MovingObstacleFactory;
 import it.unibo.model.Map.Obstacles.api.MovingObstacleManager;
@@ -12,11 +9,20 @@ import it.unibo.model.Map.Obstacles.impl.MovingObstacleFactoryImpl;
 import it.unibo.model.Map.Obstacles.impl.MovingObstacleManagerImpl;
 import it.unibo.model.Map.Obstacles.impl.MovingObstacles;
 import it.unibo.model.Map.api.GameMap;
+import it.unibo.model.Map.impl.ChunkImpl;
+import it.unibo.model.Map.util.ChunkType;
+import it.unibo.model.Map.util.FrameMetrics;
+import it.unibo.model.Map.util.FrameMetrics.Phase;
 import it.unibo.model.Map.util.ObstacleType;
 
 /**
  * Controller dedicato alla gestione degli ostacoli mobili.
  * Gestisce la creazione, posizionamento, comportamento e spawn automatico di tutti gli ostacoli mobili.
+ * I metodi del controller vanno chiamati dal thread della simulazione: gli spawn
+ * usano il generatore casuale condiviso, seminato con il seme della mappa, e
+ * restano riproducibili solo se lo usa un thread alla volta, nell'ordine dei tick.
+ * Da altri thread si possono solo accodare ostacoli con submitAdd e submitRemove
+ * del manager, gli unici punti di accesso sicuri.
  */
 public class MovingObstacleController {
     
@@ -28,11 +34,15 @@ public class MovingObstacleController {
     // Parametri di configurazione
     private static final int MIN_DISTANCE_CARS = 100;
     private static final int MIN_DISTANCE_TRAINS = 300;
-    private static final int CAR_SPAWN_INTERVAL_MS = 5000; // 5 secondi
-    private static final int TRAIN_SPAWN_INTERVAL_MS = 15000; // 15 secondi
+    public static final int CAR_SPAWN_INTERVAL_MS = 5000; // 5 secondi
+    public static final int TRAIN_SPAWN_INTERVAL_MS = 15000; // 15 secondi
+    private static final int CAR_SPAWN_DELAY_MS = 2000;
+    private static final int TRAIN_SPAWN_DELAY_MS = 5000;
     
-    // Generazione automatica di ostacoli
-    private ScheduledExecutorService obstacleSpawner;
+    // Generazione automatica di ostacoli, scandita dai tick della simulazione
+    private final SpawnScheduler spawnScheduler;
+    private SpawnScheduler.Task carSpawn;
+    private SpawnScheduler.Task trainSpawn;
     
     // Difficoltà
     private int currentDifficultyLevel = 1;
@@ -45,73 +55,65 @@ public class MovingObstacleController {
      */
     public MovingObstacleController(GameMap gameMap) {
         this.gameMap = gameMap;
-        this.obstacleFactory = new MovingObstacleFactoryImpl();
-        this.random = new Random();
+        // Anche gli spawn dipendono dal seme della mappa, per rendere riproducibile la partita
+        this.random = new Random(gameMap.getSeed());
         
         // Recupera il manager esistente dalla mappa per evitare duplicazioni
         if (gameMap instanceof it.unibo.model.Map.impl.GameMapImpl gameMapImpl) {
             this.obstacleManager = gameMapImpl.getObstacleManager();
+            // Gli ostacoli vengono presi dal pool in cui il manager li rilascia
+            this.obstacleFactory = new MovingObstacleFactoryImpl(random,
+                gameMapImpl.getChunkPools().getMovingObstaclePool());
         } else {
             // Crea un nuovo manager se necessario
             this.obstacleManager = new MovingObstacleManagerImpl();
+            this.obstacleFactory = new MovingObstacleFactoryImpl(random);
         }
+        this.spawnScheduler = new SpawnScheduler(gameMap.getTick());
     }
     
     /**
      * Inizializza e avvia la generazione automatica di ostacoli.
-     * Da chiamare quando il gioco inizia.
+     * Da chiamare quando il gioco inizia. Gli spawn avvengono durante
+     * {@link #update()}, contando i tick da questo momento.
      */
     public void startObstacleGeneration() {
-        if (obstacleSpawner != null && !obstacleSpawner.isShutdown()) {
-            obstacleSpawner.shutdown();
-        }
-        
-        obstacleSpawner = Executors.newScheduledThreadPool(2);
-        
-        // Pianifica la generazione periodica di auto
-        obstacleSpawner.scheduleAtFixedRate(
-            this::spawnRandomCars,
-            2000, // Ritardo iniziale
-            CAR_SPAWN_INTERVAL_MS / obstacleSpawnRate,
-            TimeUnit.MILLISECONDS
-        );
+        stopObstacleGeneration();
         
-        // Pianifica la generazione periodica di treni
-        obstacleSpawner.scheduleAtFixedRate(
-            this::spawnRandomTrains,
-            5000, // Ritardo iniziale
-            TRAIN_SPAWN_INTERVAL_MS / obstacleSpawnRate, 
-            TimeUnit.MILLISECONDS
-        );
+        // Pianifica la generazione periodica di auto e treni
+        carSpawn = spawnScheduler.schedule(this::spawnRandomCars,
+            GameLoopManager.millisToTicks(CAR_SPAWN_DELAY_MS), carSpawnPeriod());
+        trainSpawn = spawnScheduler.schedule(this::spawnRandomTrains,
+            GameLoopManager.millisToTicks(TRAIN_SPAWN_DELAY_MS), trainSpawnPeriod());
     }
     
     /**
      * Ferma la generazione automatica di ostacoli.
-     * Da chiamare quando il gioco viene messo in pausa o terminato.
+     * Da chiamare quando il gioco viene terminato.
      */
     public void stopObstacleGeneration() {
-        if (obstacleSpawner != null && !obstacleSpawner.isShutdown()) {
-            obstacleSpawner.shutdown();
-            try {
-                obstacleSpawner.awaitTermination(500, TimeUnit.MILLISECONDS);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-        }
+        spawnScheduler.clear();
+        carSpawn = null;
+        trainSpawn = null;
+    }
+    
+    private long carSpawnPeriod() {
+        return GameLoopManager.millisToTicks(CAR_SPAWN_INTERVAL_MS / obstacleSpawnRate);
+    }
+    
+    private long trainSpawnPeriod() {
+        return GameLoopManager.millisToTicks(TRAIN_SPAWN_INTERVAL_MS / obstacleSpawnRate);
     }
     
     /**
      * Genera auto casuali sulla mappa.
-     * Chiamato automaticamente dall'obstacleSpawner.
+     * Chiamato automaticamente dallo spawnScheduler.
      */
-    private void spawnRandomCars() {
-        // Trova le posizioni Y delle strade nella mappa visibile
-        List<Integer> roadPositions = findRoadPositions();
+    public void spawnRandomCars() {
+        // Sceglie una strada vera tra quelle in vista
+        int roadY = findLaneY(ChunkType.ROAD);
         
-        if (!roadPositions.isEmpty()) {
-            // Scegli una strada casuale
-            int roadY = roadPositions.get(random.nextInt(roadPositions.size()));
-            
+        if (roadY >= 0) {
             // Il numero di auto dipende dal livello di difficoltà
             int carCount = Math.min(1 + currentDifficultyLevel / 2, 3);
             boolean leftToRight = random.nextBoolean();
@@ -123,16 +125,13 @@ public class MovingObstacleController {
     
     /**
      * Genera treni casuali sulla mappa.
-     * Chiamato automaticamente dall'obstacleSpawner.
+     * Chiamato automaticamente dallo spawnScheduler.
      */
-    private void spawnRandomTrains() {
-        // Trova le posizioni Y delle ferrovie nella mappa visibile
-        List<Integer> railwayPositions = findRailwayPositions();
+    public void spawnRandomTrains() {
+        // Sceglie una ferrovia vera tra quelle in vista
+        int railwayY = findLaneY(ChunkType.RAILWAY);
         
-        if (!railwayPositions.isEmpty()) {
-            // Scegli una ferrovia casuale
-            int railwayY = railwayPositions.get(random.nextInt(railwayPositions.size()));
-            
+        if (railwayY >= 0) {
             // I treni sono più pericolosi, quindi ne generiamo meno
             int trainCount = Math.min(1 + currentDifficultyLevel / 3, 2);
             boolean leftToRight = random.nextBoolean();
@@ -143,39 +142,25 @@ public class MovingObstacleController {
     }
     
     /**
-     * Trova le posizioni Y delle strade nella mappa visibile.
+     * Sceglie a caso un chunk del tipo dato la cui corsia è nella vista,
+     * dove gli ostacoli non vengono rimossi subito dalla pulizia.
      * 
-     * @return Lista di coordinate Y delle strade
+     * @param type Tipo di chunk (strada o ferrovia)
+     * @return Coordinata Y della corsia, al centro del chunk come quelle generate con il chunk, o -1 se non ce ne sono
      */
-    private List<Integer> findRoadPositions() {
-        // Implementazione semplificata - in un'implementazione reale, 
-        // bisognerebbe analizzare i chunk della mappa per trovare le strade
-        
-        // Assumiamo alcune posizioni predefinite per esempio
-        return List.of(
-            gameMap.getCurrentPosition() + 200,
-            gameMap.getCurrentPosition() + 400,
-            gameMap.getCurrentPosition() + 600
-        );
-    }
-    
-    /**
-     * Trova le posizioni Y delle ferrovie nella mappa visibile.
-     * 
-     * @return Lista di coordinate Y delle ferrovie
-     */
-    private List<Integer> findRailwayPositions() {
-        // Implementazione semplificata
-        
-        // Assumiamo alcune posizioni predefinite per esempio
-        return List.of(
-            gameMap.getCurrentPosition() + 300,
-            gameMap.getCurrentPosition() + 500
-        );
+    private int findLaneY(ChunkType type) {
+        int laneOffset = ChunkImpl.STANDARD_HEIGHT / 2;
+        int viewStart = gameMap.getCurrentPosition();
+        int position = gameMap.getRandomChunkPosition(type,
+            viewStart - laneOffset, viewStart + gameMap.getViewportHeight() - laneOffset, random);
+        return position < 0 ? -1 : position + laneOffset;
     }
     
     /**
      * Crea e aggiunge un nuovo ostacolo mobile alla mappa.
+     * L'ostacolo entra nella mappa all'inizio del prossimo aggiornamento,
+     * e da quel momento appartiene al manager, che lo riusa quando viene rimosso.
+     * Come gli altri metodi del controller, va chiamato dal thread della simulazione.
      * 
      * @param type Tipo di ostacolo (CAR, TRAIN)
      * @param x Posizione X
@@ -193,7 +178,7 @@ public class MovingObstacleController {
         }
         
         if (obstacle != null) {
-            obstacleManager.addObstacle(obstacle);
+            obstacleManager.submitAdd(obstacle);
         }
         
         return obstacle;
@@ -205,7 +190,7 @@ public class MovingObstacleController {
      * @param y Posizione Y della strada
      * @param count Numero di auto da creare
      * @param leftToRight Direzione di movimento
-     * @return Array di ostacoli creati
+     * @return Array delle auto inviate al manager
      */
     public MovingObstacles[] createCarSet(int y, int count, boolean leftToRight) {
         MovingObstacles[] cars = obstacleFactory.createCarSet(
@@ -216,8 +201,7 @@ public class MovingObstacleController {
             leftToRight
         );
         
-        obstacleManager.addObstacles(cars);
-        return cars;
+        return addWhereFree(cars, MIN_DISTANCE_CARS);
     }
     
     /**
@@ -226,7 +210,7 @@ public class MovingObstacleController {
      * @param y Posizione Y della ferrovia
      * @param count Numero di treni da creare
      * @param leftToRight Direzione di movimento
-     * @return Array di ostacoli creati
+     * @return Array dei treni inviati al manager
      */
     public MovingObstacles[] createTrainSet(int y, int count, boolean leftToRight) {
         MovingObstacles[] trains = obstacleFactory.createTrainSet(
@@ -237,27 +221,34 @@ public class MovingObstacleController {
             leftToRight
         );
         
-        obstacleManager.addObstacles(trains);
-        return trains;
+        return addWhereFree(trains, MIN_DISTANCE_TRAINS);
     }
     
     /**
-     * Aggiorna tutti gli ostacoli mobili.
-     * Da chiamare ad ogni ciclo di gioco.
+     * Invia al manager gli ostacoli, che vengono aggiunti al prossimo
+     * aggiornamento solo se in quel momento hanno spazio libero nella corsia.
+     * Lo spazio si controlla quando il manager applica i comandi, così le
+     * corsie vengono lette solo dal thread della simulazione.
+     * 
+     * @param obstacles Ostacoli da aggiungere
+     * @param minDistance Distanza minima dagli ostacoli già presenti
+     * @return Gli ostacoli inviati
      */
-    public void update() {
-        obstacleManager.updateAll(gameMap.getViewportWidth());
-        cleanupOffscreenObstacles();
+    private MovingObstacles[] addWhereFree(MovingObstacles[] obstacles, int minDistance) {
+        for (MovingObstacles obstacle : obstacles) {
+            obstacleManager.submitAdd(obstacle, minDistance);
+        }
+        return obstacles;
     }
     
     /**
-     * Rimuove gli ostacoli che non sono più visibili.
+     * Genera gli ostacoli dovuti per il prossimo tick.
+     * Da chiamare ad ogni ciclo di gioco, prima dell'aggiornamento della mappa:
+     * il movimento e la pulizia degli ostacoli li fa la mappa, che applica
+     * gli ostacoli generati qui nello stesso tick per cui sono stati pianificati.
      */
-    private void cleanupOffscreenObstacles() {
-        obstacleManager.cleanupOffscreenObstacles(
-            gameMap.getCurrentPosition() - 200, 
-            gameMap.getCurrentPosition() + gameMap.getViewportHeight() + 200
-        );
+    public void update() {
+        spawnScheduler.advanceTo(gameMap.getTick() + 1);
     }
     
     /**
@@ -275,10 +266,10 @@ public class MovingObstacleController {
         // Aumenta la frequenza di spawn
         obstacleSpawnRate = Math.min(obstacleSpawnRate + 1, 5);
         
-        // Riavvia la generazione di ostacoli con la nuova frequenza
-        if (obstacleSpawner != null && !obstacleSpawner.isShutdown()) {
-            stopObstacleGeneration();
-            startObstacleGeneration();
+        // Applica la nuova frequenza senza ripianificare gli spawn
+        if (carSpawn != null) {
+            carSpawn.setPeriod(carSpawnPeriod());
+            trainSpawn.setPeriod(trainSpawnPeriod());
         }
     }
     
@@ -290,17 +281,22 @@ public class MovingObstacleController {
      * @return true se c'è una collisione
      */
     public boolean checkCollision(int x, int y) {
-        return obstacleManager.checkCollision(x, y);
+        long start = System.nanoTime();
+        boolean collision = obstacleManager.checkCollision(x, y);
+        FrameMetrics.record(Phase.COLLISION, start);
+        return collision;
     }
     
     /**
      * Ottiene tutti gli ostacoli attivi di un determinato tipo.
+     * La vista cambia insieme agli ostacoli, quindi va letta solo dal
+     * thread della simulazione.
      * 
      * @param type Tipo di ostacolo
-     * @return Lista di ostacoli del tipo specificato
+     * @return Vista in sola lettura degli ostacoli del tipo specificato
      */
     public List<MovingObstacles> getObstaclesByType(ObstacleType type) {
-        return obstacleManager.getObstaclesByType(type.toString());
+        return obstacleManager.getObstacles(type);
     }
     
     /**
@@ -333,22 +329,32 @@ public class MovingObstacleController {
     
     /**
      * Sospende temporaneamente la generazione di ostacoli.
-     * Utile quando il gioco viene messo in pausa.
+     * Gli spawn seguono i tick della simulazione, che in pausa non avanzano:
+     * non c'è niente da fermare.
      */
     public void pauseObstacleGeneration() {
-        stopObstacleGeneration();
+        // Nessun thread da fermare
     }
     
     /**
-     * Riprende la generazione di ostacoli.
-     * Utile quando il gioco viene ripreso dopo una pausa.
+     * Riprende la generazione di ostacoli dal punto in cui era stata sospesa.
      */
     public void resumeObstacleGeneration() {
-        startObstacleGeneration();
+        // Gli spawn ripartono con i tick
+    }
+    
+    /**
+     * Ottiene lo scheduler che genera gli ostacoli.
+     * 
+     * @return Lo scheduler degli spawn
+     */
+    public SpawnScheduler getSpawnScheduler() {
+        return spawnScheduler;
     }
     
     /**
      * Crea un ostacolo casuale di un tipo specifico in una posizione casuale.
+     * Come per createObstacle, l'ostacolo entra nella mappa al prossimo aggiornamento.
      * 
      * @param type Tipo di ostacolo
      * @param y Posizione Y approssimativa
@@ -356,7 +362,7 @@ public class MovingObstacleController {
      */
     public MovingObstacles createRandomObstacle(ObstacleType type, int y) {
         MovingObstacles obstacle = null;
-        boolean leftToRight = Math.random() > 0.5;
+        boolean leftToRight = random.nextBoolean();
         
         switch (type) {
             case CAR -> obstacle = obstacleFactory.createRandomCar(y, gameMap.getViewportWidth(), leftToRight);
@@ -365,7 +371,7 @@ public class MovingObstacleController {
         }
         
         if (obstacle != null) {
-            obstacleManager.addObstacle(obstacle);
+            obstacleManager.submitAdd(obstacle);
         }
         
         return obstacle;
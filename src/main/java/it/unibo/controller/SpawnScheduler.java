@@ -0,0 +1,166 @@
+package it.unibo.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs periodic actions on simulation ticks instead of wall clock time.
+ * The scheduler has no thread of its own: the game loop moves it forward
+ * with {@link #advanceTo(long)}, so actions run on the loop thread, stop
+ * while the game is paused and happen on the same ticks in every run.
+ * Periods can be changed at any time without rescheduling anything.
+ */
+public class SpawnScheduler {
+
+    private final List<Task> tasks = new ArrayList<>();
+    private long tick;
+
+    /**
+     * Constructor for the SpawnScheduler class.
+     *
+     * @param startTick Tick the scheduler starts from
+     */
+    public SpawnScheduler(final long startTick) {
+        this.tick = startTick;
+    }
+
+    /**
+     * Schedules an action to run periodically.
+     *
+     * @param action Action to run
+     * @param initialDelay Ticks before the first run, counted from the current tick
+     * @param period Ticks between runs
+     * @return The scheduled task
+     */
+    public Task schedule(final Runnable action, final long initialDelay, final long period) {
+        Task task = new Task(action, tick + Math.max(1, initialDelay), period);
+        tasks.add(task);
+        return task;
+    }
+
+    /**
+     * Runs every action due up to the given tick, in tick order.
+     * A task several periods behind runs once for each period, so skipping
+     * ticks does not change what happens.
+     *
+     * @param targetTick Tick to advance to; earlier ticks are ignored
+     * @return Number of actions run
+     */
+    public int advanceTo(final long targetTick) {
+        int runs = 0;
+        while (tick < targetTick) {
+            tick++;
+            for (int i = 0; i < tasks.size(); i++) {
+                Task task = tasks.get(i);
+                if (task.nextTick == tick) {
+                    task.nextTick += task.period;
+                    task.action.run();
+                    runs++;
+                }
+            }
+            // I task annullati durante un'azione vengono tolti qui
+            tasks.removeIf(task -> task.cancelled);
+        }
+        return runs;
+    }
+
+    /**
+     * Removes every task.
+     */
+    public void clear() {
+        for (Task task : tasks) {
+            task.cancelled = true;
+            task.nextTick = Long.MAX_VALUE;
+        }
+        tasks.clear();
+    }
+
+    /**
+     * Gets the last tick the scheduler was advanced to.
+     *
+     * @return Current tick
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Gets the number of scheduled tasks.
+     *
+     * @return Number of tasks
+     */
+    public int getTaskCount() {
+        return tasks.size();
+    }
+
+    /**
+     * Periodic action of a scheduler.
+     */
+    public final class Task {
+
+        private final Runnable action;
+        private long period;
+        private long nextTick;
+        private boolean cancelled;
+
+        private Task(final Runnable action, final long nextTick, final long period) {
+            if (period <= 0) {
+                throw new IllegalArgumentException("Period must be positive: " + period);
+            }
+            this.action = action;
+            this.nextTick = nextTick;
+            this.period = period;
+        }
+
+        /**
+         * Changes the period. The next run moves by the difference, so it
+         * stays one new period after the last run, but never in the past.
+         *
+         * @param newPeriod Ticks between runs
+         */
+        public void setPeriod(final long newPeriod) {
+            if (newPeriod <= 0) {
+                throw new IllegalArgumentException("Period must be positive: " + newPeriod);
+            }
+            if (!cancelled) {
+                nextTick = Math.max(tick + 1, nextTick - period + newPeriod);
+            }
+            period = newPeriod;
+        }
+
+        /**
+         * Stops the task. It is removed before the next tick.
+         */
+        public void cancel() {
+            cancelled = true;
+            nextTick = Long.MAX_VALUE;
+        }
+
+        /**
+         * Gets the ticks between runs.
+         *
+         * @return Period in ticks
+         */
+        public long getPeriod() {
+            return period;
+        }
+
+        /**
+         * Gets the tick of the next run.
+         *
+         * @return Next tick, or {@link Long#MAX_VALUE} if the task was cancelled
+         */
+        public long getNextTick() {
+            return nextTick;
+        }
+
+        /**
+         * Checks if the task was cancelled.
+         *
+         * @return True if cancelled
+         */
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package it.unibo.model.Map.Obstacles.api;
+
+import java.util.List;
+
+import it.unibo.model.Map.Obstacles.impl.MovingObstacles;
+
+/**
+ * A single row of moving obstacles (a road or a railway) whose obstacles
+ * all travel in the same direction.
+ * Obstacles are kept sorted by X, so that per-lane checks only need to
+ * look at neighbours instead of comparing every pair of obstacles.
+ * The order is restored when obstacles are added or moved with
+ * {@link #advanceTo(long, int)}; an obstacle moved in any other way must be
+ * removed and added again. A lane belongs to the simulation thread.
+ */
+public interface Lane {
+
+    /**
+     * Gets the Y-coordinate of the lane.
+     * 
+     * @return Y-coordinate
+     */
+    int getY();
+
+    /**
+     * Gets the direction of travel of the lane.
+     * 
+     * @return 1 if the obstacles move right, -1 if they move left
+     */
+    int getDirection();
+
+    /**
+     * Adds an obstacle to the lane, keeping the lane sorted.
+     * 
+     * @param obstacle The obstacle to add
+     */
+    void add(MovingObstacles obstacle);
+
+    /**
+     * Removes an obstacle from the lane.
+     * 
+     * @param obstacle The obstacle to remove
+     * @return True if the obstacle was in the lane
+     */
+    boolean remove(MovingObstacles obstacle);
+
+    /**
+     * Moves every obstacle of the lane to the given tick, then restores the
+     * X order and slows down the cars that caught up with the one ahead.
+     * The cost does not depend on how many ticks have passed, so lanes that
+     * are not visible can be left behind and advanced when needed.
+     * 
+     * @param tick Tick to move to
+     * @param mapWidth Width of the map for wrapping
+     */
+    void advanceTo(long tick, int mapWidth);
+
+    /**
+     * Gets the tick the lane was last advanced to.
+     * 
+     * @return Current tick of the lane
+     */
+    long getTick();
+
+    /**
+     * Finds the first tick at which no obstacle of the lane overlaps a span,
+     * assuming their speeds do not change in the meantime.
+     * 
+     * @param fromTick First tick to consider
+     * @param fromX Left edge of the span, inclusive
+     * @param toX Right edge of the span, exclusive
+     * @return The tick, or -1 if the span is never free
+     */
+    long nextFreeTick(long fromTick, int fromX, int toX);
+
+    /**
+     * Checks if a point collides with an obstacle of the lane.
+     * 
+     * @param x X-coordinate
+     * @param y Y-coordinate
+     * @return True if there is a collision
+     */
+    boolean collidesWith(int x, int y);
+
+    /**
+     * Checks if an obstacle could be placed in the lane keeping a minimum
+     * distance from the obstacles already there.
+     * 
+     * @param x X-coordinate of the new obstacle
+     * @param width Width of the new obstacle
+     * @param minDistance Minimum free space on both sides
+     * @return True if the space is free
+     */
+    boolean hasGap(int x, int width, int minDistance);
+
+    /**
+     * Gets the obstacles of the lane, sorted by X.
+     * 
+     * @return Read-only list of the obstacles
+     */
+    List<MovingObstacles> getObstacles();
+
+    /**
+     * Gets the number of obstacles in the lane.
+     * 
+     * @return Count of obstacles
+     */
+    int size();
+}
@@ -3,6 +3,7 @@ package it.unibo.model.Map.Obstacles.api;
 import java.util.List;
 
 import it.unibo.model.Map.Obstacles.impl.MovingObstacles;
+import it.unibo.model.Map.util.ObstacleType;
 
 /**
  * Interface for managing moving obstacles in the game.
@@ -31,6 +32,43 @@ public interface MovingObstacleManager {
      */
     void removeObstacle(MovingObstacles obstacle);
     
+    /**
+     * Queues an obstacle to be added at the start of the next tick.
+     * The manager takes ownership of the obstacle, and may reuse it once it
+     * is cleaned up. Safe to call from any thread.
+     * 
+     * @param obstacle The obstacle to add
+     */
+    void submitAdd(MovingObstacles obstacle);
+    
+    /**
+     * Queues an obstacle to be added at the start of the next tick, only if
+     * by then its lane still has the given free space around it.
+     * The check is done when the command is applied, on the simulation
+     * thread, so the caller never reads the lanes. The manager takes ownership
+     * of the obstacle, even when it is rejected. Safe to call from any thread.
+     * 
+     * @param obstacle The obstacle to add
+     * @param minDistance Minimum free space on both sides
+     */
+    void submitAdd(MovingObstacles obstacle, int minDistance);
+    
+    /**
+     * Queues an obstacle to be removed at the start of the next tick.
+     * Safe to call from any thread.
+     * 
+     * @param obstacle The obstacle to remove
+     */
+    void submitRemove(MovingObstacles obstacle);
+    
+    /**
+     * Applies the queued additions and removals, in the order they were submitted.
+     * Called by {@link #advanceTo(long, int)}; must run on the simulation thread.
+     * 
+     * @return Number of commands applied
+     */
+    int drainCommands();
+    
     /**
      * Updates the state of all managed obstacles.
      * 
@@ -38,6 +76,36 @@ public interface MovingObstacleManager {
      */
     void updateAll(int mapWidth);
     
+    /**
+     * Moves all managed obstacles to the given tick.
+     * Positions are computed in closed form, so calling it again with the
+     * same tick does nothing and skipping ticks costs the same as one step.
+     * Queued commands are applied first.
+     * 
+     * @param tick Tick to move to
+     * @param mapWidth Width of the map for wrapping
+     */
+    void advanceTo(long tick, int mapWidth);
+    
+    /**
+     * Gets the tick the obstacles were last moved to.
+     * 
+     * @return Current tick
+     */
+    long getTick();
+    
+    /**
+     * Finds the first tick at which a horizontal span of the row y is free
+     * from every moving obstacle, assuming speeds do not change meanwhile.
+     * 
+     * @param x Left edge of the span
+     * @param y Y-coordinate of the row
+     * @param width Width of the span
+     * @param fromTick First tick to consider
+     * @return The tick, or -1 if the span is never free
+     */
+    long nextSafeTick(int x, int y, int width, long fromTick);
+    
     /**
      * Gets all currently active obstacles.
      * 
@@ -46,10 +114,23 @@ public interface MovingObstacleManager {
     List<MovingObstacles> getActiveObstacles();
     
     /**
-     * Gets obstacles of a specific type.
+     * Gets the obstacles of a type.
+     * The list is a read-only view kept up to date by the manager, so no
+     * list is built on each call; like the lanes, it must only be read on
+     * the simulation thread. The obstacles are in no particular order.
      * 
      * @param type Type of obstacles to get
-     * @return List of obstacles of the specified type
+     * @return Read-only view of the obstacles of the type
+     */
+    List<MovingObstacles> getObstacles(ObstacleType type);
+    
+    /**
+     * Gets obstacles of a specific type.
+     * Like {@link #getObstacles(ObstacleType)}, the view must only be read
+     * on the simulation thread.
+     * 
+     * @param type Name of the type of obstacles to get
+     * @return Read-only view of the obstacles of the type, or an empty list if the name is not a type
      */
     List<MovingObstacles> getObstaclesByType(String type);
     
@@ -62,6 +143,25 @@ public interface MovingObstacleManager {
      */
     boolean checkCollision(int x, int y);
     
+    /**
+     * Checks if an obstacle can be added to its lane keeping a minimum
+     * distance from the obstacles already there.
+     * Reads the lanes, so it must run on the simulation thread; other
+     * threads use {@link #submitAdd(MovingObstacles, int)}.
+     * 
+     * @param obstacle The obstacle to check
+     * @param minDistance Minimum free space on both sides
+     * @return True if the obstacle fits in its lane
+     */
+    boolean hasSpawnGap(MovingObstacles obstacle, int minDistance);
+    
+    /**
+     * Gets the lanes currently holding obstacles, sorted by Y.
+     * 
+     * @return List of lanes
+     */
+    List<Lane> getLanes();
+    
     /**
      * Increases the speed of all obstacles by a factor.
      * Used when difficulty increases.
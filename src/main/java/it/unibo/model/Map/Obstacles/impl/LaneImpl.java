@@ -0,0 +1,232 @@
+package it.unibo.model.Map.Obstacles.impl;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+import it.unibo.model.Map.Obstacles.api.Lane;
+import it.unibo.model.Map.util.ObstacleType;
+
+/**
+ * Implementation of the Lane interface.
+ * Obstacles are stored in an array sorted by X. The order is only restored
+ * where obstacles enter or move, in {@link #add} and {@link #advanceTo}, so
+ * the queries never write to the array. Between two updates obstacles only
+ * move by a few pixels, so the insertion sort costs a single pass when
+ * nothing has overtaken anything.
+ */
+public class LaneImpl implements Lane {
+
+    private static final int INITIAL_CAPACITY = 4;
+    private static final int MAX_FREE_ROUNDS = 16;
+
+    private final int y;
+    private final int direction;
+    private MovingObstacles[] obstacles;
+    private int size;
+    private final List<MovingObstacles> obstaclesView;
+    private long tick;
+
+    /**
+     * Constructor for the LaneImpl class.
+     * 
+     * @param y Y-coordinate of the lane
+     * @param direction Direction of travel, positive for right and negative for left
+     */
+    public LaneImpl(final int y, final int direction) {
+        this.y = y;
+        this.direction = direction < 0 ? -1 : 1;
+        this.obstacles = new MovingObstacles[INITIAL_CAPACITY];
+        this.size = 0;
+        this.obstaclesView = new ObstacleList();
+    }
+
+    @Override
+    public int getY() {
+        return y;
+    }
+
+    @Override
+    public int getDirection() {
+        return direction;
+    }
+
+    @Override
+    public void add(final MovingObstacles obstacle) {
+        if (size == obstacles.length) {
+            obstacles = Arrays.copyOf(obstacles, size * 2);
+        }
+        obstacles[size++] = obstacle;
+        sortByX();
+    }
+
+    @Override
+    public boolean remove(final MovingObstacles obstacle) {
+        for (int i = 0; i < size; i++) {
+            if (obstacles[i] == obstacle) {
+                // Scorre gli elementi successivi per mantenere l'ordine
+                System.arraycopy(obstacles, i + 1, obstacles, i, size - i - 1);
+                obstacles[--size] = null;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void advanceTo(final long newTick, final int mapWidth) {
+        if (newTick == tick) {
+            return;
+        }
+        tick = newTick;
+        // La posizione è in forma chiusa: il costo non dipende da quanti tick sono passati
+        for (int i = 0; i < size; i++) {
+            obstacles[i].advanceTo(newTick, mapWidth);
+        }
+        sortByX();
+        followLeaders();
+    }
+
+    @Override
+    public long getTick() {
+        return tick;
+    }
+
+    @Override
+    public long nextFreeTick(final long fromTick, final int fromX, final int toX) {
+        long candidate = fromTick;
+        // Ogni ostacolo può solo spostare in avanti il candidato: ci si ferma quando nessuno lo sposta più
+        for (int round = 0; round <= MAX_FREE_ROUNDS * size; round++) {
+            boolean moved = false;
+            for (int i = 0; i < size; i++) {
+                MovingObstacles obstacle = obstacles[i];
+                long free = obstacle.isMovable()
+                    ? obstacle.getMotion().nextTickClearOf(candidate, fromX, toX, obstacle.getWidth())
+                    : (obstacle.getX() + obstacle.getWidth() <= fromX || obstacle.getX() >= toX ? candidate : -1);
+                if (free < 0) {
+                    return -1;
+                }
+                if (free > candidate) {
+                    candidate = free;
+                    moved = true;
+                }
+            }
+            if (!moved) {
+                return candidate;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Lets each car adapt its speed to the car right ahead of it.
+     * Since the lane is sorted, the car ahead is always the next one in the
+     * direction of travel, so a single sweep replaces the pairwise check.
+     */
+    private void followLeaders() {
+        for (int i = 0; i + 1 < size; i++) {
+            MovingObstacles left = obstacles[i];
+            MovingObstacles right = obstacles[i + 1];
+            if (left.getType() != ObstacleType.CAR || right.getType() != ObstacleType.CAR
+                || !left.isMovable() || !right.isMovable() || !left.collidesWith(right)) {
+                continue;
+            }
+            // L'auto più veloce si adatta a quella più lenta
+            if (Math.abs(left.getSpeed()) > Math.abs(right.getSpeed())) {
+                left.setSpeed(right.getSpeed());
+            } else {
+                right.setSpeed(left.getSpeed());
+            }
+        }
+    }
+
+    @Override
+    public boolean collidesWith(final int px, final int py) {
+        for (int i = 0; i < size && obstacles[i].getX() <= px; i++) {
+            if (obstacles[i].collidesWith(px, py)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean hasGap(final int x, final int width, final int minDistance) {
+        // Primo ostacolo che inizia dopo la posizione richiesta
+        int next = firstIndexAfter(x);
+        if (next < size && obstacles[next].getX() < x + width + minDistance) {
+            return false;
+        }
+        if (next > 0) {
+            MovingObstacles previous = obstacles[next - 1];
+            return previous.getX() + previous.getWidth() + minDistance <= x;
+        }
+        return true;
+    }
+
+    @Override
+    public List<MovingObstacles> getObstacles() {
+        return obstaclesView;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds the first obstacle whose X is greater than the given one.
+     * 
+     * @param x X-coordinate
+     * @return Index of the obstacle, or size if there is none
+     */
+    private int firstIndexAfter(final int x) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (obstacles[mid].getX() <= x) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Restores the X order of the obstacles after they were added or moved.
+     * The check is a single pass when the array is already sorted.
+     */
+    private void sortByX() {
+        for (int i = 1; i < size; i++) {
+            MovingObstacles current = obstacles[i];
+            int j = i - 1;
+            while (j >= 0 && obstacles[j].getX() > current.getX()) {
+                obstacles[j + 1] = obstacles[j];
+                j--;
+            }
+            obstacles[j + 1] = current;
+        }
+    }
+
+    /**
+     * Read-only list of the obstacles, backed by the sorted array.
+     */
+    private final class ObstacleList extends AbstractList<MovingObstacles> implements RandomAccess {
+
+        @Override
+        public MovingObstacles get(final int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+            }
+            return obstacles[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package it.unibo.model.Map.Obstacles.impl;
 
 import java.util.Random;
+import java.util.random.RandomGenerator;
 
 import it.unibo.model.Map.Obstacles.api.MovingObstacleFactory;
+import it.unibo.model.Map.util.ObjectPool;
 import it.unibo.model.Map.util.ObstacleType;
 
 /**
@@ -11,7 +13,8 @@ import it.unibo.model.Map.util.ObstacleType;
  */
 public class MovingObstacleFactoryImpl implements MovingObstacleFactory {
     
-    private final Random random;
+    private final RandomGenerator random;
+    private final ObjectPool<MovingObstacles> pool;
     
     // Costanti per i limiti di velocità
     public static final int MIN_CAR_SPEED = 1;
@@ -20,17 +23,44 @@ public class MovingObstacleFactoryImpl implements MovingObstacleFactory {
     public static final int MAX_TRAIN_SPEED = 5;
     
     public MovingObstacleFactoryImpl() {
-        this.random = new Random();
+        this(new Random());
+    }
+    
+    /**
+     * Constructor for the MovingObstacleFactory with a given source of randomness.
+     * 
+     * @param random Generator used for positions and speeds
+     */
+    public MovingObstacleFactoryImpl(final RandomGenerator random) {
+        // Un pool di capacità zero non riusa mai gli ostacoli
+        this(random, new ObjectPool<>(() -> new MovingObstacles(0, 0, ObstacleType.CAR, 0), 0));
+    }
+    
+    /**
+     * Constructor for the MovingObstacleFactory drawing obstacles from a pool.
+     * 
+     * @param random Generator used for positions and speeds
+     * @param pool Pool the obstacles are taken from
+     */
+    public MovingObstacleFactoryImpl(final RandomGenerator random, final ObjectPool<MovingObstacles> pool) {
+        this.random = random;
+        this.pool = pool;
     }
     
     @Override
     public MovingObstacles createCar(int x, int y, int speed) {
-        return new MovingObstacles(x, y, ObstacleType.CAR, speed);
+        return create(x, y, ObstacleType.CAR, speed);
     }
     
     @Override
     public MovingObstacles createTrain(int x, int y, int speed) {
-        return new MovingObstacles(x, y, ObstacleType.TRAIN, speed);
+        return create(x, y, ObstacleType.TRAIN, speed);
+    }
+    
+    private MovingObstacles create(int x, int y, ObstacleType type, int speed) {
+        MovingObstacles obstacle = pool.acquire();
+        obstacle.reinitialize(x, y, type, speed);
+        return obstacle;
     }
     
     @Override
@@ -1,88 +1,263 @@
 package it.unibo.model.Map.Obstacles.impl;
 
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Random;
-import java.util.stream.Collectors;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.random.RandomGenerator;
 
+import it.unibo.model.Map.Obstacles.api.Lane;
 import it.unibo.model.Map.Obstacles.api.MovingObstacleManager;
+import it.unibo.model.Map.util.ObjectPool;
 import it.unibo.model.Map.util.ObstacleType;
 
 /**
  * Implementation of the MovingObstacleManager interface.
- * Manages all moving obstacles in the game.
+ * Manages all moving obstacles in the game, grouped in lanes by row and
+ * direction of travel.
+ * The lanes belong to the simulation thread. Other threads submit additions
+ * and removals to a lock-free queue, applied at the start of each tick.
+ * Obstacles queued with submitAdd belong to the manager, which returns them
+ * to its pool when they are rejected or cleaned up; obstacles added directly
+ * stay owned by the caller, such as the chunk they were generated in.
  */
 public class MovingObstacleManagerImpl implements MovingObstacleManager {
     
-    private final List<MovingObstacles> obstacles;
+    // Corsie ordinate per Y, poi per direzione
+    private final NavigableMap<Long, Lane> lanes;
+    // Corsia e posizione nel gruppo del tipo di ogni ostacolo; la corsia resta valida anche se cambia velocità
+    private final Map<MovingObstacles, Slot> laneOf;
+    // Ostacoli di ogni tipo, senza un ordine, con le viste in sola lettura restituite all'esterno
+    private final Map<ObstacleType, List<MovingObstacles>> byType;
+    private final Map<ObstacleType, List<MovingObstacles>> byTypeViews;
+    // Usato per ripristinare le velocità: seminato dalla mappa, la partita resta riproducibile anche dopo un reset
+    private final RandomGenerator random;
+    // Pool in cui tornano gli ostacoli generati tramite la coda dei comandi
+    private final ObjectPool<MovingObstacles> pool;
+    private int maxObstacleHeight;
+    private long currentTick;
+    
+    // Comandi inviati da qualsiasi thread, applicati dal thread della simulazione
+    private final ConcurrentLinkedQueue<Command> commands;
+    
+    private static final int MAX_SAFE_ROUNDS = 64;
     
     public MovingObstacleManagerImpl() {
-        this.obstacles = new ArrayList<>();
+        // Un pool di capacità zero non trattiene mai gli ostacoli
+        this(new Random(), new ObjectPool<>(() -> new MovingObstacles(0, 0, ObstacleType.CAR, 0), 0));
+    }
+    
+    /**
+     * Constructor for the MovingObstacleManager with a given source of
+     * randomness, releasing the obstacles it owns to a pool.
+     * 
+     * @param random Generator used to pick new speeds when obstacles are reset
+     * @param pool Pool the obstacles queued with submitAdd are released to
+     */
+    public MovingObstacleManagerImpl(final RandomGenerator random, final ObjectPool<MovingObstacles> pool) {
+        this.random = random;
+        this.pool = pool;
+        this.lanes = new TreeMap<>();
+        this.laneOf = new IdentityHashMap<>();
+        this.byType = new EnumMap<>(ObstacleType.class);
+        this.byTypeViews = new EnumMap<>(ObstacleType.class);
+        for (ObstacleType type : ObstacleType.values()) {
+            List<MovingObstacles> bucket = new ArrayList<>();
+            byType.put(type, bucket);
+            byTypeViews.put(type, Collections.unmodifiableList(bucket));
+        }
+        this.maxObstacleHeight = 0;
+        this.commands = new ConcurrentLinkedQueue<>();
+    }
+    
+    /**
+     * Builds the key of a lane, so that lanes are ordered by Y and the
+     * two directions of the same row are next to each other.
+     * 
+     * @param y Y-coordinate of the lane
+     * @param direction Direction of travel
+     * @return Key of the lane
+     */
+    private static long laneKey(int y, int direction) {
+        return ((long) y << 1) | (direction < 0 ? 1 : 0);
     }
     
     @Override
     public void addObstacle(MovingObstacles obstacle) {
-        obstacles.add(obstacle);
+        insert(obstacle, false);
+    }
+    
+    /**
+     * Adds an obstacle to its lane and to the bucket of its type.
+     * 
+     * @param obstacle The obstacle to add
+     * @param owned True if the manager releases the obstacle to the pool when done with it
+     */
+    private void insert(MovingObstacles obstacle, boolean owned) {
+        if (laneOf.containsKey(obstacle)) {
+            return;
+        }
+        int direction = obstacle.getSpeed() < 0 ? -1 : 1;
+        Lane lane = lanes.computeIfAbsent(laneKey(obstacle.getY(), direction),
+            k -> new LaneImpl(obstacle.getY(), direction));
+        lane.add(obstacle);
+        List<MovingObstacles> bucket = byType.get(obstacle.getType());
+        laneOf.put(obstacle, new Slot(lane, bucket.size(), owned));
+        bucket.add(obstacle);
+        maxObstacleHeight = Math.max(maxObstacleHeight, obstacle.getHeight());
     }
     
     @Override
     public void addObstacles(MovingObstacles[] newObstacles) {
-        obstacles.addAll(Arrays.asList(newObstacles));
+        for (MovingObstacles obstacle : newObstacles) {
+            addObstacle(obstacle);
+        }
     }
     
     @Override
     public void removeObstacle(MovingObstacles obstacle) {
-        obstacles.remove(obstacle);
+        Slot slot = laneOf.remove(obstacle);
+        if (slot != null) {
+            Lane lane = slot.lane;
+            lane.remove(obstacle);
+            removeFromBucket(obstacle, slot);
+            if (lane.size() == 0) {
+                lanes.remove(laneKey(lane.getY(), lane.getDirection()));
+            }
+        }
+    }
+    
+    /**
+     * Removes an obstacle from the bucket of its type in constant time, by
+     * moving the last obstacle of the bucket into its place.
+     * 
+     * @param obstacle The obstacle, already removed from laneOf
+     * @param slot Where the obstacle was
+     */
+    private void removeFromBucket(MovingObstacles obstacle, Slot slot) {
+        List<MovingObstacles> bucket = byType.get(obstacle.getType());
+        MovingObstacles last = bucket.remove(bucket.size() - 1);
+        if (last != obstacle) {
+            bucket.set(slot.bucketIndex, last);
+            laneOf.get(last).bucketIndex = slot.bucketIndex;
+        }
     }
     
     @Override
-    public void updateAll(int mapWidth) {
-        for (MovingObstacles obstacle : obstacles) {
-            if (obstacle.isMovable()) {
-                obstacle.update(mapWidth);
+    public void submitAdd(MovingObstacles obstacle) {
+        commands.add(new Command(obstacle, true, -1));
+    }
+    
+    @Override
+    public void submitAdd(MovingObstacles obstacle, int minDistance) {
+        commands.add(new Command(obstacle, true, minDistance));
+    }
+    
+    @Override
+    public void submitRemove(MovingObstacles obstacle) {
+        commands.add(new Command(obstacle, false, -1));
+    }
+    
+    @Override
+    public int drainCommands() {
+        int applied = 0;
+        Command command;
+        while ((command = commands.poll()) != null) {
+            if (command.add()) {
+                // Lo spazio libero si controlla qui, sulle corsie del tick in cui l'ostacolo entra
+                if (command.minDistance() < 0 || hasSpawnGap(command.obstacle(), command.minDistance())) {
+                    insert(command.obstacle(), true);
+                } else if (!laneOf.containsKey(command.obstacle())) {
+                    pool.release(command.obstacle());
+                }
+            } else {
+                removeObstacle(command.obstacle());
             }
+            applied++;
         }
-        
-        // Controllo delle collisioni tra ostacoli (opzionale, per comportamenti avanzati)
-        checkObstacleCollisions();
+        return applied;
     }
     
-    /**
-     * Checks for collisions between obstacles and handles them.
-     * This is optional behavior that can create more realistic traffic.
-     */
-    private void checkObstacleCollisions() {
-        // Per semplicità, controlliamo solo collisioni tra ostacoli dello stesso tipo
-        // che si muovono nella stessa direzione
-        
-        List<MovingObstacles> cars = getObstaclesByType(ObstacleType.CAR.toString());
-        
-        // Controlla collisioni tra auto
-        for (int i = 0; i < cars.size(); i++) {
-            MovingObstacles car1 = cars.get(i);
-            if (!car1.isMovable()) continue;
-            
-            for (int j = i + 1; j < cars.size(); j++) {
-                MovingObstacles car2 = cars.get(j);
-                if (!car2.isMovable() || Math.signum(car1.getSpeed()) != Math.signum(car2.getSpeed())) continue;
-                
-                if (car1.collidesWith(car2)) {
-                    // Le auto dello stesso senso di marcia si adattano
-                    if (Math.abs(car1.getSpeed()) > Math.abs(car2.getSpeed())) {
-                        car1.setSpeed(car2.getSpeed());
-                    } else {
-                        car2.setSpeed(car1.getSpeed());
-                    }
+    @Override
+    public void updateAll(int mapWidth) {
+        advanceTo(currentTick + 1, mapWidth);
+    }
+    
+    @Override
+    public void advanceTo(long tick, int mapWidth) {
+        drainCommands();
+        currentTick = tick;
+        // Ogni corsia muove i suoi ostacoli e gestisce le collisioni tra auto vicine
+        for (Lane lane : lanes.values()) {
+            lane.advanceTo(tick, mapWidth);
+        }
+    }
+    
+    @Override
+    public long getTick() {
+        return currentTick;
+    }
+    
+    @Override
+    public long nextSafeTick(int x, int y, int width, long fromTick) {
+        if (lanes.isEmpty()) {
+            return fromTick;
+        }
+        // Solo le corsie che coprono la riga y possono occupare lo spazio
+        Collection<Lane> covering = lanes.subMap(laneKey(y - maxObstacleHeight + 1, 1), true, laneKey(y, -1), true).values();
+        long candidate = fromTick;
+        // Ogni corsia può solo spostare in avanti il candidato: ci si ferma quando nessuna lo sposta più
+        for (int round = 0; round < MAX_SAFE_ROUNDS; round++) {
+            boolean moved = false;
+            for (Lane lane : covering) {
+                if (!laneCovers(lane, y)) {
+                    continue;
+                }
+                long free = lane.nextFreeTick(candidate, x, x + width);
+                if (free < 0) {
+                    return -1;
                 }
+                if (free > candidate) {
+                    candidate = free;
+                    moved = true;
+                }
+            }
+            if (!moved) {
+                return candidate;
+            }
+        }
+        return -1;
+    }
+    
+    private static boolean laneCovers(Lane lane, int y) {
+        for (MovingObstacles obstacle : lane.getObstacles()) {
+            if (y >= obstacle.getY() && y < obstacle.getY() + obstacle.getHeight()) {
+                return true;
             }
         }
+        return false;
     }
     
     @Override
     public List<MovingObstacles> getActiveObstacles() {
-        return new ArrayList<>(obstacles);
+        List<MovingObstacles> result = new ArrayList<>(laneOf.size());
+        for (Lane lane : lanes.values()) {
+            result.addAll(lane.getObstacles());
+        }
+        return result;
+    }
+    
+    @Override
+    public List<MovingObstacles> getObstacles(ObstacleType type) {
+        return byTypeViews.get(type);
     }
     
     @Override
@@ -91,27 +266,39 @@ public class MovingObstacleManagerImpl implements MovingObstacleManager {
         try {
             type = ObstacleType.valueOf(typeStr);
         } catch (IllegalArgumentException e) {
-            return new ArrayList<>();
+            return List.of();
         }
-        
-        return obstacles.stream()
-            .filter(o -> o.getType() == type)
-            .collect(Collectors.toList());
+        return getObstacles(type);
     }
     
     @Override
     public boolean checkCollision(int x, int y) {
-        for (MovingObstacles obstacle : obstacles) {
-            if (obstacle.collidesWith(x, y)) {
+        if (lanes.isEmpty()) {
+            return false;
+        }
+        // Solo le corsie che coprono la riga del punto
+        for (Lane lane : lanes.subMap(laneKey(y - maxObstacleHeight + 1, 1), true, laneKey(y, -1), true).values()) {
+            if (lane.collidesWith(x, y)) {
                 return true;
             }
         }
         return false;
     }
     
+    @Override
+    public boolean hasSpawnGap(MovingObstacles obstacle, int minDistance) {
+        Lane lane = lanes.get(laneKey(obstacle.getY(), obstacle.getSpeed() < 0 ? -1 : 1));
+        return lane == null || lane.hasGap(obstacle.getX(), obstacle.getWidth(), minDistance);
+    }
+    
+    @Override
+    public List<Lane> getLanes() {
+        return new ArrayList<>(lanes.values());
+    }
+    
     @Override
     public void increaseSpeed(int factor) {
-        for (MovingObstacles obstacle : obstacles) {
+        for (MovingObstacles obstacle : laneOf.keySet()) {
             int currentSpeed = obstacle.getSpeed();
             int newSpeed = currentSpeed;
             
@@ -128,25 +315,33 @@ public class MovingObstacleManagerImpl implements MovingObstacleManager {
     
     @Override
     public void cleanupOffscreenObstacles(int minY, int maxY) {
-        Iterator<MovingObstacles> iterator = obstacles.iterator();
+        // Rimuovi le corsie fuori dall'area visibile in verticale
+        removeLanes(lanes.headMap(laneKey(minY, 1), false));
+        removeLanes(lanes.tailMap(laneKey(maxY, -1), false));
+    }
+    
+    private void removeLanes(Map<Long, Lane> discarded) {
+        Iterator<Lane> iterator = discarded.values().iterator();
         while (iterator.hasNext()) {
-            MovingObstacles obstacle = iterator.next();
-            int y = obstacle.getY();
-            
-            // Rimuovi ostacoli fuori dall'area visibile in verticale
-            if (y < minY || y > maxY) {
-                iterator.remove();
+            for (MovingObstacles obstacle : iterator.next().getObstacles()) {
+                Slot slot = laneOf.remove(obstacle);
+                removeFromBucket(obstacle, slot);
+                if (slot.owned) {
+                    pool.release(obstacle);
+                }
             }
+            iterator.remove();
         }
     }
     
     @Override
     public int getObstacleCount() {
-        return obstacles.size();
+        return laneOf.size();
     }
     
     @Override
     public void resetAll() {
+        List<MovingObstacles> obstacles = getActiveObstacles();
         for (MovingObstacles obstacle : obstacles) {
             obstacle.reset();
         
@@ -156,14 +351,46 @@ public class MovingObstacleManagerImpl implements MovingObstacleManager {
             if (obstacle.getType() == ObstacleType.CAR) {
                 int direction = Integer.signum(obstacle.getSpeed());
                 obstacle.setSpeed(direction * (MovingObstacleFactoryImpl.MIN_CAR_SPEED + 
-                              new Random().nextInt(MovingObstacleFactoryImpl.MAX_CAR_SPEED - 
+                              random.nextInt(MovingObstacleFactoryImpl.MAX_CAR_SPEED - 
                               MovingObstacleFactoryImpl.MIN_CAR_SPEED + 1)));
             } else if (obstacle.getType() == ObstacleType.TRAIN) {
                 int direction = Integer.signum(obstacle.getSpeed());
                 obstacle.setSpeed(direction * (MovingObstacleFactoryImpl.MIN_TRAIN_SPEED + 
-                              new Random().nextInt(MovingObstacleFactoryImpl.MAX_TRAIN_SPEED - 
+                              random.nextInt(MovingObstacleFactoryImpl.MAX_TRAIN_SPEED - 
                               MovingObstacleFactoryImpl.MIN_TRAIN_SPEED + 1)));
+            }
+        }
+        // Le posizioni sono cambiate fuori dalle corsie: si reinseriscono per riordinarle
+        for (MovingObstacles obstacle : obstacles) {
+            boolean owned = laneOf.get(obstacle).owned;
+            removeObstacle(obstacle);
+            insert(obstacle, owned);
         }
     }
+    
+    /**
+     * Lane of a managed obstacle, its index in the bucket of its type and
+     * whether the manager owns it.
+     */
+    private static final class Slot {
+        private final Lane lane;
+        private final boolean owned;
+        private int bucketIndex;
+        
+        Slot(Lane lane, int bucketIndex, boolean owned) {
+            this.lane = lane;
+            this.bucketIndex = bucketIndex;
+            this.owned = owned;
+        }
+    }
+    
+    /**
+     * Addition or removal submitted to the command queue.
+     * 
+     * @param obstacle Obstacle to add or remove
+     * @param add True to add, false to remove
+     * @param minDistance Free space the obstacle needs in its lane to be added, or -1 for none
+     */
+    private record Command(MovingObstacles obstacle, boolean add, int minDistance) {
     }
-}
\ No newline at end of file
+}
@@ -2,18 +2,33 @@ package it.unibo.model.Map.Obstacles.impl;
 
 import it.unibo.model.Map.api.Obstacle;
 import it.unibo.model.Map.util.ObstacleType;
+import it.unibo.model.Map.util.PeriodicMotion;
 
 public class MovingObstacles implements Obstacle{
     private int x;
-    private final int y;
-    private final ObstacleType type;
+    private int y;
+    private ObstacleType type;
     private int speed;
     private boolean movable;
     private boolean visible;
     private int initialX; // per far ricomparire l'ostacolo nella posizione iniziale
-    private final int initialSpeed;
+    private int initialSpeed;
+    // Moto orizzontale in forma chiusa: la posizione dipende solo dal tick
+    private final PeriodicMotion motion = new PeriodicMotion(0, 0);
 
     public MovingObstacles(int x, int y, ObstacleType type, int speed) {
+        reinitialize(x, y, type, speed);
+    }
+
+    /**
+     * Brings a recycled obstacle back to the state of a newly built one.
+     * 
+     * @param x Starting X-coordinate
+     * @param y Y-coordinate
+     * @param type Type of obstacle
+     * @param speed Movement speed
+     */
+    public final void reinitialize(int x, int y, ObstacleType type, int speed) {
         this.x = x;
         this.initialX = x;
         this.y = y;
@@ -22,6 +37,7 @@ public class MovingObstacles implements Obstacle{
         this.initialSpeed = speed;
         this.movable = true;
         this.visible = true;
+        this.motion.reset(x, speed);
     }
     
     @Override
@@ -41,26 +57,38 @@ public class MovingObstacles implements Obstacle{
 
     @Override
     public void update(int mapWidth) {
+        advanceTo(motion.getTick() + 1, mapWidth);
+    }
+
+    @Override
+    public void advanceTo(long tick, int mapWidth) {
         if (movable) {
-            x += speed;
-            
-            // Gestione uscita dai bordi della mappa
-            if (speed > 0 && x > mapWidth) {
-                // Se l'ostacolo esce dal lato destro, lo riportiamo a sinistra
-                x = -getWidth();
-            } else if (speed < 0 && x + getWidth() < 0) {
-                // Se l'ostacolo esce dal lato sinistro, lo riportiamo a destra
-                x = mapWidth;
-            }
+            // Uscito da un lato della mappa, l'ostacolo rientra dall'altro
+            x = motion.advanceTo(tick, getWidth(), mapWidth);
         }
     }
 
+    @Override
+    public int getXAt(long tick) {
+        return movable ? motion.positionAt(tick) : x;
+    }
+
+    /**
+     * Gets the closed-form motion of the obstacle, to query its future positions.
+     * 
+     * @return Motion of the obstacle
+     */
+    public PeriodicMotion getMotion() {
+        return motion;
+    }
+
     /**
      * Resets the obstacle to its initial position.
      */
     public void reset() {
         this.x = initialX;
         this.speed = initialSpeed;
+        motion.rebase(x, speed);
     }
 
     /**
@@ -71,6 +99,7 @@ public class MovingObstacles implements Obstacle{
     public void setInitialX(int newX) {
         this.initialX = newX;
         this.x = newX;
+        motion.rebase(x, speed);
     }
 
     @Override
@@ -127,6 +156,7 @@ public class MovingObstacles implements Obstacle{
     @Override
     public void setSpeed(int speed) {
         this.speed = speed;
+        motion.rebase(x, speed);
     }
 
     /**
@@ -137,9 +167,9 @@ public class MovingObstacles implements Obstacle{
     public void increaseSpeed(int amount) {
         // Mantiene il segno originale (direzione)
         if (this.speed > 0) {
-            this.speed += amount;
+            setSpeed(this.speed + amount);
         } else {
-            this.speed -= amount;
+            setSpeed(this.speed - amount);
         }
     }
 
@@ -184,8 +214,9 @@ public class MovingObstacles implements Obstacle{
 
     @Override
     public void setPosition(int newX, int newY) {
-        // TODO Auto-generated method stub
-        throw new UnsupportedOperationException("Unimplemented method 'setPosition'");
+        this.x = newX;
+        this.y = newY;
+        motion.rebase(newX, speed);
     }
 
 }
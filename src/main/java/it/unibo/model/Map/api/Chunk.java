@@ -1,6 +1,7 @@
 package it.unibo.model.Map.api;
 
 import java.util.List;
+import java.util.Optional;
 
 import it.unibo.model.Map.util.ChunkType;
 
@@ -8,6 +9,7 @@ public interface Chunk {
     
     /**
      * Aggiunge un oggetto a una cella specifica.
+     * Gli oggetti fermi vengono centrati orizzontalmente sulla cella.
      * 
      * @param obj Oggetto da aggiungere
      * @param cellX Posizione X della cella (indice)
@@ -16,15 +18,48 @@ public interface Chunk {
     boolean addObjectAt(final GameObject obj, final int cellX);
 
     /**
-     * Aggiunge un oggetto alla prima cella libera.
+     * Aggiunge un oggetto alla cella che contiene il suo centro, o alla cella
+     * libera più vicina (centrandolo su di essa) se quella è occupata.
      * 
      * @param obj Oggetto da aggiungere
      * @return true se l'oggetto è stato aggiunto, false altrimenti
      */
     boolean addObject(final GameObject obj);
 
+    /**
+     * Rimuove l'oggetto contenuto in una cella specifica.
+     * 
+     * @param cellX Posizione X della cella (indice)
+     * @return true se un oggetto è stato rimosso, false altrimenti
+     */
+    boolean removeObjectAt(final int cellX);
+
+    /**
+     * Ottiene l'oggetto contenuto in una cella specifica.
+     * 
+     * @param cellX Posizione X della cella (indice)
+     * @return L'oggetto contenuto nella cella, o Optional.empty() se la cella è vuota
+     */
+    Optional<GameObject> getObjectAt(final int cellX);
+
+    /**
+     * Gets the number of cells that do not contain an object.
+     * 
+     * @return Number of free cells
+     */
+    int getFreeCellCount();
+
+    /**
+     * Gets the index of the n-th free cell, counting from the left.
+     * 
+     * @param n Rank of the free cell, from 0 to {@link #getFreeCellCount()} - 1
+     * @return Index of the cell, or -1 if there are not enough free cells
+     */
+    int getFreeCell(final int n);
+
     /**
      * Gets the list of game objects in the chunk.
+     * The returned list is a read-only view that reflects later changes.
      * 
      * @return List of game objects
      */
@@ -32,6 +67,7 @@ public interface Chunk {
     
     /**
      * Gets the list of cells in the chunk.
+     * Cells are lightweight views over the chunk storage.
      * 
      * @return List of cells
      */
@@ -58,6 +94,22 @@ public interface Chunk {
      * @return Position
      */
     int getPosition();
+
+    /**
+     * Gets the height of the chunk.
+     * 
+     * @return Height
+     */
+    int getHeight();
+
+    /**
+     * Checks if the chunk overlaps the given vertical range.
+     * 
+     * @param viewStart First Y coordinate of the range
+     * @param viewHeight Height of the range
+     * @return True if the chunk is at least partially inside the range
+     */
+    boolean isVisible(final int viewStart, final int viewHeight);
     
     /**
      * Gets the number of cells in a row.
@@ -66,4 +118,35 @@ public interface Chunk {
      */
     int getCellsPerRow();
 
+    /**
+     * Gets the width of the chunk.
+     * 
+     * @return Width in pixels
+     */
+    int getWidth();
+
+    /**
+     * Gets the width of a single cell.
+     * 
+     * @return Cell width in pixels
+     */
+    int getCellSize();
+
+    /**
+     * Converts a world X coordinate to the index of the cell containing it.
+     * The result is not clamped to the chunk.
+     * 
+     * @param worldX X-coordinate in pixels
+     * @return Cell index
+     */
+    int toCellX(final int worldX);
+
+    /**
+     * Converts a cell index to the world X coordinate of its left edge.
+     * 
+     * @param cellX Cell index
+     * @return X-coordinate in pixels
+     */
+    int toWorldX(final int cellX);
+
 }
@@ -47,4 +47,12 @@ public interface ChunkFactory {
      */
     Chunk createGrassChunk(final int position, final int width);
 
+    /**
+     * Returns a chunk that is no longer used, so that its storage and its
+     * objects can be reused for the next chunks.
+     * 
+     * @param chunk Chunk to recycle
+     */
+    void recycle(final Chunk chunk);
+
 }
@@ -0,0 +1,47 @@
+package it.unibo.model.Map.api;
+
+/**
+ * Source of the chunks appended to the map.
+ * Upcoming chunks are generated ahead of time on a background thread, so that
+ * the cost of building and validating a chunk does not fall on the frame that
+ * needs it. When no prepared chunk is available the chunk is built on the
+ * calling thread instead.
+ */
+public interface ChunkPipeline {
+
+    /**
+     * Starts generating chunks in the background.
+     * 
+     * @param firstPosition Position of the first chunk to prepare
+     */
+    void start(final int firstPosition);
+
+    /**
+     * Gets the chunk at the given position.
+     * Positions must be requested in increasing order.
+     * 
+     * @param position Position of the chunk
+     * @return The prepared chunk, or a chunk generated on the spot if none was ready
+     */
+    Chunk next(final int position);
+
+    /**
+     * Stops the background generation and discards the prepared chunks.
+     */
+    void shutdown();
+
+    /**
+     * Gets the number of chunks served from the background queue.
+     * 
+     * @return Count of prepared chunks used
+     */
+    int getPrefetchedCount();
+
+    /**
+     * Gets the number of chunks that had to be generated on the calling thread.
+     * 
+     * @return Count of synchronously generated chunks
+     */
+    int getFallbackCount();
+
+}
@@ -1,8 +1,10 @@
 package it.unibo.model.Map.api;
 
 import java.util.List;
+import java.util.Random;
 
 import it.unibo.model.Map.Obstacles.api.MovingObstacleManager;
+import it.unibo.model.Map.util.ChunkType;
 
 public interface GameMap {
 
@@ -16,15 +18,72 @@ public interface GameMap {
      */
     void generateNewChunk();
 
+    /**
+     * Builds again the chunk at the given position from the world seed.
+     * The result has the same content the chunk had when it was first
+     * generated, so discarded chunks can be rebuilt when needed.
+     * The returned chunk is not added to the map.
+     * 
+     * @param position Position of the chunk
+     * @return A new copy of the chunk
+     */
+    Chunk regenerateChunk(final int position);
+
+    /**
+     * Gets the seed the map is generated from.
+     * 
+     * @return World seed
+     */
+    long getSeed();
+
+    /**
+     * Gets the number of updates since the map was created.
+     * Moving objects are positioned as a function of this value.
+     * 
+     * @return Current tick
+     */
+    long getTick();
+
     boolean checkPlayerCollision(final int playerX, final int playerY);
 
     /**
      * Gets the list of currently visible chunks.
+     * The returned list is a read-only view, valid until the next update.
      * 
      * @return List of visible chunks
      */
     List<Chunk> getVisibleChunks();
 
+    /**
+     * Counts the live chunks of a type whose position is in a range.
+     * 
+     * @param type Type of the chunks
+     * @param fromY Lowest position, included
+     * @param toY Highest position, excluded
+     * @return Number of chunks
+     */
+    int countChunks(final ChunkType type, final int fromY, final int toY);
+
+    /**
+     * Picks at random one of the live chunks of a type in a range, for
+     * example a road to spawn cars on.
+     * 
+     * @param type Type of the chunks
+     * @param fromY Lowest position, included
+     * @param toY Highest position, excluded
+     * @param random Source of the choice
+     * @return Position of the chunk, or -1 if there is none
+     */
+    int getRandomChunkPosition(final ChunkType type, final int fromY, final int toY, final Random random);
+
+    /**
+     * Gets the chunk covering a world Y coordinate.
+     * 
+     * @param worldY World Y coordinate
+     * @return The chunk covering worldY, or null if it is not loaded
+     */
+    Chunk getChunkAt(final int worldY);
+
     /**
      * Gets the current position of the map view.
      * 
@@ -39,6 +98,15 @@ public interface GameMap {
 
     MovingObstacleManager getObstacleManager();
 
+    /**
+     * Gets the spatial index of the objects in the loaded chunks.
+     * The map keeps it up to date as chunks are generated and discarded
+     * and as movable objects advance.
+     * 
+     * @return Spatial index of the map objects
+     */
+    SpatialIndex getSpatialIndex();
+
     /**
      * Checks if a position is out of bounds of the map.
      * 
@@ -49,7 +117,8 @@ public interface GameMap {
     boolean isPositionOutOfBounds(final int x, final int y);
 
     /**
-     * Gets the total list of chunks.
+     * Gets the total list of chunks, ordered by position.
+     * The returned list is a read-only view, valid until the next update.
      * 
      * @return List of all chunks
      */
@@ -69,4 +138,47 @@ public interface GameMap {
      */
     int getMapHeight();
 
+    /**
+     * Gets the width of the visible area.
+     * 
+     * @return Viewport width
+     */
+    int getViewportWidth();
+
+    /**
+     * Gets the height of the visible area.
+     * 
+     * @return Viewport height
+     */
+    int getViewportHeight();
+
+    /**
+     * Gets the width of a cell of the logical grid.
+     * 
+     * @return Cell width in pixels
+     */
+    int getCellSize();
+
+    /**
+     * Converts a world X coordinate to the index of the grid column containing it.
+     * 
+     * @param worldX X-coordinate in pixels
+     * @return Column index
+     */
+    int worldToCellX(final int worldX);
+
+    /**
+     * Converts a grid column index to the world X coordinate of its left edge.
+     * 
+     * @param cellX Column index
+     * @return X-coordinate in pixels
+     */
+    int cellToWorldX(final int cellX);
+
+    /**
+     * Releases the resources held by the map, such as the background chunk generation.
+     * If the map is updated afterwards, new chunks are generated on demand.
+     */
+    void dispose();
+
 }
@@ -9,6 +9,28 @@ public interface GameObject {
      */
     void update(final int mapWidth);
 
+    /**
+     * Moves the object to the position it has at the given tick.
+     * Advancing twice to the same tick has no further effect.
+     * 
+     * @param tick Tick to move to
+     * @param mapWidth Width of the map to handle wrapping
+     */
+    default void advanceTo(final long tick, final int mapWidth) {
+        update(mapWidth);
+    }
+
+    /**
+     * Gets the X-coordinate the object will have at a given tick,
+     * assuming its speed does not change in the meantime.
+     * 
+     * @param tick Tick, past or future
+     * @return X-coordinate at that tick
+     */
+    default int getXAt(final long tick) {
+        return getX();
+    }
+
     /**
      * Checks if this game object collides with a point.
      * 
@@ -4,4 +4,21 @@ public interface PathValidator {
 
     void ensureTraversability(final Chunk chunk);
 
+    /**
+     * Gets the columns of a chunk blocked by an obstacle.
+     *
+     * @param chunk The chunk to inspect
+     * @return Array with true for every blocked column
+     */
+    boolean[] getBlockedColumns(final Chunk chunk);
+
+    /**
+     * Makes sure a column is free both in a chunk and in the chunk below it.
+     * Only obstacles of the chunk are removed.
+     *
+     * @param previousBlocked Blocked columns of the chunk below
+     * @param chunk The chunk to fix
+     */
+    void ensurePath(final boolean[] previousBlocked, final Chunk chunk);
+
 }
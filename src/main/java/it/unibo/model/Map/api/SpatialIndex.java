@@ -0,0 +1,80 @@
+package it.unibo.model.Map.api;
+
+import java.util.List;
+
+/**
+ * Spatial index over the game objects of the map, keyed by world coordinates.
+ * Queries only visit the objects stored near the queried area, so their cost
+ * depends on the local density rather than on the number of loaded objects.
+ */
+public interface SpatialIndex {
+
+    /**
+     * Adds an object to the index, using its current bounds.
+     *
+     * @param obj Object to add
+     */
+    void insert(final GameObject obj);
+
+    /**
+     * Removes an object from the index.
+     *
+     * @param obj Object to remove
+     */
+    void remove(final GameObject obj);
+
+    /**
+     * Updates the position of an object that has moved since it was indexed.
+     *
+     * @param obj Object to update
+     */
+    void update(final GameObject obj);
+
+    /**
+     * Updates the position of every movable object in the index.
+     */
+    void refreshMovables();
+
+    /**
+     * Collects the objects containing a point.
+     *
+     * @param x X-coordinate
+     * @param y Y-coordinate
+     * @param result List the objects are appended to
+     */
+    void queryPoint(final int x, final int y, final List<GameObject> result);
+
+    /**
+     * Collects the objects overlapping an axis-aligned rectangle.
+     *
+     * @param x X-coordinate of the rectangle
+     * @param y Y-coordinate of the rectangle
+     * @param width Width of the rectangle
+     * @param height Height of the rectangle
+     * @param result List the objects are appended to
+     */
+    void queryArea(final int x, final int y, final int width, final int height, final List<GameObject> result);
+
+    /**
+     * Collects the objects overlapping a circle.
+     *
+     * @param centerX X-coordinate of the center
+     * @param centerY Y-coordinate of the center
+     * @param radius Radius of the circle
+     * @param result List the objects are appended to
+     */
+    void queryRadius(final int centerX, final int centerY, final int radius, final List<GameObject> result);
+
+    /**
+     * Gets the number of indexed objects.
+     *
+     * @return Number of objects
+     */
+    int size();
+
+    /**
+     * Removes every object from the index.
+     */
+    void clear();
+
+}
@@ -3,8 +3,6 @@ package it.unibo.model.Map.impl;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 import it.unibo.model.Map.Obstacles.api.MovingObstacleFactory;
 import it.unibo.model.Map.Obstacles.impl.MovingObstacleFactoryImpl;
@@ -12,36 +10,130 @@ import it.unibo.model.Map.Obstacles.impl.MovingObstacles;
 import it.unibo.model.Map.api.Chunk;
 import it.unibo.model.Map.api.ChunkFactory;
 import it.unibo.model.Map.api.ObjectPlacer;
-import it.unibo.model.Map.api.Collectible;
 import it.unibo.model.Map.api.GameObject;
 import it.unibo.model.Map.api.PathValidator;
 import it.unibo.model.Map.util.ChunkType;
 import it.unibo.model.Map.util.CollectibleType;
 import it.unibo.model.Map.util.ObstacleType;
+import it.unibo.model.Map.util.WorldRandom;
 
 public class ChunkFactoryImpl implements ChunkFactory {
     
-    private final Random random;
+    // Generatore condiviso con il placer e la factory degli ostacoli, riposizionato per ogni chunk
+    private final WorldRandom random;
     private final PathValidator pathValidator;
     private final ObjectPlacer objectPlacer;
     private final MovingObstacleFactory obstacleFactory;
+    private final int cellSize;
+    private final ChunkPools pools;
+    // Lista riutilizzata per gli oggetti generati prima di piazzarli
+    private final List<GameObject> generated;
+    // Colonne bloccate dell'ultimo chunk di erba, come generato prima della validazione
+    private int lastGrassPosition = Integer.MIN_VALUE;
+    private boolean[] lastGrassBlocked;
 
     private static final int MAX_OBSTACLES_PER_CHUNK = 5;
     private static final int MAX_COLLECTIBLES_PER_CHUNK = 3;
+    // Stream indipendenti dello stesso chunk
+    private static final int TYPE_STREAM = 0;
+    private static final int CONTENT_STREAM = 1;
+    private static final int GRASS_TYPE = 3;
+    private static final CollectibleType[] COLLECTIBLE_TYPES = {
+        CollectibleType.COIN, CollectibleType.COIN, CollectibleType.COIN, CollectibleType.INVINCIBILITY
+    };
     
     /**
      * Constructor for the ChunkFactory class.
      */
     public ChunkFactoryImpl() {
-        this.random = new Random();
+        this(ChunkImpl.DEFAULT_CELL_SIZE);
+    }
+    
+    /**
+     * Constructor for the ChunkFactory class with a custom grid resolution.
+     * 
+     * @param cellSize Width of a cell of the generated chunks
+     */
+    public ChunkFactoryImpl(final int cellSize) {
+        this(cellSize, new Random().nextLong());
+    }
+    
+    /**
+     * Constructor for the ChunkFactory class with a world seed.
+     * Every chunk is derived only from the seed and its position, so two
+     * factories with the same seed build identical chunks.
+     * 
+     * @param cellSize Width of a cell of the generated chunks
+     * @param seed Seed of the world
+     */
+    public ChunkFactoryImpl(final int cellSize, final long seed) {
+        this(cellSize, seed, new ChunkPools());
+    }
+    
+    /**
+     * Constructor for the ChunkFactory class with a world seed and shared pools.
+     * 
+     * @param cellSize Width of a cell of the generated chunks
+     * @param seed Seed of the world
+     * @param pools Pools the chunks and their objects are taken from
+     */
+    public ChunkFactoryImpl(final int cellSize, final long seed, final ChunkPools pools) {
+        this.cellSize = cellSize;
+        this.pools = pools;
+        this.generated = new ArrayList<>();
+        this.random = new WorldRandom(seed);
         this.pathValidator = new PathValidatorImpl();
-        this.objectPlacer = new ObjectPlacerImpl();
-        this.obstacleFactory = new MovingObstacleFactoryImpl();
+        this.objectPlacer = new ObjectPlacerImpl(random);
+        this.obstacleFactory = new MovingObstacleFactoryImpl(random, pools.getMovingObstaclePool());
+    }
+    
+    @Override
+    public void recycle(final Chunk chunk) {
+        pools.recycle(chunk);
+    }
+    
+    /**
+     * Gets the seed of the world generated by this factory.
+     * 
+     * @return World seed
+     */
+    public long getSeed() {
+        return random.getSeed();
+    }
+    
+    /**
+     * Moves the generator to a stream of the chunk at the given position.
+     * 
+     * @param position Position of the chunk
+     * @param stream Stream of the chunk
+     */
+    private void reseed(final int position, final int stream) {
+        random.reseed(Math.floorDiv(position, ChunkImpl.STANDARD_HEIGHT), stream);
+    }
+    
+    /**
+     * Draws the type of the chunk at the given position.
+     * 
+     * @param position Position of the chunk
+     * @return Index of the type
+     */
+    private int typeOf(final int position) {
+        reseed(position, TYPE_STREAM);
+        return random.nextInt(4);
     }
     
     @Override
     public Chunk createRandomChunk(int position, int width) {
-        int type = random.nextInt(4);
+        int type = typeOf(position);
+        
+        // Un chunk di erba dipende solo dal contenuto generato del chunk di erba precedente
+        // (il primo chunk è l'area di partenza), che va preso prima di riposizionare il generatore
+        int previous = position - ChunkImpl.STANDARD_HEIGHT;
+        boolean[] previousBlocked = null;
+        if (type == GRASS_TYPE && previous > 0 && typeOf(previous) == GRASS_TYPE) {
+            previousBlocked = generatedGrassColumns(previous, width);
+        }
+        
         Chunk chunk = switch (type) {
             case 0 -> createRoadChunk(position, width);
             case 1 -> createRailwayChunk(position, width);
@@ -49,15 +141,42 @@ public class ChunkFactoryImpl implements ChunkFactory {
             default -> createGrassChunk(position, width);
         };
 
-        // Assicura sempre un percorso libero
-        pathValidator.ensureTraversability(chunk);
+        if (type == GRASS_TYPE) {
+            boolean[] blocked = pathValidator.getBlockedColumns(chunk);
+            // Assicura sempre un percorso libero
+            if (previousBlocked != null) {
+                pathValidator.ensurePath(previousBlocked, chunk);
+            }
+            lastGrassPosition = position;
+            lastGrassBlocked = blocked;
+        }
         
         return chunk;
-    }        
+    }
+    
+    /**
+     * Gets the blocked columns of a grass chunk as generated, before its
+     * path was validated. They are remembered for the last grass chunk;
+     * otherwise the chunk is built once, without validation, and recycled.
+     * 
+     * @param position Position of the grass chunk
+     * @param width Width of the chunk
+     * @return Blocked columns of the chunk
+     */
+    private boolean[] generatedGrassColumns(final int position, final int width) {
+        if (lastGrassPosition != position) {
+            Chunk chunk = createGrassChunk(position, width);
+            lastGrassBlocked = pathValidator.getBlockedColumns(chunk);
+            lastGrassPosition = position;
+            recycle(chunk);
+        }
+        return lastGrassBlocked;
+    }
         
     @Override
     public Chunk createRoadChunk(int position, int width) {
-        Chunk chunk = new ChunkImpl(position, width, ChunkType.ROAD);
+        reseed(position, CONTENT_STREAM);
+        Chunk chunk = pools.acquireChunk(position, width, cellSize, ChunkType.ROAD);
         
         // Determina la direzione delle auto
         boolean leftToRight = random.nextBoolean();
@@ -75,19 +194,22 @@ public class ChunkFactoryImpl implements ChunkFactory {
         
         // Aggiungi le auto al chunk come GameObject
         for (MovingObstacles car : cars) {
-            chunk.addObject(car);
+            if (!chunk.addObject(car)) {
+                pools.recycle(car);
+            }
         }
         
         // Aggiungi collezionabili (monete e power-up)
-        List<Collectible> collectibles = generateCollectibles(width, position);
-        objectPlacer.placeObjectsRandomly(chunk, collectibles, MAX_COLLECTIBLES_PER_CHUNK);
+        generateCollectibles(width, position);
+        placeGenerated(chunk, MAX_COLLECTIBLES_PER_CHUNK);
         
         return chunk;
     }
     
     @Override
     public Chunk createRailwayChunk(int position, int width) {
-        Chunk chunk = new ChunkImpl(position, width, ChunkType.RAILWAY);
+        reseed(position, CONTENT_STREAM);
+        Chunk chunk = pools.acquireChunk(position, width, cellSize, ChunkType.RAILWAY);
         
         // Determina la direzione dei treni
         boolean leftToRight = random.nextBoolean();
@@ -105,97 +227,115 @@ public class ChunkFactoryImpl implements ChunkFactory {
         
         // Aggiungi i treni al chunk come GameObject
         for (MovingObstacles train : trains) {
-            chunk.addObject(train);
+            if (!chunk.addObject(train)) {
+                pools.recycle(train);
+            }
         }
         
         // Aggiungi collezionabili (monete e power-up)
-        List<Collectible> collectibles = generateCollectibles(width, position);
-        objectPlacer.placeObjectsRandomly(chunk, collectibles, MAX_COLLECTIBLES_PER_CHUNK);
+        generateCollectibles(width, position);
+        placeGenerated(chunk, MAX_COLLECTIBLES_PER_CHUNK);
         
         return chunk;
     }
     
     @Override
     public Chunk createRiverChunk(int position, int width) {
-        Chunk chunk = new ChunkImpl(position, width, ChunkType.RIVER);
+        reseed(position, CONTENT_STREAM);
+        Chunk chunk = pools.acquireChunk(position, width, cellSize, ChunkType.RIVER);
 
         // Genera tronchi come piattaforme
-        List<GameObject> platforms = generateRiverPlatforms(width, position);
+        generateRiverPlatforms(width, position);
         
         // Posiziona le piattaforme
-        objectPlacer.placeObjectsRandomly(chunk, platforms, MAX_OBSTACLES_PER_CHUNK);
+        placeGenerated(chunk, MAX_OBSTACLES_PER_CHUNK);
         
         // Aggiungi collezionabili (monete e power-up)
-        List<Collectible> collectibles = generateCollectibles(width, position);
-        objectPlacer.placeObjectsRandomly(chunk, collectibles, MAX_COLLECTIBLES_PER_CHUNK);
+        generateCollectibles(width, position);
+        placeGenerated(chunk, MAX_COLLECTIBLES_PER_CHUNK);
         
         return chunk;
     }
     
-    private List<GameObject> generateRiverPlatforms(final int width, final int position) {
-        return IntStream.range(0, 2 + random.nextInt(3))
-            .mapToObj(i -> {
-                int logWidth = 80 + random.nextInt(40);
-                int logHeight = 30;
-                int speed = (random.nextBoolean() ? 1 : -1) * (1 + random.nextInt(2));
+    /**
+     * Places the generated objects in random free cells of the chunk.
+     * The objects that do not fit are returned to the pools.
+     * 
+     * @param chunk Chunk to fill
+     * @param maxObjects Maximum number of objects to place
+     */
+    private void placeGenerated(final Chunk chunk, final int maxObjects) {
+        int objectsPlaced = 0;
+        for (GameObject obj : generated) {
+            if (objectsPlaced < maxObjects && objectPlacer.placeObjectRandomly(chunk, obj)) {
+                objectsPlaced++;
+            } else {
+                pools.recycle(obj);
+            }
+        }
+        generated.clear();
+    }
+    
+    private void generateRiverPlatforms(final int width, final int position) {
+        int count = 2 + random.nextInt(3);
+        for (int i = 0; i < count; i++) {
+            int logWidth = 80 + random.nextInt(40);
+            int logHeight = 30;
+            int speed = (random.nextBoolean() ? 1 : -1) * (1 + random.nextInt(2));
 
-                GameObjectImpl log = new GameObjectImpl(
-                    random.nextInt(width),
-                    position + random.nextInt(ChunkImpl.STANDARD_HEIGHT - logHeight),
-                    logWidth,
-                    logHeight
-                );
-                log.setMovable(true);
-                log.setSpeed(speed);
-                log.setPlatform(true);
-                return log;
-            })
-            .collect(Collectors.toList());
+            GameObjectImpl log = pools.acquireGameObject(
+                random.nextInt(width),
+                position + random.nextInt(ChunkImpl.STANDARD_HEIGHT - logHeight),
+                logWidth,
+                logHeight
+            );
+            log.setMovable(true);
+            log.setSpeed(speed);
+            log.setPlatform(true);
+            generated.add(log);
+        }
     }
 
     public Chunk createGrassChunk(final int position, final int width) {
-        Chunk chunk = new ChunkImpl(position, width, ChunkType.GRASS);
+        reseed(position, CONTENT_STREAM);
+        Chunk chunk = pools.acquireChunk(position, width, cellSize, ChunkType.GRASS);
         
         // Genera alberi come ostacoli
-        List<GameObject> grassObstacles = generateGrassObstacles(width, position);
+        generateGrassObstacles(width, position);
         
         // Posiziona gli ostacoli
-        objectPlacer.placeObjectsRandomly(chunk, grassObstacles, MAX_OBSTACLES_PER_CHUNK);
+        placeGenerated(chunk, MAX_OBSTACLES_PER_CHUNK);
         
         // Aggiungi collezionabili (monete e power-up)
-        List<Collectible> collectibles = generateCollectibles(width, position);
-        objectPlacer.placeObjectsRandomly(chunk, collectibles, MAX_COLLECTIBLES_PER_CHUNK);
+        generateCollectibles(width, position);
+        placeGenerated(chunk, MAX_COLLECTIBLES_PER_CHUNK);
         
         return chunk;
     }
     
-    private List<GameObject> generateGrassObstacles(final int width, final int position) {
-        return IntStream.range(0, random.nextInt(6))
-            .mapToObj(i -> {
-                int treeSize = 30 + random.nextInt(20);
-                return new ObstacleImpl(
-                    random.nextInt(width),
-                    position + random.nextInt(ChunkImpl.STANDARD_HEIGHT - treeSize),
-                    treeSize,
-                    treeSize,
-                    ObstacleType.TREE,
-                    false
-                );
-            })
-            .collect(Collectors.toList());
+    private void generateGrassObstacles(final int width, final int position) {
+        int count = random.nextInt(6);
+        for (int i = 0; i < count; i++) {
+            int treeSize = 30 + random.nextInt(20);
+            generated.add(pools.acquireObstacle(
+                random.nextInt(width),
+                position + random.nextInt(ChunkImpl.STANDARD_HEIGHT - treeSize),
+                treeSize,
+                treeSize,
+                ObstacleType.TREE,
+                false
+            ));
+        }
     }
 
-    private List<Collectible> generateCollectibles(final int width, final int position) {
+    private void generateCollectibles(final int width, final int position) {
         int numCollectibles = random.nextInt(4); // 0-3 collezionabili
-        List<CollectibleType> types = new ArrayList<>(
-            List.of(CollectibleType.COIN, CollectibleType.COIN,CollectibleType.COIN, CollectibleType.INVINCIBILITY));
-        
-        return IntStream.range(0, numCollectibles)
-            .mapToObj(i -> new CollectibleImpl(
+        for (int i = 0; i < numCollectibles; i++) {
+            generated.add(pools.acquireCollectible(
                 random.nextInt(width),
                 position + random.nextInt(ChunkImpl.STANDARD_HEIGHT),
-                types.get(random.nextInt(types.size()))
-            ))
-            .collect(Collectors.toList());
+                COLLECTIBLE_TYPES[random.nextInt(COLLECTIBLE_TYPES.length)]
+            ));
+        }
     }
 }
@@ -1,86 +1,363 @@
 package it.unibo.model.Map.impl;
 
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.RandomAccess;
 
 import it.unibo.model.Map.api.Cell;
 import it.unibo.model.Map.api.Chunk;
 import it.unibo.model.Map.api.GameObject;
 import it.unibo.model.Map.util.ChunkType;
 
+/**
+ * Chunk implementation backed by primitive storage.
+ * Occupied cells are tracked in a bitset, while the objects themselves are kept
+ * in a dense array together with the index of the cell holding them, so memory
+ * and iteration cost depend on the number of objects rather than on the width.
+ * {@link Cell} instances are lightweight views created on demand.
+ */
 public class ChunkImpl implements Chunk {
 
-    private final int position;
-    private final ChunkType type;
-    private final List<Cell> cells;
+    private static final int INITIAL_OBJECT_CAPACITY = 8;
+
+    private int position;
+    private ChunkType type;
+    private final int width;
+    private final int cellSize;
     private final int cellsPerRow;
 
+    // Bitset delle celle occupate, un bit per cella
+    private final long[] occupied;
+    // Oggetti contenuti nel chunk e indice della cella che li contiene
+    private GameObject[] objects;
+    private int[] objectCells;
+    private int objectCount;
+
+    private final List<GameObject> objectsView;
+    private final List<Cell> cellsView;
+
     public static final int STANDARD_HEIGHT = 200;
-    
+    public static final int DEFAULT_CELL_SIZE = 40;
+
+    /**
+     * Constructor for the Chunk class, using {@link #DEFAULT_CELL_SIZE} wide cells.
+     *
+     * @param position Y-position of the chunk
+     * @param width Width of the chunk in pixels
+     * @param type Type of the chunk
+     */
+    public ChunkImpl(final int position, final int width, final ChunkType type) {
+        this(position, width, DEFAULT_CELL_SIZE, type);
+    }
+
     /**
      * Constructor for the Chunk class.
-     * 
+     *
+     * @param position Y-position of the chunk
+     * @param width Width of the chunk in pixels
+     * @param cellSize Width of a cell in pixels
+     * @param type Type of the chunk
+     */
+    public ChunkImpl(final int position, final int width, final int cellSize, final ChunkType type) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("Cell size must be positive: " + cellSize);
+        }
+        this.position = position;
+        this.width = width;
+        this.cellSize = cellSize;
+        this.cellsPerRow = (width + cellSize - 1) / cellSize;
+        this.type = type;
+        this.occupied = new long[(cellsPerRow + Long.SIZE - 1) / Long.SIZE];
+        this.objects = new GameObject[INITIAL_OBJECT_CAPACITY];
+        this.objectCells = new int[INITIAL_OBJECT_CAPACITY];
+        this.objectCount = 0;
+        this.objectsView = Collections.unmodifiableList(new ObjectList());
+        this.cellsView = new CellList();
+    }
+
+    /**
+     * Empties a recycled chunk and moves it to a new position.
+     * Width and cell size are kept, so only chunks of the same map can be reused.
+     *
      * @param position Y-position of the chunk
-     * @param cellsPerRow Number of cells in this chunk row
      * @param type Type of the chunk
      */
-    public ChunkImpl(final int position, final int cellsPerRow, final ChunkType type) {
+    public void reinitialize(final int position, final ChunkType type) {
         this.position = position;
-        this.cellsPerRow = cellsPerRow;
         this.type = type;
-        this.cells = IntStream.range(0, cellsPerRow)
-            .mapToObj(x -> new CellImpl(x, position))
-            .collect(Collectors.toList());
+        Arrays.fill(occupied, 0L);
+        Arrays.fill(objects, 0, objectCount, null);
+        this.objectCount = 0;
     }
-    
+
     @Override
     public boolean addObjectAt(final GameObject obj, final int cellX) {
-        return (cellX >= 0 && cellX < cellsPerRow) && cells.get(cellX).addObject(obj);
+        if (!storeObject(obj, cellX)) {
+            return false;
+        }
+        snapToCell(obj, cellX);
+        return true;
     }
-    
+
     @Override
     public boolean addObject(final GameObject obj) {
-        return cells.stream()
-            .filter(cell -> !cell.hasObject())
-            .findFirst()
-            .map(cell -> cell.addObject(obj))
-            .orElse(false);
+        if (cellsPerRow == 0) {
+            return false;
+        }
+        // L'oggetto va nella cella sotto il suo centro, se libera
+        int centerCell = Math.min(Math.max(toCellX(obj.getX() + obj.getWidth() / 2), 0), cellsPerRow - 1);
+        if (!isOccupied(centerCell)) {
+            return storeObject(obj, centerCell);
+        }
+        // Altrimenti nella cella libera più vicina
+        for (int distance = 1; distance < cellsPerRow; distance++) {
+            if (centerCell - distance >= 0 && !isOccupied(centerCell - distance)) {
+                return addObjectAt(obj, centerCell - distance);
+            }
+            if (centerCell + distance < cellsPerRow && !isOccupied(centerCell + distance)) {
+                return addObjectAt(obj, centerCell + distance);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Records an object in a cell without moving it.
+     *
+     * @param obj Object to store
+     * @param cellX Index of the cell
+     * @return True if the cell was free and the object was stored
+     */
+    private boolean storeObject(final GameObject obj, final int cellX) {
+        if (cellX < 0 || cellX >= cellsPerRow || isOccupied(cellX)) {
+            return false;
+        }
+        if (objectCount == objects.length) {
+            objects = Arrays.copyOf(objects, objectCount * 2);
+            objectCells = Arrays.copyOf(objectCells, objectCount * 2);
+        }
+        objects[objectCount] = obj;
+        objectCells[objectCount] = cellX;
+        objectCount++;
+        occupied[cellX / Long.SIZE] |= 1L << cellX;
+        return true;
     }
-    
+
+    /**
+     * Centers a static object horizontally on its cell.
+     * Movable objects keep their own X, since it changes every update anyway:
+     * for them the cell only records the lane slot they started from.
+     *
+     * @param obj Object to move
+     * @param cellX Index of the cell
+     */
+    private void snapToCell(final GameObject obj, final int cellX) {
+        if (!obj.isMovable()) {
+            obj.setPosition(toWorldX(cellX) + (cellSize - obj.getWidth()) / 2, obj.getY());
+        }
+    }
+
+    @Override
+    public boolean removeObjectAt(final int cellX) {
+        int index = indexOfCell(cellX);
+        if (index < 0) {
+            return false;
+        }
+        // Sposta l'ultimo oggetto nel posto lasciato libero per mantenere l'array denso
+        objectCount--;
+        objects[index] = objects[objectCount];
+        objectCells[index] = objectCells[objectCount];
+        objects[objectCount] = null;
+        occupied[cellX / Long.SIZE] &= ~(1L << cellX);
+        return true;
+    }
+
+    @Override
+    public Optional<GameObject> getObjectAt(final int cellX) {
+        int index = indexOfCell(cellX);
+        return index < 0 ? Optional.empty() : Optional.of(objects[index]);
+    }
+
+    @Override
+    public int getFreeCellCount() {
+        return cellsPerRow - objectCount;
+    }
+
+    @Override
+    public int getFreeCell(final int n) {
+        int remaining = n;
+        for (int word = 0; word < occupied.length; word++) {
+            int bitsInWord = Math.min(Long.SIZE, cellsPerRow - word * Long.SIZE);
+            long free = ~occupied[word] & (bitsInWord == Long.SIZE ? -1L : (1L << bitsInWord) - 1);
+            int freeInWord = Long.bitCount(free);
+            if (remaining < freeInWord) {
+                for (int i = 0; i < remaining; i++) {
+                    free &= free - 1; // scarta il bit libero più basso
+                }
+                return word * Long.SIZE + Long.numberOfTrailingZeros(free);
+            }
+            remaining -= freeInWord;
+        }
+        return -1;
+    }
+
     @Override
     public List<GameObject> getObjects() {
-        return cells.stream()
-            .filter(Cell::hasObject)
-            .map(Cell::getContent)
-            .flatMap(Optional::stream)
-            .collect(Collectors.toList());
+        return objectsView;
     }
-    
+
     @Override
     public List<Cell> getCells() {
-        return cells;
+        return cellsView;
     }
-    
+
     @Override
     public Cell getCellAt(final int cellX) {
-        return (cellX >= 0 && cellX < cellsPerRow) ? cells.get(cellX) : null;
+        return (cellX >= 0 && cellX < cellsPerRow) ? new CellView(cellX) : null;
     }
-    
+
     @Override
     public ChunkType getType() {
         return type;
     }
-    
+
     @Override
     public int getPosition() {
         return position;
     }
-    
+
+    @Override
+    public int getHeight() {
+        return STANDARD_HEIGHT;
+    }
+
+    @Override
+    public boolean isVisible(final int viewStart, final int viewHeight) {
+        return position + STANDARD_HEIGHT > viewStart && position < viewStart + viewHeight;
+    }
+
     @Override
     public int getCellsPerRow() {
         return cellsPerRow;
     }
-    
-}
\ No newline at end of file
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getCellSize() {
+        return cellSize;
+    }
+
+    @Override
+    public int toCellX(final int worldX) {
+        return Math.floorDiv(worldX, cellSize);
+    }
+
+    @Override
+    public int toWorldX(final int cellX) {
+        return cellX * cellSize;
+    }
+
+    private boolean isOccupied(final int cellX) {
+        return (occupied[cellX / Long.SIZE] & (1L << cellX)) != 0;
+    }
+
+    private int indexOfCell(final int cellX) {
+        if (cellX < 0 || cellX >= cellsPerRow || !isOccupied(cellX)) {
+            return -1;
+        }
+        for (int i = 0; i < objectCount; i++) {
+            if (objectCells[i] == cellX) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Live list of the objects in the chunk, backed by the dense array.
+     */
+    private final class ObjectList extends AbstractList<GameObject> implements RandomAccess {
+
+        @Override
+        public GameObject get(final int index) {
+            if (index < 0 || index >= objectCount) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + objectCount);
+            }
+            return objects[index];
+        }
+
+        @Override
+        public int size() {
+            return objectCount;
+        }
+    }
+
+    /**
+     * Read-only list of cell views, one per cell of the row.
+     */
+    private final class CellList extends AbstractList<Cell> implements RandomAccess {
+
+        @Override
+        public Cell get(final int index) {
+            if (index < 0 || index >= cellsPerRow) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + cellsPerRow);
+            }
+            return new CellView(index);
+        }
+
+        @Override
+        public int size() {
+            return cellsPerRow;
+        }
+    }
+
+    /**
+     * Flyweight cell that reads and writes the primitive storage of the chunk.
+     */
+    private final class CellView implements Cell {
+
+        private final int cellX;
+
+        CellView(final int cellX) {
+            this.cellX = cellX;
+        }
+
+        @Override
+        public boolean addObject(final GameObject obj) {
+            return addObjectAt(obj, cellX);
+        }
+
+        @Override
+        public void removeObject() {
+            removeObjectAt(cellX);
+        }
+
+        @Override
+        public boolean hasObject() {
+            return isOccupied(cellX);
+        }
+
+        @Override
+        public Optional<GameObject> getContent() {
+            return getObjectAt(cellX);
+        }
+
+        @Override
+        public int getX() {
+            return cellX;
+        }
+
+        @Override
+        public int getY() {
+            return position;
+        }
+    }
+
+}
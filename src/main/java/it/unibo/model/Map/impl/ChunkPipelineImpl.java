@@ -0,0 +1,123 @@
+package it.unibo.model.Map.impl;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import it.unibo.model.Map.api.Chunk;
+import it.unibo.model.Map.api.ChunkFactory;
+import it.unibo.model.Map.api.ChunkPipeline;
+
+/**
+ * Implementation of the ChunkPipeline interface.
+ * A single worker thread builds chunks in order, path validation included,
+ * and hands them over through a bounded queue: when the queue is full the
+ * worker waits, so it never runs more than a few chunks ahead of the map.
+ * The worker and the synchronous fallback use separate factories, since a
+ * factory is not meant to be shared between threads.
+ */
+public class ChunkPipelineImpl implements ChunkPipeline {
+
+    private final ChunkFactory workerFactory;
+    private final ChunkFactory fallbackFactory;
+    private final int width;
+    private final BlockingQueue<Chunk> ready;
+    // Prossima posizione che il worker deve generare
+    private final AtomicInteger nextToGenerate;
+    private Thread worker;
+    // Chunk estratto dalla coda prima che fosse richiesto
+    private Chunk pending;
+    private int prefetchedCount;
+    private int fallbackCount;
+
+    /**
+     * Constructor for the ChunkPipelineImpl class.
+     * 
+     * @param workerFactory Factory used by the background thread
+     * @param fallbackFactory Factory used on the calling thread when no chunk is ready
+     * @param width Width of the chunks
+     * @param capacity Maximum number of chunks prepared ahead
+     */
+    public ChunkPipelineImpl(final ChunkFactory workerFactory, final ChunkFactory fallbackFactory,
+            final int width, final int capacity) {
+        this.workerFactory = workerFactory;
+        this.fallbackFactory = fallbackFactory;
+        this.width = width;
+        this.ready = new ArrayBlockingQueue<>(capacity);
+        this.nextToGenerate = new AtomicInteger();
+        this.prefetchedCount = 0;
+        this.fallbackCount = 0;
+    }
+
+    @Override
+    public void start(final int firstPosition) {
+        if (worker != null) {
+            return;
+        }
+        nextToGenerate.set(firstPosition);
+        worker = new Thread(this::generateAhead, "chunk-generator");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Body of the worker thread: generates chunks in order until interrupted.
+     */
+    private void generateAhead() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                int position = nextToGenerate.getAndAdd(ChunkImpl.STANDARD_HEIGHT);
+                ready.put(workerFactory.createRandomChunk(position, width));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public Chunk next(final int position) {
+        Chunk chunk = pending != null ? pending : ready.poll();
+        pending = null;
+        // Scarta i chunk già generati in modo sincrono
+        while (chunk != null && chunk.getPosition() < position) {
+            fallbackFactory.recycle(chunk);
+            chunk = ready.poll();
+        }
+        if (chunk != null && chunk.getPosition() == position) {
+            prefetchedCount++;
+            return chunk;
+        }
+        pending = chunk;
+
+        // Coda vuota: il worker è in ritardo, quindi lo facciamo ripartire dopo questo chunk
+        fallbackCount++;
+        nextToGenerate.accumulateAndGet(position + ChunkImpl.STANDARD_HEIGHT, Math::max);
+        return fallbackFactory.createRandomChunk(position, width);
+    }
+
+    @Override
+    public void shutdown() {
+        if (worker != null) {
+            worker.interrupt();
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            worker = null;
+        }
+        ready.clear();
+        pending = null;
+    }
+
+    @Override
+    public int getPrefetchedCount() {
+        return prefetchedCount;
+    }
+
+    @Override
+    public int getFallbackCount() {
+        return fallbackCount;
+    }
+
+}
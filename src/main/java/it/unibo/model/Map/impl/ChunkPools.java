@@ -0,0 +1,168 @@
+package it.unibo.model.Map.impl;
+
+import it.unibo.model.Map.Obstacles.impl.MovingObstacles;
+import it.unibo.model.Map.api.Chunk;
+import it.unibo.model.Map.api.GameObject;
+import it.unibo.model.Map.util.ChunkType;
+import it.unibo.model.Map.util.CollectibleType;
+import it.unibo.model.Map.util.ObjectPool;
+import it.unibo.model.Map.util.ObstacleType;
+
+/**
+ * Pools for the chunks of a map and for the objects they contain.
+ * Discarded chunks are recycled together with their objects, so that once
+ * the pools are warm, scrolling the map allocates almost nothing.
+ * The pools can be shared by factories running on different threads.
+ */
+public class ChunkPools {
+
+    private static final int DEFAULT_CHUNK_CAPACITY = 32;
+    private static final int OBJECTS_PER_CHUNK = 8;
+
+    private final ObjectPool<ChunkImpl> chunks;
+    private final ObjectPool<ObstacleImpl> obstacles;
+    private final ObjectPool<CollectibleImpl> collectibles;
+    private final ObjectPool<GameObjectImpl> gameObjects;
+    private final ObjectPool<MovingObstacles> movingObstacles;
+
+    /**
+     * Constructor for the ChunkPools class, sized for a typical map.
+     */
+    public ChunkPools() {
+        this(DEFAULT_CHUNK_CAPACITY);
+    }
+
+    /**
+     * Constructor for the ChunkPools class.
+     *
+     * @param chunkCapacity Maximum number of released chunks kept
+     */
+    public ChunkPools(final int chunkCapacity) {
+        int objectCapacity = chunkCapacity * OBJECTS_PER_CHUNK;
+        // Gli oggetti creati dal pool vengono sempre reinizializzati da chi li richiede
+        this.chunks = new ObjectPool<>(() -> null, chunkCapacity);
+        this.obstacles = new ObjectPool<>(() -> new ObstacleImpl(0, 0, 0, 0, ObstacleType.TREE, false), objectCapacity);
+        this.collectibles = new ObjectPool<>(() -> new CollectibleImpl(0, 0, CollectibleType.COIN), objectCapacity);
+        this.gameObjects = new ObjectPool<>(() -> new GameObjectImpl(0, 0, 0, 0), objectCapacity);
+        this.movingObstacles = new ObjectPool<>(() -> new MovingObstacles(0, 0, ObstacleType.CAR, 0), objectCapacity);
+    }
+
+    /**
+     * Gets an empty chunk, reusing a released one when possible.
+     *
+     * @param position Y-position of the chunk
+     * @param width Width of the chunk in pixels
+     * @param cellSize Width of a cell in pixels
+     * @param type Type of the chunk
+     * @return An empty chunk
+     */
+    public ChunkImpl acquireChunk(final int position, final int width, final int cellSize, final ChunkType type) {
+        ChunkImpl chunk = chunks.acquire();
+        // Un chunk con una griglia diversa non può essere riusato
+        if (chunk == null || chunk.getWidth() != width || chunk.getCellSize() != cellSize) {
+            return new ChunkImpl(position, width, cellSize, type);
+        }
+        chunk.reinitialize(position, type);
+        return chunk;
+    }
+
+    /**
+     * Gets a static obstacle.
+     *
+     * @param x X-coordinate
+     * @param y Y-coordinate
+     * @param width Width
+     * @param height Height
+     * @param type Type of obstacle
+     * @param movable Whether the obstacle can move
+     * @return An obstacle with the given state
+     */
+    public ObstacleImpl acquireObstacle(final int x, final int y, final int width, final int height,
+            final ObstacleType type, final boolean movable) {
+        ObstacleImpl obstacle = obstacles.acquire();
+        obstacle.reinitialize(x, y, width, height, type, movable);
+        return obstacle;
+    }
+
+    /**
+     * Gets a collectible.
+     *
+     * @param x X-coordinate
+     * @param y Y-coordinate
+     * @param type Type of collectible
+     * @return A collectible with the given state
+     */
+    public CollectibleImpl acquireCollectible(final int x, final int y, final CollectibleType type) {
+        CollectibleImpl collectible = collectibles.acquire();
+        collectible.reinitialize(x, y, type);
+        return collectible;
+    }
+
+    /**
+     * Gets a plain game object, such as a log.
+     *
+     * @param x X-coordinate
+     * @param y Y-coordinate
+     * @param width Width
+     * @param height Height
+     * @return A game object with the given state
+     */
+    public GameObjectImpl acquireGameObject(final int x, final int y, final int width, final int height) {
+        GameObjectImpl obj = gameObjects.acquire();
+        obj.reinitialize(x, y, width, height);
+        return obj;
+    }
+
+    /**
+     * Gets the pool of the moving obstacles, for the obstacle factories.
+     *
+     * @return Pool of moving obstacles
+     */
+    public ObjectPool<MovingObstacles> getMovingObstaclePool() {
+        return movingObstacles;
+    }
+
+    /**
+     * Returns a chunk and all its objects to the pools.
+     * Neither the chunk nor its objects may be used afterwards.
+     *
+     * @param chunk Chunk to recycle
+     */
+    public void recycle(final Chunk chunk) {
+        for (GameObject obj : chunk.getObjects()) {
+            recycle(obj);
+        }
+        if (chunk instanceof ChunkImpl chunkImpl) {
+            chunkImpl.reinitialize(chunkImpl.getPosition(), chunkImpl.getType());
+            chunks.release(chunkImpl);
+        }
+    }
+
+    /**
+     * Returns an object to the pool matching its class.
+     * Objects of other classes are left to the garbage collector.
+     *
+     * @param obj Object to recycle
+     */
+    public void recycle(final GameObject obj) {
+        if (obj instanceof MovingObstacles moving) {
+            movingObstacles.release(moving);
+        } else if (obj.getClass() == ObstacleImpl.class) {
+            obstacles.release((ObstacleImpl) obj);
+        } else if (obj.getClass() == CollectibleImpl.class) {
+            collectibles.release((CollectibleImpl) obj);
+        } else if (obj.getClass() == GameObjectImpl.class) {
+            gameObjects.release((GameObjectImpl) obj);
+        }
+    }
+
+    /**
+     * Gets the number of chunks and objects built by the pools so far.
+     *
+     * @return Count of allocations
+     */
+    public long getAllocationCount() {
+        return chunks.getCreatedCount() + obstacles.getCreatedCount() + collectibles.getCreatedCount()
+            + gameObjects.getCreatedCount() + movingObstacles.getCreatedCount();
+    }
+}
@@ -0,0 +1,220 @@
+package it.unibo.model.Map.impl;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+import it.unibo.model.Map.api.Chunk;
+
+/**
+ * Fixed-capacity circular store for the chunks of the map.
+ * Chunks are kept ordered by position, which is always a multiple of
+ * {@link ChunkImpl#STANDARD_HEIGHT}, so a chunk can be found from a world Y
+ * coordinate with a single division instead of a scan.
+ */
+public class ChunkRingBuffer {
+
+    private final Chunk[] slots;
+    private int head; // indice dello slot che contiene il chunk più vecchio
+    private int size;
+    private final List<Chunk> allView;
+
+    /**
+     * Constructor for the ChunkRingBuffer class.
+     *
+     * @param capacity Maximum number of chunks kept at the same time
+     */
+    public ChunkRingBuffer(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.slots = new Chunk[capacity];
+        this.head = 0;
+        this.size = 0;
+        this.allView = new RangeView(0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Appends a chunk after the newest one.
+     * If the buffer is full the oldest chunk is evicted to make room.
+     *
+     * @param chunk Chunk to append, positioned right after the current newest one
+     * @return The evicted chunk, or null if nothing was evicted
+     */
+    public Chunk append(final Chunk chunk) {
+        if (size > 0 && chunk.getPosition() != getLast().getPosition() + ChunkImpl.STANDARD_HEIGHT) {
+            throw new IllegalArgumentException("Chunk at " + chunk.getPosition()
+                + " is not contiguous with the newest chunk at " + getLast().getPosition());
+        }
+        Chunk evicted = null;
+        if (size == slots.length) {
+            evicted = removeFirst();
+        }
+        slots[slotOf(size)] = chunk;
+        size++;
+        return evicted;
+    }
+
+    /**
+     * Removes the oldest chunk.
+     *
+     * @return The removed chunk
+     */
+    public Chunk removeFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException("The chunk buffer is empty");
+        }
+        Chunk first = slots[head];
+        slots[head] = null;
+        head = (head + 1) % slots.length;
+        size--;
+        return first;
+    }
+
+    /**
+     * Gets the oldest chunk.
+     *
+     * @return The chunk with the lowest position
+     */
+    public Chunk getFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException("The chunk buffer is empty");
+        }
+        return slots[head];
+    }
+
+    /**
+     * Gets the newest chunk.
+     *
+     * @return The chunk with the highest position
+     */
+    public Chunk getLast() {
+        if (size == 0) {
+            throw new NoSuchElementException("The chunk buffer is empty");
+        }
+        return slots[slotOf(size - 1)];
+    }
+
+    /**
+     * Gets the chunk at the given index, 0 being the oldest.
+     *
+     * @param index Index of the chunk
+     * @return The chunk at the given index
+     */
+    public Chunk get(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return slots[slotOf(index)];
+    }
+
+    /**
+     * Gets the index of the chunk covering a world Y coordinate.
+     * The result may fall outside {@code [0, size)} if no stored chunk covers it.
+     *
+     * @param worldY World Y coordinate
+     * @return The index the chunk covering worldY has, or would have
+     */
+    public int indexOf(final int worldY) {
+        if (size == 0) {
+            return -1;
+        }
+        return Math.floorDiv(worldY - getFirst().getPosition(), ChunkImpl.STANDARD_HEIGHT);
+    }
+
+    /**
+     * Gets the chunk covering a world Y coordinate.
+     *
+     * @param worldY World Y coordinate
+     * @return The chunk covering worldY, or null if it is not stored
+     */
+    public Chunk getChunkAt(final int worldY) {
+        int index = indexOf(worldY);
+        return (index >= 0 && index < size) ? slots[slotOf(index)] : null;
+    }
+
+    /**
+     * Gets a read-only view of the chunks overlapping the range [fromY, toY).
+     * The view does not copy the chunks and reflects the buffer until the next mutation.
+     *
+     * @param fromY Lowest world Y coordinate, inclusive
+     * @param toY Highest world Y coordinate, exclusive
+     * @return List of the chunks overlapping the range
+     */
+    public List<Chunk> range(final int fromY, final int toY) {
+        if (size == 0 || toY <= fromY) {
+            return List.of();
+        }
+        int from = Math.max(indexOf(fromY), 0);
+        int to = Math.min(indexOf(toY - 1) + 1, size);
+        return from >= to ? List.of() : new RangeView(from, to - from);
+    }
+
+    /**
+     * Gets a read-only view of all the stored chunks, from the oldest to the newest.
+     *
+     * @return List of all the chunks
+     */
+    public List<Chunk> asList() {
+        return allView;
+    }
+
+    /**
+     * Gets the number of stored chunks.
+     *
+     * @return Number of chunks
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the buffer is empty.
+     *
+     * @return True if no chunk is stored
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the maximum number of chunks the buffer can hold.
+     *
+     * @return Capacity of the buffer
+     */
+    public int capacity() {
+        return slots.length;
+    }
+
+    private int slotOf(final int index) {
+        return (head + index) % slots.length;
+    }
+
+    /**
+     * Read-only window over a contiguous run of chunks.
+     */
+    private final class RangeView extends AbstractList<Chunk> implements RandomAccess {
+
+        private final int from;
+        private final int length;
+
+        RangeView(final int from, final int length) {
+            this.from = from;
+            this.length = length;
+        }
+
+        @Override
+        public Chunk get(final int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size());
+            }
+            return ChunkRingBuffer.this.get(from + index);
+        }
+
+        @Override
+        public int size() {
+            return Math.max(0, Math.min(length, ChunkRingBuffer.this.size - from));
+        }
+    }
+}
@@ -5,8 +5,10 @@ import it.unibo.model.Map.util.CollectibleType;
 
 public class CollectibleImpl extends GameObjectImpl implements Collectible {
     
-    private final CollectibleType type;
+    private CollectibleType type;
     private boolean collected;
+
+    private static final int SIZE = 20;
     
     /**
      * Constructor for the Collectible class.
@@ -17,7 +19,20 @@ public class CollectibleImpl extends GameObjectImpl implements Collectible {
      */
     public CollectibleImpl(final int x, final int y, final CollectibleType type) {
         // Standard size for collectibles
-        super(x, y, 20, 20);
+        super(x, y, SIZE, SIZE);
+        this.type = type;
+        this.collected = false;
+    }
+
+    /**
+     * Brings a recycled collectible back to the state of a newly built one.
+     * 
+     * @param x X-coordinate
+     * @param y Y-coordinate
+     * @param type Type of collectible
+     */
+    public void reinitialize(final int x, final int y, final CollectibleType type) {
+        reinitialize(x, y, SIZE, SIZE);
         this.type = type;
         this.collected = false;
     }
@@ -1,29 +1,44 @@
 package it.unibo.model.Map.impl;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Random;
 
 import it.unibo.model.Map.Obstacles.api.MovingObstacleManager;
 import it.unibo.model.Map.Obstacles.impl.MovingObstacleManagerImpl;
 import it.unibo.model.Map.Obstacles.impl.MovingObstacles;
 import it.unibo.model.Map.api.Chunk;
 import it.unibo.model.Map.api.ChunkFactory;
+import it.unibo.model.Map.api.ChunkPipeline;
 import it.unibo.model.Map.api.GameMap;
 import it.unibo.model.Map.api.GameObject;
+import it.unibo.model.Map.api.SpatialIndex;
+import it.unibo.model.Map.util.ChunkType;
+import it.unibo.model.Map.util.FrameMetrics;
+import it.unibo.model.Map.util.FrameMetrics.Phase;
+import it.unibo.model.Map.util.WorldRandom;
 
 public class GameMapImpl implements GameMap {
 
-    private final List<Chunk> chunks;
+    private final ChunkRingBuffer chunks;
+    private final LaneDirectory laneDirectory; // Posizioni dei chunk vivi, per tipo
     private ChunkFactory chunkFactory;
+    private final long seed;
+    private final ChunkPipeline chunkPipeline;
+    private boolean pipelineStarted; // Il worker parte al primo aggiornamento, e non riparte dopo dispose
+    private final ChunkPools chunkPools;
     private int currentPosition;
     private int scrollSpeed;
+    private long tick; // Numero di aggiornamenti dall'inizio della partita
     private final MovingObstacleManager obstacleManager;
+    private final SpatialIndex spatialIndex;
     private final int mapWidth; // Larghezza logica della mappa (in celle)
     private final int mapHeight; // Altezza logica della vista (in celle)
+    private final int cellSize; // Larghezza di una cella della griglia logica
     
     // Number of chunks to keep ahead of the current view
     private static final int BUFFER_CHUNKS = 5;
+    // Distanza dalla vista oltre la quale gli ostacoli mobili vengono rimossi
+    private static final int OBSTACLE_CLEANUP_MARGIN = 200;
     
     /**
      * Constructor for the GameMap.
@@ -33,24 +48,75 @@ public class GameMapImpl implements GameMap {
      * @param speed Initial scrolling speed
      */
     public GameMapImpl(final int width, final int height, final int speed) {
+        this(width, height, speed, ChunkImpl.DEFAULT_CELL_SIZE);
+    }
+    
+    /**
+     * Constructor for the GameMap with a custom grid resolution.
+     * 
+     * @param width Width of the viewport
+     * @param height Height of the viewport
+     * @param speed Initial scrolling speed
+     * @param cellSize Width of a cell of the logical grid
+     */
+    public GameMapImpl(final int width, final int height, final int speed, final int cellSize) {
+        this(width, height, speed, cellSize, new Random().nextLong());
+    }
+    
+    /**
+     * Constructor for the GameMap with a world seed.
+     * Maps built with the same seed generate the same sequence of chunks.
+     * 
+     * @param width Width of the viewport
+     * @param height Height of the viewport
+     * @param speed Initial scrolling speed
+     * @param cellSize Width of a cell of the logical grid
+     * @param seed Seed of the world
+     */
+    public GameMapImpl(final int width, final int height, final int speed, final int cellSize, final long seed) {
+        this.seed = seed;
         this.mapWidth = width;
         this.mapHeight = height;
+        this.cellSize = cellSize;
         this.scrollSpeed = speed;
         this.currentPosition = 0;
-        this.chunks = new ArrayList<>();
-        this.chunkFactory = new ChunkFactoryImpl();
-        this.obstacleManager = new MovingObstacleManagerImpl();
+        this.chunks = new ChunkRingBuffer(chunkCapacity(height));
+        this.laneDirectory = new LaneDirectory(chunks.capacity());
+        // Le righe dell'indice coprono tutti i chunk vivi, più una riga per gli oggetti che sporgono
+        this.spatialIndex = new UniformGridIndex(width, cellSize, cellSize,
+            chunks.capacity() * ChunkImpl.STANDARD_HEIGHT / cellSize + 1);
+        // Il worker e la mappa condividono i pool, così i chunk scartati tornano al worker
+        this.chunkPools = new ChunkPools(chunks.capacity() + BUFFER_CHUNKS);
+        this.chunkFactory = new ChunkFactoryImpl(cellSize, seed, chunkPools);
+        this.chunkPipeline = new ChunkPipelineImpl(new ChunkFactoryImpl(cellSize, seed, chunkPools),
+            chunkFactory, width, BUFFER_CHUNKS);
+        // Gli ostacoli generati durante la partita tornano nello stesso pool di quelli dei chunk
+        // Anche il reset degli ostacoli dipende solo dal seme del mondo
+        this.obstacleManager = new MovingObstacleManagerImpl(new WorldRandom(seed),
+            chunkPools.getMovingObstaclePool());
         
         // Initialize the map with starting chunks
         this.initializeMap();
     }
     
+    /**
+     * Computes how many chunks can be alive at the same time: the ones behind the
+     * view not yet cleaned up, the visible ones and the buffer ahead.
+     * 
+     * @param height Height of the viewport
+     * @return Capacity of the chunk store
+     */
+    private static int chunkCapacity(final int height) {
+        int viewChunks = (height + ChunkImpl.STANDARD_HEIGHT - 1) / ChunkImpl.STANDARD_HEIGHT;
+        return 2 * viewChunks + BUFFER_CHUNKS + 2;
+    }
+    
     /**
      * Initializes the map with starting chunks.
      */
     private void initializeMap() {
         // Add initial grass chunk (safe starting area)
-        chunks.add(chunkFactory.createGrassChunk(0, mapWidth));
+        addChunk(chunkFactory.createGrassChunk(0, mapWidth));
         
         // Add initial chunks to fill the buffer
         for (int i = 1; i <= BUFFER_CHUNKS; i++) {
@@ -60,30 +126,77 @@ public class GameMapImpl implements GameMap {
     
     @Override
     public void update() {
+        if (!pipelineStarted) {
+            // I chunk successivi vengono preparati in background solo per le mappe che scorrono davvero
+            pipelineStarted = true;
+            chunkPipeline.start(getFarthestChunkPosition() + ChunkImpl.STANDARD_HEIGHT);
+        }
+        
         // Aggiorna la posizione corrente
         currentPosition += scrollSpeed;
+        tick++;
         
-        // Aggiorna tutti gli ostacoli in movimento
-        obstacleManager.updateAll(mapWidth);
+        // Aggiorna tutti gli ostacoli in movimento: è l'unico punto in cui avanzano,
+        // e applica anche gli ostacoli generati per questo tick
+        long start = System.nanoTime();
+        obstacleManager.advanceTo(tick, mapWidth);
          
         // Pulizia ostacoli fuori dallo schermo
         obstacleManager.cleanupOffscreenObstacles(
-            currentPosition - 2, // Un po' sotto la vista corrente
-            currentPosition + mapHeight + 2 // Un po' sopra la vista corrente
+            currentPosition - OBSTACLE_CLEANUP_MARGIN,
+            currentPosition + mapHeight + OBSTACLE_CLEANUP_MARGIN
         );
+        FrameMetrics.record(Phase.OBSTACLE_UPDATE, start);
          
         // Rimuovi chunk non più visibili
         cleanupChunks();
          
         // Genera nuovi chunk se necessario
         ensureBufferChunks();
+        // Gli oggetti dei chunk li muove il controller, che aggiorna anche l'indice spaziale
+    }
+    
+    /**
+     * Appends a chunk to the map and indexes its objects.
+     * 
+     * @param chunk Chunk to append
+     */
+    private void addChunk(final Chunk chunk) {
+        Chunk evicted = chunks.append(chunk);
+        if (evicted != null) {
+            discardChunk(evicted);
+        }
+        laneDirectory.add(chunk.getType(), chunk.getPosition());
+        for (GameObject obj : chunk.getObjects()) {
+            spatialIndex.insert(obj);
+        }
+    }
+    
+    /**
+     * Drops every reference the map holds to a discarded chunk and its
+     * objects, then returns them to the pools.
+     * 
+     * @param chunk Discarded chunk
+     */
+    private void discardChunk(final Chunk chunk) {
+        laneDirectory.remove(chunk.getType(), chunk.getPosition());
+        for (GameObject obj : chunk.getObjects()) {
+            spatialIndex.remove(obj);
+            if (obj instanceof MovingObstacles) {
+                obstacleManager.removeObstacle((MovingObstacles) obj);
+            }
+        }
+        chunkFactory.recycle(chunk);
     }
     
     /**
      * Removes chunks that are no longer visible and far behind.
      */
     private void cleanupChunks() {
-        chunks.removeIf(chunk -> chunk.getPosition() < currentPosition - mapHeight);
+        // I chunk sono ordinati per posizione: basta scartare dalla coda
+        while (!chunks.isEmpty() && chunks.getFirst().getPosition() < currentPosition - mapHeight) {
+            discardChunk(chunks.removeFirst());
+        }
     }
     
     /**
@@ -105,23 +218,17 @@ public class GameMapImpl implements GameMap {
      * @return The position of the farthest chunk
      */
     private int getFarthestChunkPosition() {
-        return chunks.stream()
-            .mapToInt(Chunk::getPosition)
-            .max()
-            .orElse(0);
+        return chunks.isEmpty() ? 0 : chunks.getLast().getPosition();
     }
     
     @Override
     public void generateNewChunk() {
-        int nextPosition = getFarthestChunkPosition();
-        if (nextPosition == Integer.MIN_VALUE) {
-            nextPosition = 0; // First chunk after initial grass
-        } else {
-            nextPosition += ChunkImpl.STANDARD_HEIGHT;
-        }
+        int nextPosition = chunks.isEmpty() ? 0 : getFarthestChunkPosition() + ChunkImpl.STANDARD_HEIGHT;
         
-        Chunk newChunk = chunkFactory.createRandomChunk(nextPosition, mapWidth);
-        chunks.add(newChunk);
+        long start = System.nanoTime();
+        Chunk newChunk = chunkPipeline.next(nextPosition);
+        FrameMetrics.record(Phase.CHUNK_GENERATION, start);
+        addChunk(newChunk);
         
         // Aggiungi gli ostacoli mobili del nuovo chunk al manager
         for (GameObject obj : newChunk.getObjects()) {
@@ -131,6 +238,24 @@ public class GameMapImpl implements GameMap {
         }
     }
 
+    @Override
+    public Chunk regenerateChunk(final int position) {
+        // Il primo chunk è sempre l'area sicura di partenza
+        return position == 0
+            ? chunkFactory.createGrassChunk(0, mapWidth)
+            : chunkFactory.createRandomChunk(position, mapWidth);
+    }
+    
+    @Override
+    public long getSeed() {
+        return seed;
+    }
+
+    @Override
+    public long getTick() {
+        return tick;
+    }
+
     // Metodo per verificare le collisioni con il player
     public boolean checkPlayerCollision(int playerX, int playerY) {
         return obstacleManager.checkCollision(playerX, playerY);
@@ -138,15 +263,31 @@ public class GameMapImpl implements GameMap {
     
     @Override
     public List<Chunk> getVisibleChunks() {
-        final int viewStart = currentPosition;
-        final int viewEnd = currentPosition + mapHeight;
-        
-        return chunks.stream()
-            .filter(chunk -> {
-                int chunkPos = chunk.getPosition();
-                return chunkPos + ChunkImpl.STANDARD_HEIGHT > viewStart && chunkPos < viewEnd;
-            })
-            .collect(Collectors.toList());
+        return chunks.range(currentPosition, currentPosition + mapHeight);
+    }
+    
+    @Override
+    public int countChunks(final ChunkType type, final int fromY, final int toY) {
+        return laneDirectory.count(type, fromY, toY);
+    }
+    
+    @Override
+    public int getRandomChunkPosition(final ChunkType type, final int fromY, final int toY, final Random random) {
+        return laneDirectory.randomPosition(type, fromY, toY, random);
+    }
+    
+    /**
+     * Gets the directory of the live chunks by type.
+     * 
+     * @return The lane directory
+     */
+    public LaneDirectory getLaneDirectory() {
+        return laneDirectory;
+    }
+    
+    @Override
+    public Chunk getChunkAt(final int worldY) {
+        return chunks.getChunkAt(worldY);
     }
     
     @Override
@@ -166,6 +307,35 @@ public class GameMapImpl implements GameMap {
         return obstacleManager;
     }
     
+    @Override
+    public SpatialIndex getSpatialIndex() {
+        return spatialIndex;
+    }
+    
+    /**
+     * Gets the pipeline preparing the upcoming chunks.
+     * 
+     * @return The chunk pipeline
+     */
+    public ChunkPipeline getChunkPipeline() {
+        return chunkPipeline;
+    }
+    
+    /**
+     * Gets the pools the chunks of the map are recycled into.
+     * 
+     * @return The chunk pools
+     */
+    public ChunkPools getChunkPools() {
+        return chunkPools;
+    }
+    
+    @Override
+    public void dispose() {
+        pipelineStarted = true;
+        chunkPipeline.shutdown();
+    }
+    
     @Override
     public boolean isPositionOutOfBounds(final int x, final int y) {
         return x < 0 || x >= mapWidth || y < currentPosition || y >= currentPosition + mapHeight;
@@ -173,7 +343,7 @@ public class GameMapImpl implements GameMap {
     
     @Override
     public List<Chunk> getAllChunks() {
-        return chunks;
+        return chunks.asList();
     }
     
     @Override
@@ -185,5 +355,30 @@ public class GameMapImpl implements GameMap {
     public int getMapHeight() {
         return mapHeight;
     }
+    
+    @Override
+    public int getViewportWidth() {
+        return mapWidth;
+    }
+    
+    @Override
+    public int getViewportHeight() {
+        return mapHeight;
+    }
+    
+    @Override
+    public int getCellSize() {
+        return cellSize;
+    }
+    
+    @Override
+    public int worldToCellX(final int worldX) {
+        return Math.floorDiv(worldX, cellSize);
+    }
+    
+    @Override
+    public int cellToWorldX(final int cellX) {
+        return cellX * cellSize;
+    }
 
 }
@@ -1,16 +1,19 @@
 package it.unibo.model.Map.impl;
 
 import it.unibo.model.Map.api.GameObject;
-import it.unibo.model.Map.util.Dimension;
+import it.unibo.model.Map.util.PeriodicMotion;
 
 public class GameObjectImpl implements GameObject {
     
-    private final Dimension dimension;
+    private int width;
+    private int height;
     private int x;
     private int y;
     private boolean movable;
     private int speed;
     private boolean platform;
+    // Moto orizzontale in forma chiusa: la posizione dipende solo dal tick
+    private final PeriodicMotion motion = new PeriodicMotion(0, 0);
     
     /**
      * Constructor for the GameObject class.
@@ -21,31 +24,58 @@ public class GameObjectImpl implements GameObject {
      * @param height Height
      */
     public GameObjectImpl(final int x, final int y, final int width, final int height) {
+        reinitialize(x, y, width, height);
+    }
+
+    /**
+     * Brings a recycled object back to the state of a newly built one.
+     * 
+     * @param x X-coordinate
+     * @param y Y-coordinate
+     * @param width Width
+     * @param height Height
+     */
+    public final void reinitialize(final int x, final int y, final int width, final int height) {
         this.x = x;
         this.y = y;
-        this.dimension = new Dimension(width, height);
+        this.width = width;
+        this.height = height;
         this.movable = false;
         this.speed = 0;
         this.platform = false;
+        this.motion.reset(x, 0);
     }
     
     @Override
     public void update(int mapWidth) {
+        advanceTo(motion.getTick() + 1, mapWidth);
+    }
+
+    @Override
+    public void advanceTo(long tick, int mapWidth) {
         if (movable) {
-            x += speed;
-            
             // Wrap around at map boundaries
-            if (speed > 0 && x > mapWidth) {
-                x = -dimension.width();
-            } else if (speed < 0 && x + dimension.width() < 0) {
-                x = mapWidth;
-            }
+            x = motion.advanceTo(tick, width, mapWidth);
         }
     }
+
+    @Override
+    public int getXAt(long tick) {
+        return movable ? motion.positionAt(tick) : x;
+    }
+
+    /**
+     * Gets the closed-form motion of the object, to query its future positions.
+     * 
+     * @return Motion of the object
+     */
+    public PeriodicMotion getMotion() {
+        return motion;
+    }
     
     @Override
     public boolean collidesWith(int px, int py) {
-        return px >= x && px < x + dimension.width() && py >= y && py < y + dimension.height();
+        return px >= x && px < x + width && py >= y && py < y + height;
     }
     
     @Override
@@ -60,12 +90,12 @@ public class GameObjectImpl implements GameObject {
     
     @Override
     public int getWidth() {
-        return dimension.width();
+        return width;
     }
     
     @Override
     public int getHeight() {
-        return dimension.height();
+        return height;
     }
     
     @Override
@@ -81,6 +111,7 @@ public class GameObjectImpl implements GameObject {
     public void setPosition(int newX, int newY) {
         this.x = newX;
         this.y = newY;
+        motion.rebase(newX, speed);
     }
     
     @Override
@@ -91,6 +122,7 @@ public class GameObjectImpl implements GameObject {
     @Override
     public void setSpeed(int speed) {
         this.speed = speed;
+        motion.rebase(x, speed);
     }
     
     @Override
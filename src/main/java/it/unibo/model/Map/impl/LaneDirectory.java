@@ -0,0 +1,173 @@
+package it.unibo.model.Map.impl;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+import it.unibo.model.Map.util.ChunkType;
+
+/**
+ * Positions of the live chunks, grouped by chunk type.
+ * Chunks enter the map in order of position and leave it from the oldest,
+ * so the positions of each type are kept in a circular array already
+ * sorted: adding and removing cost O(1), and finding the positions of a
+ * type inside a range costs a binary search, after which any of them can
+ * be picked in O(1).
+ */
+public class LaneDirectory {
+
+    private final Map<ChunkType, Positions> byType;
+
+    /**
+     * Constructor for the LaneDirectory class.
+     *
+     * @param capacity Maximum number of chunks alive at the same time
+     */
+    public LaneDirectory(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.byType = new EnumMap<>(ChunkType.class);
+        for (ChunkType type : ChunkType.values()) {
+            byType.put(type, new Positions(capacity));
+        }
+    }
+
+    /**
+     * Records a new chunk, positioned after every chunk of its type already recorded.
+     *
+     * @param type Type of the chunk
+     * @param position Y-position of the chunk
+     */
+    public void add(final ChunkType type, final int position) {
+        byType.get(type).add(position);
+    }
+
+    /**
+     * Forgets a chunk that left the map.
+     *
+     * @param type Type of the chunk
+     * @param position Y-position of the chunk
+     * @return True if the chunk was recorded
+     */
+    public boolean remove(final ChunkType type, final int position) {
+        return byType.get(type).remove(position);
+    }
+
+    /**
+     * Counts the chunks of a type whose position is in a range.
+     *
+     * @param type Type of the chunks
+     * @param fromY Lowest position, included
+     * @param toY Highest position, excluded
+     * @return Number of chunks
+     */
+    public int count(final ChunkType type, final int fromY, final int toY) {
+        Positions positions = byType.get(type);
+        return Math.max(0, positions.lowerBound(toY) - positions.lowerBound(fromY));
+    }
+
+    /**
+     * Gets the position of one of the chunks of a type in a range, chosen at random.
+     *
+     * @param type Type of the chunks
+     * @param fromY Lowest position, included
+     * @param toY Highest position, excluded
+     * @param random Source of the choice
+     * @return The position, or -1 if there is no such chunk
+     */
+    public int randomPosition(final ChunkType type, final int fromY, final int toY, final Random random) {
+        Positions positions = byType.get(type);
+        int first = positions.lowerBound(fromY);
+        int count = positions.lowerBound(toY) - first;
+        return count <= 0 ? -1 : positions.get(first + random.nextInt(count));
+    }
+
+    /**
+     * Gets the total number of chunks of a type.
+     *
+     * @param type Type of the chunks
+     * @return Number of chunks
+     */
+    public int size(final ChunkType type) {
+        return byType.get(type).size;
+    }
+
+    /**
+     * Forgets every chunk.
+     */
+    public void clear() {
+        for (Positions positions : byType.values()) {
+            positions.size = 0;
+        }
+    }
+
+    /**
+     * Sorted circular array of the positions of one type.
+     */
+    private static final class Positions {
+
+        private final int[] slots;
+        private int head;
+        private int size;
+
+        Positions(final int capacity) {
+            this.slots = new int[capacity];
+        }
+
+        int get(final int index) {
+            return slots[(head + index) % slots.length];
+        }
+
+        void add(final int position) {
+            if (size > 0 && position <= get(size - 1)) {
+                throw new IllegalArgumentException("Position " + position + " is not after " + get(size - 1));
+            }
+            if (size == slots.length) {
+                // Più chunk di quanti ne possano esistere: si scarta il più vecchio
+                head = (head + 1) % slots.length;
+                size--;
+            }
+            slots[(head + size) % slots.length] = position;
+            size++;
+        }
+
+        boolean remove(final int position) {
+            if (size > 0 && get(0) == position) {
+                head = (head + 1) % slots.length;
+                size--;
+                return true;
+            }
+            // Rimozione fuori ordine: si compatta spostando indietro quelli successivi
+            int index = lowerBound(position);
+            if (index >= size || get(index) != position) {
+                return false;
+            }
+            for (int i = index; i < size - 1; i++) {
+                slots[(head + i) % slots.length] = get(i + 1);
+            }
+            size--;
+            return true;
+        }
+
+        /**
+         * Finds the first position not lower than y.
+         *
+         * @param y Position to look for
+         * @return Index of the first position &gt;= y, or size if there is none
+         */
+        int lowerBound(final int y) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (get(mid) < y) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -3,38 +3,42 @@ package it.unibo.model.Map.impl;
 import it.unibo.model.Map.api.Chunk;
 import it.unibo.model.Map.api.ObjectPlacer;
 import it.unibo.model.Map.api.GameObject;
-import it.unibo.model.Map.api.Cell;
 
 import java.util.List;
 import java.util.Random;
+import java.util.random.RandomGenerator;
 
 public class ObjectPlacerImpl implements ObjectPlacer {
 
-    private final Random random;
+    private final RandomGenerator random;
 
     public ObjectPlacerImpl() {
-        this.random = new Random();
+        this(new Random());
+    }
+
+    /**
+     * Constructor for the ObjectPlacer class with a given source of randomness.
+     * 
+     * @param random Generator used to choose the cells
+     */
+    public ObjectPlacerImpl(final RandomGenerator random) {
+        this.random = random;
     }
 
     @Override
     public boolean placeObjectRandomly(Chunk chunk, GameObject object) {
-        // Ottieni tutte le celle del chunk
-        var cells = chunk.getCells();
-
-        // Filtra le celle vuote
-        var emptyCells = cells.stream()
-            .filter(cell -> !cell.hasObject())
-            .toList();
+        // Conta le celle vuote senza materializzarle
+        int freeCells = chunk.getFreeCellCount();
 
-        if (emptyCells.isEmpty()) {
+        if (freeCells == 0) {
             return false;
         }
 
         // Scegli una cella casuale tra quelle vuote
-        Cell randomCell = emptyCells.get(random.nextInt(emptyCells.size()));
+        int cellX = chunk.getFreeCell(random.nextInt(freeCells));
 
         // Aggiungi l'oggetto alla cella (presumendo che venga centrato da chi la gestisce)
-        return randomCell.addObject(object);
+        return chunk.addObjectAt(object, cellX);
     }
 
     @Override
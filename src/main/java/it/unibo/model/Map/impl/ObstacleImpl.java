@@ -5,7 +5,7 @@ import it.unibo.model.Map.util.ObstacleType;
 
 public class ObstacleImpl extends GameObjectImpl implements Obstacle {
     
-    private final ObstacleType type;
+    private ObstacleType type;
     
     /**
      * Constructor for the Obstacle class.
@@ -22,6 +22,22 @@ public class ObstacleImpl extends GameObjectImpl implements Obstacle {
         this.type = type;
         setMovable(movable);
     }
+
+    /**
+     * Brings a recycled obstacle back to the state of a newly built one.
+     * 
+     * @param x X-coordinate
+     * @param y Y-coordinate
+     * @param width Width
+     * @param height Height
+     * @param type Type of obstacle
+     * @param movable Whether the obstacle can move
+     */
+    public void reinitialize(final int x, final int y, final int width, final int height, final ObstacleType type, final boolean movable) {
+        reinitialize(x, y, width, height);
+        this.type = type;
+        setMovable(movable);
+    }
     
     @Override
     public ObstacleType getType() {
@@ -1,10 +1,8 @@
 package it.unibo.model.Map.impl;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 import java.util.Optional;
 
-import it.unibo.model.Map.api.Cell;
 import it.unibo.model.Map.api.Chunk;
 import it.unibo.model.Map.api.GameObject;
 import it.unibo.model.Map.api.PathValidator;
@@ -12,110 +10,102 @@ import it.unibo.model.Map.util.ChunkType;
 
 /**
  * Implementazione semplificata di PathValidator che garantisce 
- * la percorribilità tra chunk consecutivi di tipo GRASS.
+ * la percorribilità tra chunk adiacenti di tipo GRASS.
+ * Il confronto usa le colonne bloccate del chunk precedente prima della sua
+ * validazione: la validazione toglie soltanto ostacoli, quindi una colonna
+ * libera prima resta libera dopo, e il risultato dipende solo dal contenuto
+ * generato del chunk adiacente, non da quelli che lo precedono.
  */
 public class PathValidatorImpl implements PathValidator {
 
-    private Chunk lastGrassChunk = null;
+    private int lastGrassPosition = Integer.MIN_VALUE;
+    private boolean[] lastGrassBlocked = new boolean[0];
     
     @Override
     public void ensureTraversability(final Chunk chunk) {
         // Applica la validazione solo ai chunk di tipo GRASS
         if (chunk.getType() == ChunkType.GRASS) {
-            // Se c'è un chunk di erba precedente, assicura un percorso tra i due
-            if (lastGrassChunk != null) {
-                ensurePathBetweenChunks(lastGrassChunk, chunk);
+            boolean[] generatedBlocked = getBlockedColumns(chunk);
+            
+            // Se il chunk precedente è di erba, assicura un percorso tra i due
+            if (lastGrassPosition == chunk.getPosition() - ChunkImpl.STANDARD_HEIGHT) {
+                ensurePath(lastGrassBlocked, chunk);
             }
             
-            // Aggiorna il riferimento all'ultimo chunk di erba
-            lastGrassChunk = chunk;
+            // Memorizza le colonne bloccate dell'ultimo chunk di erba, come generato
+            lastGrassPosition = chunk.getPosition();
+            lastGrassBlocked = generatedBlocked;
         }
     }
     
+    @Override
+    public boolean[] getBlockedColumns(final Chunk chunk) {
+        return blockedColumns(chunk, chunk.getCellsPerRow());
+    }
+    
     /**
      * Garantisce che ci sia un percorso percorribile tra due chunk consecutivi di erba.
+     * Il controllo lavora sulle colonne della griglia logica, non sui pixel.
      * 
-     * @param previousChunk Il chunk di erba precedente
+     * @param previousColumns Colonne bloccate del chunk di erba precedente
      * @param currentChunk Il chunk di erba corrente
      */
-    private void ensurePathBetweenChunks(final Chunk previousChunk, final Chunk currentChunk) {
-        int width = Math.min(previousChunk.getCellsPerRow(), currentChunk.getCellsPerRow());
-
-        List<Boolean> previousBlocked = new ArrayList<>(width);
-        List<Boolean> currentBlocked = new ArrayList<>(width);
-
-        // Inizializza liste con false
-        for (int i = 0; i < width; i++) {
-            previousBlocked.add(false);
-            currentBlocked.add(false);
-        }
-
-        // Blocchi nel chunk precedente
-        for (int x = 0; x < width; x++) {
-            Cell cell = previousChunk.getCellAt(x);
-            if (cell != null && cell.hasObject()) {
-                Optional<GameObject> obj = cell.getContent();
-                if (obj.isPresent() && !obj.get().isPlatform()) {
-                    previousBlocked.set(x, true);
-                }
-            }
-        }
+    @Override
+    public void ensurePath(final boolean[] previousColumns, final Chunk currentChunk) {
+        int width = Math.min(previousColumns.length, currentChunk.getCellsPerRow());
 
-        // Blocchi nel chunk corrente
-        for (int x = 0; x < width; x++) {
-            Cell cell = currentChunk.getCellAt(x);
-            if (cell != null && cell.hasObject()) {
-                Optional<GameObject> obj = cell.getContent();
-                if (obj.isPresent() && !obj.get().isPlatform()) {
-                    currentBlocked.set(x, true);
-                }
-            }
-        }
+        // Colonne bloccate nei due chunk
+        boolean[] previousBlocked = Arrays.copyOf(previousColumns, width);
+        boolean[] currentBlocked = blockedColumns(currentChunk, width);
 
         // Verifica presenza di colonna libera verticale
-        boolean pathExists = false;
         for (int x = 0; x < width; x++) {
-            if (!previousBlocked.get(x) && !currentBlocked.get(x)) {
-                pathExists = true;
-                break;
+            if (!previousBlocked[x] && !currentBlocked[x]) {
+                return;
             }
         }
 
         // Se non esiste, crea un percorso
-        if (!pathExists) {
-            createVerticalPath(previousBlocked, currentChunk, currentBlocked);
+        createVerticalPath(previousBlocked, currentChunk, currentBlocked);
+    }
+
+    /**
+     * Calcola quali colonne di un chunk sono bloccate da un ostacolo.
+     * 
+     * @param chunk Il chunk da analizzare
+     * @param width Numero di colonne da considerare
+     * @return Array con true per ogni colonna bloccata
+     */
+    private boolean[] blockedColumns(final Chunk chunk, final int width) {
+        boolean[] blocked = new boolean[width];
+        for (int x = 0; x < width; x++) {
+            Optional<GameObject> obj = chunk.getObjectAt(x);
+            blocked[x] = obj.isPresent() && !obj.get().isPlatform();
         }
+        return blocked;
     }
 
-    
     /**
      * Crea un percorso nel chunk corrente rimuovendo strategicamente un ostacolo.
      * 
-     * @param chunk Il chunk dove creare il percorso
-     * @param blockedColumns Array che rappresenta le colonne bloccate
+     * @param previousBlocked Colonne bloccate nel chunk precedente
+     * @param currentChunk Il chunk dove creare il percorso
+     * @param currentBlocked Colonne bloccate nel chunk corrente
      */
-    private void createVerticalPath(final List<Boolean> previousBlocked, final Chunk currentChunk, final List<Boolean> currentBlocked) {
-        int width = currentBlocked.size();
+    private void createVerticalPath(final boolean[] previousBlocked, final Chunk currentChunk, final boolean[] currentBlocked) {
+        int width = currentBlocked.length;
 
         // Cerca una colonna libera sopra dove sbloccare anche sotto
         for (int x = 0; x < width; x++) {
-            if (!previousBlocked.get(x)) {
-                Cell cell = currentChunk.getCellAt(x);
-                if (cell != null && cell.hasObject()) {
-                    cell.removeObject();
-                    return;
-                }
+            if (!previousBlocked[x] && currentChunk.removeObjectAt(x)) {
+                return;
             }
         }
 
         // Se tutte le colonne sopra sono bloccate, sblocca una colonna a caso
         for (int x = 0; x < width; x++) {
-            if (currentBlocked.get(x)) {
-                Cell cell = currentChunk.getCellAt(x);
-                if (cell != null && cell.hasObject()) {
-                    cell.removeObject();
-                    return;
-                }
+            if (currentBlocked[x] && currentChunk.removeObjectAt(x)) {
+                return;
             }
         }
     }
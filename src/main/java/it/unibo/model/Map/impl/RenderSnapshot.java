@@ -0,0 +1,292 @@
+package it.unibo.model.Map.impl;
+
+import java.util.Arrays;
+
+import it.unibo.model.Map.util.ChunkType;
+import it.unibo.model.Map.util.CollectibleType;
+import it.unibo.model.Map.util.ObstacleType;
+
+/**
+ * What the view needs to draw one simulation step, copied into primitive
+ * arrays: the visible chunks and, in drawing order, the sprites on them.
+ * A snapshot is only filled by {@link RenderSnapshotBuffer} before it is
+ * published, and does not change while a reader holds it, so it can be read
+ * on any thread without touching the live model.
+ */
+public class RenderSnapshot {
+
+    /**
+     * Image drawn for an object of the snapshot.
+     */
+    public enum Sprite {
+        /** Coin to collect. */
+        COIN,
+        /** Invincibility power-up. */
+        INVINCIBILITY,
+        /** Log floating on a river. */
+        LOG,
+        /** Moving car. */
+        CAR,
+        /** Moving train. */
+        TRAIN;
+
+        private static final Sprite[] VALUES = values();
+
+        /**
+         * Gets the sprite of a collectible type.
+         *
+         * @param type Type of the collectible
+         * @return The sprite, or null if the type is not drawn
+         */
+        public static Sprite of(final CollectibleType type) {
+            switch (type) {
+                case COIN:
+                    return COIN;
+                case INVINCIBILITY:
+                    return INVINCIBILITY;
+                default:
+                    return null;
+            }
+        }
+
+        /**
+         * Gets the sprite of a moving obstacle type.
+         *
+         * @param type Type of the obstacle
+         * @return The sprite, or null if the type is not drawn
+         */
+        public static Sprite of(final ObstacleType type) {
+            switch (type) {
+                case CAR:
+                    return CAR;
+                case TRAIN:
+                    return TRAIN;
+                default:
+                    return null;
+            }
+        }
+    }
+
+    private static final ChunkType[] CHUNK_TYPES = ChunkType.values();
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long tick;
+    private int position;
+    private int previousPosition;
+
+    // Chunk visibili, dal più vicino al più lontano
+    private int chunkCount;
+    private int[] chunkPositions = new int[INITIAL_CAPACITY];
+    private int[] chunkHeights = new int[INITIAL_CAPACITY];
+    private byte[] chunkTypes = new byte[INITIAL_CAPACITY];
+
+    // Sprite nell'ordine in cui vanno disegnati
+    private int spriteCount;
+    private int[] spriteX = new int[INITIAL_CAPACITY];
+    private int[] spriteY = new int[INITIAL_CAPACITY];
+    private int[] spriteWidths = new int[INITIAL_CAPACITY];
+    private int[] spriteHeights = new int[INITIAL_CAPACITY];
+    private byte[] spriteIds = new byte[INITIAL_CAPACITY];
+    private boolean[] spriteFacingRight = new boolean[INITIAL_CAPACITY];
+
+    /**
+     * Starts filling the snapshot for a new step, forgetting the previous content.
+     *
+     * @param tick Simulation tick of the step
+     * @param position Viewport position at the end of the step
+     * @param previousPosition Viewport position at the end of the step before
+     */
+    void reset(final long tick, final int position, final int previousPosition) {
+        this.tick = tick;
+        this.position = position;
+        this.previousPosition = previousPosition;
+        this.chunkCount = 0;
+        this.spriteCount = 0;
+    }
+
+    /**
+     * Adds a visible chunk.
+     *
+     * @param type Type of the chunk
+     * @param y Y-position of the chunk
+     * @param height Height of the chunk
+     */
+    void addChunk(final ChunkType type, final int y, final int height) {
+        if (chunkCount == chunkPositions.length) {
+            int capacity = chunkCount * 2;
+            chunkPositions = Arrays.copyOf(chunkPositions, capacity);
+            chunkHeights = Arrays.copyOf(chunkHeights, capacity);
+            chunkTypes = Arrays.copyOf(chunkTypes, capacity);
+        }
+        chunkPositions[chunkCount] = y;
+        chunkHeights[chunkCount] = height;
+        chunkTypes[chunkCount] = (byte) type.ordinal();
+        chunkCount++;
+    }
+
+    /**
+     * Adds a sprite, drawn after the ones already added.
+     *
+     * @param sprite Image to draw
+     * @param x X-position on the map
+     * @param y Y-position on the map
+     * @param width Width on the map
+     * @param height Height on the map
+     * @param facingRight True if the object moves to the right
+     */
+    void addSprite(final Sprite sprite, final int x, final int y, final int width, final int height,
+            final boolean facingRight) {
+        if (spriteCount == spriteX.length) {
+            int capacity = spriteCount * 2;
+            spriteX = Arrays.copyOf(spriteX, capacity);
+            spriteY = Arrays.copyOf(spriteY, capacity);
+            spriteWidths = Arrays.copyOf(spriteWidths, capacity);
+            spriteHeights = Arrays.copyOf(spriteHeights, capacity);
+            spriteIds = Arrays.copyOf(spriteIds, capacity);
+            spriteFacingRight = Arrays.copyOf(spriteFacingRight, capacity);
+        }
+        spriteX[spriteCount] = x;
+        spriteY[spriteCount] = y;
+        spriteWidths[spriteCount] = width;
+        spriteHeights[spriteCount] = height;
+        spriteIds[spriteCount] = (byte) sprite.ordinal();
+        spriteFacingRight[spriteCount] = facingRight;
+        spriteCount++;
+    }
+
+    /**
+     * Gets the simulation tick of the snapshot.
+     *
+     * @return The tick
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Gets the viewport position at the end of the step.
+     *
+     * @return The position
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    /**
+     * Gets the viewport position at the end of the step before, to
+     * interpolate the scrolling between the two.
+     *
+     * @return The position
+     */
+    public int getPreviousPosition() {
+        return previousPosition;
+    }
+
+    /**
+     * Gets the number of visible chunks.
+     *
+     * @return Number of chunks
+     */
+    public int getChunkCount() {
+        return chunkCount;
+    }
+
+    /**
+     * Gets the type of a visible chunk.
+     *
+     * @param index Index of the chunk
+     * @return Type of the chunk
+     */
+    public ChunkType getChunkType(final int index) {
+        return CHUNK_TYPES[chunkTypes[index]];
+    }
+
+    /**
+     * Gets the Y-position of a visible chunk.
+     *
+     * @param index Index of the chunk
+     * @return Y-position of the chunk
+     */
+    public int getChunkPosition(final int index) {
+        return chunkPositions[index];
+    }
+
+    /**
+     * Gets the height of a visible chunk.
+     *
+     * @param index Index of the chunk
+     * @return Height of the chunk
+     */
+    public int getChunkHeight(final int index) {
+        return chunkHeights[index];
+    }
+
+    /**
+     * Gets the number of sprites.
+     *
+     * @return Number of sprites
+     */
+    public int getSpriteCount() {
+        return spriteCount;
+    }
+
+    /**
+     * Gets the image of a sprite.
+     *
+     * @param index Index of the sprite
+     * @return Image to draw
+     */
+    public Sprite getSprite(final int index) {
+        return Sprite.VALUES[spriteIds[index]];
+    }
+
+    /**
+     * Gets the X-position of a sprite on the map.
+     *
+     * @param index Index of the sprite
+     * @return X-position
+     */
+    public int getSpriteX(final int index) {
+        return spriteX[index];
+    }
+
+    /**
+     * Gets the Y-position of a sprite on the map.
+     *
+     * @param index Index of the sprite
+     * @return Y-position
+     */
+    public int getSpriteY(final int index) {
+        return spriteY[index];
+    }
+
+    /**
+     * Gets the width of a sprite on the map.
+     *
+     * @param index Index of the sprite
+     * @return Width
+     */
+    public int getSpriteWidth(final int index) {
+        return spriteWidths[index];
+    }
+
+    /**
+     * Gets the height of a sprite on the map.
+     *
+     * @param index Index of the sprite
+     * @return Height
+     */
+    public int getSpriteHeight(final int index) {
+        return spriteHeights[index];
+    }
+
+    /**
+     * Checks if the object of a sprite moves to the right.
+     *
+     * @param index Index of the sprite
+     * @return True if it moves to the right
+     */
+    public boolean isSpriteFacingRight(final int index) {
+        return spriteFacingRight[index];
+    }
+}
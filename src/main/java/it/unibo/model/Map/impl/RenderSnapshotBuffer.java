@@ -0,0 +1,122 @@
+package it.unibo.model.Map.impl;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import it.unibo.model.Map.Obstacles.api.MovingObstacleManager;
+import it.unibo.model.Map.Obstacles.impl.MovingObstacles;
+import it.unibo.model.Map.api.Chunk;
+import it.unibo.model.Map.api.Collectible;
+import it.unibo.model.Map.api.GameMap;
+import it.unibo.model.Map.api.GameObject;
+import it.unibo.model.Map.impl.RenderSnapshot.Sprite;
+import it.unibo.model.Map.util.ObstacleType;
+
+/**
+ * Hands {@link RenderSnapshot}s from the simulation to the view through
+ * three buffers, so that neither side ever waits for the other.
+ * The simulation fills the back buffer at the end of each tick and swaps it
+ * with the ready one; the view swaps its front buffer with the ready one
+ * only when a newer snapshot was published, and otherwise keeps drawing the
+ * one it has. The swap is a single atomic exchange, so a snapshot held by
+ * either side is never touched by the other, and the buffers are reused
+ * without allocating.
+ * One thread at a time may publish, and one thread at a time may acquire.
+ */
+public class RenderSnapshotBuffer {
+
+    private static final int BUFFERS = 3;
+    private static final int INDEX_MASK = 0b11;
+    // Segnala che il buffer pronto non è ancora stato letto
+    private static final int FRESH = 0b100;
+    private static final ObstacleType[] OBSTACLE_TYPES = ObstacleType.values();
+
+    private final RenderSnapshot[] buffers = new RenderSnapshot[BUFFERS];
+    // Indice del buffer pronto, più il bit FRESH
+    private final AtomicInteger ready = new AtomicInteger(1);
+    // Usati solo dal thread della simulazione
+    private int back;
+    private int lastPosition;
+    private boolean published;
+    // Usati solo dal thread che disegna
+    private int front = 2;
+    private boolean acquired;
+
+    /**
+     * Constructor for the RenderSnapshotBuffer class.
+     */
+    public RenderSnapshotBuffer() {
+        for (int i = 0; i < BUFFERS; i++) {
+            buffers[i] = new RenderSnapshot();
+        }
+    }
+
+    /**
+     * Copies what is visible on the map into the back buffer and makes it
+     * the latest snapshot. Called on the simulation thread after each tick.
+     *
+     * @param map Map to copy
+     */
+    public void publish(final GameMap map) {
+        RenderSnapshot snapshot = buffers[back];
+        int position = map.getCurrentPosition();
+        snapshot.reset(map.getTick(), position, published ? lastPosition : position);
+        lastPosition = position;
+        published = true;
+
+        for (Chunk chunk : map.getVisibleChunks()) {
+            snapshot.addChunk(chunk.getType(), chunk.getPosition(), chunk.getHeight());
+            for (GameObject obj : chunk.getObjects()) {
+                Sprite sprite = spriteOf(obj);
+                if (sprite != null) {
+                    snapshot.addSprite(sprite, obj.getX(), obj.getY(), obj.getWidth(), obj.getHeight(), false);
+                }
+            }
+        }
+
+        // Gli ostacoli mobili vanno sopra gli oggetti dei chunk; solo quelli nella vista
+        int bottom = position + map.getViewportHeight();
+        MovingObstacleManager obstacles = map.getObstacleManager();
+        for (ObstacleType type : OBSTACLE_TYPES) {
+            Sprite sprite = Sprite.of(type);
+            if (sprite == null) {
+                continue;
+            }
+            for (MovingObstacles obstacle : obstacles.getObstacles(type)) {
+                if (obstacle.isVisible() && obstacle.getY() + obstacle.getHeight() > position
+                    && obstacle.getY() < bottom) {
+                    snapshot.addSprite(sprite, obstacle.getX(), obstacle.getY(),
+                        obstacle.getWidth(), obstacle.getHeight(), obstacle.getSpeed() > 0);
+                }
+            }
+        }
+
+        back = ready.getAndSet(back | FRESH) & INDEX_MASK;
+    }
+
+    /**
+     * Gets the latest published snapshot. The snapshot stays unchanged
+     * until the next call, which releases it.
+     *
+     * @return The snapshot, or null if nothing was published yet
+     */
+    public RenderSnapshot acquireLatest() {
+        if ((ready.get() & FRESH) != 0) {
+            front = ready.getAndSet(front) & INDEX_MASK;
+            acquired = true;
+        }
+        return acquired ? buffers[front] : null;
+    }
+
+    /**
+     * Gets the sprite of an object in a chunk.
+     *
+     * @param obj The object
+     * @return The sprite, or null if the object is not drawn
+     */
+    private static Sprite spriteOf(final GameObject obj) {
+        if (obj instanceof Collectible collectible) {
+            return collectible.isCollected() ? null : Sprite.of(collectible.getType());
+        }
+        return obj.isPlatform() ? Sprite.LOG : null;
+    }
+}
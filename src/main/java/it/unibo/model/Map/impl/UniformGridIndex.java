@@ -0,0 +1,307 @@
+package it.unibo.model.Map.impl;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import it.unibo.model.Map.api.GameObject;
+import it.unibo.model.Map.api.SpatialIndex;
+
+/**
+ * Uniform grid implementation of {@link SpatialIndex}.
+ * The grid has a fixed number of columns covering the map width, and a
+ * window of rows that scrolls with the map: rows are stored in a circular
+ * array, and a slot is recycled when a row far ahead of it is first used.
+ * Objects outside the map horizontally are kept in the border columns.
+ */
+public class UniformGridIndex implements SpatialIndex {
+
+    private static final int NO_ROW = Integer.MIN_VALUE;
+
+    private final int cellWidth;
+    private final int cellHeight;
+    private final int columns;
+    private final int rowCapacity;
+
+    // Indice assoluto della riga memorizzata in ogni slot
+    private final int[] rowIds;
+    private final List<List<Entry>> buckets;
+    private final Map<GameObject, Entry> entries;
+    private final List<Entry> movables;
+    private int queryStamp;
+
+    /**
+     * Constructor for the UniformGridIndex class.
+     *
+     * @param worldWidth Width of the map in pixels
+     * @param cellWidth Width of a grid cell
+     * @param cellHeight Height of a grid cell
+     * @param rowCapacity Number of rows kept at the same time
+     */
+    public UniformGridIndex(final int worldWidth, final int cellWidth, final int cellHeight, final int rowCapacity) {
+        if (cellWidth <= 0 || cellHeight <= 0 || rowCapacity <= 0) {
+            throw new IllegalArgumentException("Grid cells and row capacity must be positive");
+        }
+        this.cellWidth = cellWidth;
+        this.cellHeight = cellHeight;
+        this.columns = Math.max(1, (worldWidth + cellWidth - 1) / cellWidth);
+        this.rowCapacity = rowCapacity;
+        this.rowIds = new int[rowCapacity];
+        this.buckets = new ArrayList<>(rowCapacity * columns);
+        for (int i = 0; i < rowCapacity * columns; i++) {
+            buckets.add(new ArrayList<>(2));
+        }
+        this.entries = new IdentityHashMap<>();
+        this.movables = new ArrayList<>();
+        this.queryStamp = 0;
+        clearRows();
+    }
+
+    @Override
+    public void insert(final GameObject obj) {
+        if (entries.containsKey(obj)) {
+            update(obj);
+            return;
+        }
+        Entry entry = new Entry(obj);
+        entries.put(obj, entry);
+        if (obj.isMovable()) {
+            entry.movableIndex = movables.size();
+            movables.add(entry);
+        }
+        computeBounds(entry);
+        addToBuckets(entry);
+    }
+
+    @Override
+    public void remove(final GameObject obj) {
+        Entry entry = entries.remove(obj);
+        if (entry != null) {
+            removeFromBuckets(entry);
+            if (entry.movable) {
+                removeMovable(entry);
+            }
+        }
+    }
+
+    @Override
+    public void update(final GameObject obj) {
+        Entry entry = entries.get(obj);
+        if (entry != null) {
+            rebucket(entry);
+        }
+    }
+
+    /**
+     * Removes an entry from the movables in constant time, by moving the
+     * last movable into its place.
+     *
+     * @param entry Entry to remove
+     */
+    private void removeMovable(final Entry entry) {
+        Entry last = movables.remove(movables.size() - 1);
+        if (last != entry) {
+            movables.set(entry.movableIndex, last);
+            last.movableIndex = entry.movableIndex;
+        }
+    }
+
+    @Override
+    public void refreshMovables() {
+        for (int i = 0; i < movables.size(); i++) {
+            rebucket(movables.get(i));
+        }
+    }
+
+    @Override
+    public void queryPoint(final int x, final int y, final List<GameObject> result) {
+        queryArea(x, y, 1, 1, result);
+    }
+
+    @Override
+    public void queryArea(final int x, final int y, final int width, final int height, final List<GameObject> result) {
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        int stamp = nextStamp();
+        int firstRow = Math.floorDiv(y, cellHeight);
+        int lastRow = Math.min(Math.floorDiv(y + height - 1, cellHeight), firstRow + rowCapacity - 1);
+        int firstCol = columnOf(x);
+        int lastCol = columnOf(x + width - 1);
+        for (int row = firstRow; row <= lastRow; row++) {
+            int slot = Math.floorMod(row, rowCapacity);
+            if (rowIds[slot] != row) {
+                continue;
+            }
+            for (int col = firstCol; col <= lastCol; col++) {
+                List<Entry> bucket = buckets.get(slot * columns + col);
+                for (int i = 0; i < bucket.size(); i++) {
+                    Entry entry = bucket.get(i);
+                    if (entry.stamp != stamp) {
+                        entry.stamp = stamp;
+                        GameObject obj = entry.obj;
+                        if (obj.getX() < x + width && obj.getX() + obj.getWidth() > x
+                            && obj.getY() < y + height && obj.getY() + obj.getHeight() > y) {
+                            result.add(obj);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void queryRadius(final int centerX, final int centerY, final int radius, final List<GameObject> result) {
+        int start = result.size();
+        queryArea(centerX - radius, centerY - radius, 2 * radius + 1, 2 * radius + 1, result);
+        long radiusSquared = (long) radius * radius;
+        // Scarta gli oggetti nel quadrato circoscritto ma fuori dal cerchio
+        int kept = start;
+        for (int i = start; i < result.size(); i++) {
+            GameObject obj = result.get(i);
+            long dx = centerX - Math.max(obj.getX(), Math.min(centerX, obj.getX() + obj.getWidth() - 1));
+            long dy = centerY - Math.max(obj.getY(), Math.min(centerY, obj.getY() + obj.getHeight() - 1));
+            if (dx * dx + dy * dy <= radiusSquared) {
+                result.set(kept++, obj);
+            }
+        }
+        while (result.size() > kept) {
+            result.remove(result.size() - 1);
+        }
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void clear() {
+        for (List<Entry> bucket : buckets) {
+            bucket.clear();
+        }
+        entries.clear();
+        movables.clear();
+        clearRows();
+    }
+
+    private void clearRows() {
+        for (int i = 0; i < rowCapacity; i++) {
+            rowIds[i] = NO_ROW;
+        }
+    }
+
+    private int nextStamp() {
+        queryStamp++;
+        if (queryStamp == 0) {
+            // Dopo l'overflow azzera i timbri per non confonderli con quelli nuovi
+            for (Entry entry : entries.values()) {
+                entry.stamp = 0;
+            }
+            queryStamp = 1;
+        }
+        return queryStamp;
+    }
+
+    private int columnOf(final int x) {
+        return Math.min(Math.max(Math.floorDiv(x, cellWidth), 0), columns - 1);
+    }
+
+    private int firstRowOf(final GameObject obj) {
+        return Math.floorDiv(obj.getY(), cellHeight);
+    }
+
+    private int lastRowOf(final GameObject obj) {
+        int lastRow = Math.floorDiv(obj.getY() + Math.max(obj.getHeight(), 1) - 1, cellHeight);
+        return Math.min(lastRow, firstRowOf(obj) + rowCapacity - 1);
+    }
+
+    private void computeBounds(final Entry entry) {
+        GameObject obj = entry.obj;
+        entry.firstCol = columnOf(obj.getX());
+        entry.lastCol = columnOf(obj.getX() + Math.max(obj.getWidth(), 1) - 1);
+        entry.firstRow = firstRowOf(obj);
+        entry.lastRow = lastRowOf(obj);
+    }
+
+    private void rebucket(final Entry entry) {
+        GameObject obj = entry.obj;
+        // Gli oggetti cambiano bucket solo quando attraversano il bordo di una cella
+        if (entry.firstCol == columnOf(obj.getX())
+            && entry.lastCol == columnOf(obj.getX() + Math.max(obj.getWidth(), 1) - 1)
+            && entry.firstRow == firstRowOf(obj)
+            && entry.lastRow == lastRowOf(obj)) {
+            return;
+        }
+        removeFromBuckets(entry);
+        computeBounds(entry);
+        addToBuckets(entry);
+    }
+
+    private void addToBuckets(final Entry entry) {
+        for (int row = entry.firstRow; row <= entry.lastRow; row++) {
+            int slot = claimSlot(row);
+            for (int col = entry.firstCol; col <= entry.lastCol; col++) {
+                buckets.get(slot * columns + col).add(entry);
+            }
+        }
+    }
+
+    private void removeFromBuckets(final Entry entry) {
+        for (int row = entry.firstRow; row <= entry.lastRow; row++) {
+            int slot = Math.floorMod(row, rowCapacity);
+            if (rowIds[slot] != row) {
+                continue;
+            }
+            for (int col = entry.firstCol; col <= entry.lastCol; col++) {
+                buckets.get(slot * columns + col).remove(entry);
+            }
+        }
+    }
+
+    /**
+     * Gets the slot of a row, recycling it if it still holds an older row.
+     * Objects left in a recycled row are out of the window and are dropped.
+     *
+     * @param row Absolute row index
+     * @return Slot of the row
+     */
+    private int claimSlot(final int row) {
+        int slot = Math.floorMod(row, rowCapacity);
+        if (rowIds[slot] != row) {
+            if (rowIds[slot] != NO_ROW) {
+                List<Entry> stale = new ArrayList<>();
+                for (int col = 0; col < columns; col++) {
+                    stale.addAll(buckets.get(slot * columns + col));
+                }
+                for (Entry entry : stale) {
+                    remove(entry.obj);
+                }
+            }
+            rowIds[slot] = row;
+        }
+        return slot;
+    }
+
+    /**
+     * Bookkeeping for an indexed object: the grid range it was stored in.
+     */
+    private static final class Entry {
+
+        private final GameObject obj;
+        private final boolean movable;
+        private int firstCol;
+        private int lastCol;
+        private int firstRow;
+        private int lastRow;
+        private int stamp;
+        // Posizione nella lista dei movibili, se l'oggetto si muove
+        private int movableIndex;
+
+        Entry(final GameObject obj) {
+            this.obj = obj;
+            this.movable = obj.isMovable();
+        }
+    }
+}
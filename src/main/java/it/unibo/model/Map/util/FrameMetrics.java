@@ -0,0 +1,108 @@
+package it.unibo.model.Map.util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registry of the time spent in each phase of a frame.
+ * Phases are timed by taking {@link System#nanoTime()} before the work and
+ * passing it to {@link #record(Phase, long)} after it; each phase has its own
+ * {@link LatencyHistogram}, so recording never allocates and percentiles can
+ * be queried at any time while the game runs.
+ */
+public final class FrameMetrics {
+
+    /**
+     * Phases of a frame that are timed separately.
+     */
+    public enum Phase {
+        /** Whole simulation step, as run by the game loop. */
+        TICK,
+        /** Movement and cleanup of the moving obstacles. */
+        OBSTACLE_UPDATE,
+        /** Scrolling of the map and update of its objects. */
+        MAP_UPDATE,
+        /** Time the simulation waits for, or spends building, a new chunk. */
+        CHUNK_GENERATION,
+        /** Collision and pickup queries. */
+        COLLISION,
+        /** Drawing of the map and of the obstacles. */
+        RENDER
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final LatencyHistogram[] HISTOGRAMS = new LatencyHistogram[PHASES.length];
+    private static volatile boolean enabled = true;
+
+    static {
+        for (int i = 0; i < HISTOGRAMS.length; i++) {
+            HISTOGRAMS[i] = new LatencyHistogram();
+        }
+    }
+
+    private FrameMetrics() {
+    }
+
+    /**
+     * Records the time elapsed since the start of a phase.
+     *
+     * @param phase Phase that just ended
+     * @param startNanos Value of {@link System#nanoTime()} when the phase started
+     */
+    public static void record(final Phase phase, final long startNanos) {
+        if (enabled) {
+            HISTOGRAMS[phase.ordinal()].record(System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Gets the histogram of a phase.
+     *
+     * @param phase Phase to query
+     * @return Histogram of the durations of the phase, in nanoseconds
+     */
+    public static LatencyHistogram get(final Phase phase) {
+        return HISTOGRAMS[phase.ordinal()];
+    }
+
+    /**
+     * Turns recording on or off. Timings are still taken by the callers,
+     * but are not stored.
+     *
+     * @param on True to record the timings
+     */
+    public static void setEnabled(final boolean on) {
+        enabled = on;
+    }
+
+    /**
+     * Removes every recorded timing.
+     */
+    public static void reset() {
+        for (LatencyHistogram histogram : HISTOGRAMS) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * Builds a table with count, p50, p99 and max of every phase that was recorded.
+     *
+     * @return Human readable summary, in microseconds
+     */
+    public static String report() {
+        StringBuilder sb = new StringBuilder(String.format("%-17s %10s %10s %10s %10s%n",
+            "phase", "count", "p50 us", "p99 us", "max us"));
+        for (Phase phase : PHASES) {
+            LatencyHistogram histogram = get(phase);
+            if (histogram.getCount() > 0) {
+                sb.append(String.format("%-17s %10d %10.1f %10.1f %10.1f%n", phase, histogram.getCount(),
+                    micros(histogram.getPercentile(0.5)), micros(histogram.getPercentile(0.99)),
+                    micros(histogram.getMax())));
+            }
+        }
+        return sb.toString();
+    }
+
+    private static double micros(final long nanos) {
+        return nanos / (double) TimeUnit.MICROSECONDS.toNanos(1);
+    }
+}
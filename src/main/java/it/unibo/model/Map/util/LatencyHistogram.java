@@ -0,0 +1,147 @@
+package it.unibo.model.Map.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of durations with logarithmic buckets.
+ * Every power of two is split in {@value #SUB_BUCKETS} buckets, so any
+ * recorded value is reported with a relative error below 1/{@value #SUB_BUCKETS}
+ * while the whole range of a long fits in a few hundred counters.
+ * Recording does not allocate and can be done from several threads;
+ * queries read the counters without stopping the writers.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts;
+    private final AtomicLong count;
+    private final AtomicLong total;
+    private final AtomicLong max;
+
+    /**
+     * Constructor for the LatencyHistogram class.
+     */
+    public LatencyHistogram() {
+        this.counts = new AtomicLongArray(BUCKETS);
+        this.count = new AtomicLong();
+        this.total = new AtomicLong();
+        this.max = new AtomicLong();
+    }
+
+    /**
+     * Records a duration. Negative values are recorded as zero.
+     *
+     * @param value Duration, usually in nanoseconds
+     */
+    public void record(final long value) {
+        long v = Math.max(0, value);
+        counts.incrementAndGet(bucketOf(v));
+        count.incrementAndGet();
+        total.addAndGet(v);
+        long previous = max.get();
+        while (v > previous && !max.compareAndSet(previous, v)) {
+            previous = max.get();
+        }
+    }
+
+    /**
+     * Gets the value below which a fraction of the recorded values fall.
+     * The result is the upper edge of the bucket holding that value, never above the maximum.
+     *
+     * @param fraction Fraction of the values, in [0, 1] (0.99 for the 99th percentile)
+     * @return The percentile, or 0 if nothing was recorded
+     */
+    public long getPercentile(final double fraction) {
+        long recorded = count.get();
+        if (recorded == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(Math.max(fraction, 0), 1) * recorded));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts.get(bucket);
+            if (seen >= rank) {
+                return Math.min(highestValueIn(bucket), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * Gets the number of recorded values.
+     *
+     * @return Number of values
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Gets the largest recorded value.
+     *
+     * @return Maximum value, or 0 if nothing was recorded
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Gets the average of the recorded values.
+     *
+     * @return Mean value, or 0 if nothing was recorded
+     */
+    public double getMean() {
+        long recorded = count.get();
+        return recorded == 0 ? 0 : (double) total.get() / recorded;
+    }
+
+    /**
+     * Removes every recorded value.
+     */
+    public void reset() {
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            counts.set(bucket, 0);
+        }
+        count.set(0);
+        total.set(0);
+        max.set(0);
+    }
+
+    /**
+     * Gets the bucket of a value: values below {@value #SUB_BUCKETS} have their own
+     * bucket, the others are grouped by their highest bits.
+     *
+     * @param value Non negative value
+     * @return Index of the bucket
+     */
+    static int bucketOf(final long value) {
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value | 1);
+        if (exponent < SUB_BITS) {
+            return (int) value;
+        }
+        int shift = exponent - SUB_BITS;
+        int sub = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return ((shift + 1) << SUB_BITS) + sub;
+    }
+
+    /**
+     * Gets the largest value that falls in a bucket.
+     *
+     * @param bucket Index of the bucket
+     * @return Upper edge of the bucket, inclusive
+     */
+    static long highestValueIn(final int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket >> SUB_BITS) - 1;
+        long sub = bucket & (SUB_BUCKETS - 1);
+        long next = (SUB_BUCKETS + sub + 1) << shift;
+        // L'ultimo bucket arriva fino a Long.MAX_VALUE
+        return next <= 0 ? Long.MAX_VALUE : next - 1;
+    }
+}
@@ -0,0 +1,84 @@
+package it.unibo.model.Map.util;
+
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of reusable objects.
+ * Released objects are kept on a stack and handed out again before any new
+ * object is built; the caller is responsible for reinitializing them.
+ * The pool is thread-safe, so objects can be released on one thread and
+ * acquired on another.
+ *
+ * @param <T> Type of the pooled objects
+ */
+public final class ObjectPool<T> {
+
+    private final Supplier<T> factory;
+    private final Object[] free;
+    private int freeCount;
+    private long createdCount;
+
+    /**
+     * Constructor for the ObjectPool class.
+     *
+     * @param factory Builds a new object when the pool is empty
+     * @param capacity Maximum number of released objects kept, 0 to never reuse objects
+     */
+    public ObjectPool(final Supplier<T> factory, final int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative: " + capacity);
+        }
+        this.factory = factory;
+        this.free = new Object[capacity];
+        this.freeCount = 0;
+        this.createdCount = 0;
+    }
+
+    /**
+     * Takes an object from the pool, building a new one if the pool is empty.
+     *
+     * @return A released object, or a new one
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized T acquire() {
+        if (freeCount > 0) {
+            T obj = (T) free[--freeCount];
+            free[freeCount] = null;
+            return obj;
+        }
+        createdCount++;
+        return factory.get();
+    }
+
+    /**
+     * Returns an object to the pool. The object must not be used afterwards.
+     *
+     * @param obj Object to release
+     * @return True if the object was kept, false if the pool was full
+     */
+    public synchronized boolean release(final T obj) {
+        if (freeCount == free.length) {
+            return false;
+        }
+        free[freeCount++] = obj;
+        return true;
+    }
+
+    /**
+     * Gets the number of objects built by the pool since its creation.
+     *
+     * @return Count of allocations
+     */
+    public synchronized long getCreatedCount() {
+        return createdCount;
+    }
+
+    /**
+     * Gets the number of released objects waiting to be reused.
+     *
+     * @return Count of free objects
+     */
+    public synchronized int getFreeCount() {
+        return freeCount;
+    }
+}
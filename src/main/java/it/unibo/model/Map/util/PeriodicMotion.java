@@ -0,0 +1,183 @@
+package it.unibo.model.Map.util;
+
+/**
+ * Closed-form horizontal motion of an object that wraps around the map.
+ * The motion is described by a starting position x0 at tick t0, a speed in
+ * pixels per tick and a period: the object covers every position from
+ * {@code -width} to {@code mapWidth}, then reappears on the other side.
+ * Since the position is a function of the tick, an object can be moved to
+ * any tick at constant cost, and its future can be queried without simulating it.
+ */
+public final class PeriodicMotion {
+
+    private static final long NEVER = -1;
+
+    private int x0;
+    private int speed;
+    private long t0;
+    private long tick;
+    // Il moto viene ancorato al primo tick in cui l'oggetto viene aggiornato
+    private boolean anchored;
+    private int minX;
+    private int period;
+
+    /**
+     * Constructor for the PeriodicMotion class.
+     *
+     * @param x Starting X-coordinate
+     * @param speed Speed in pixels per tick
+     */
+    public PeriodicMotion(final int x, final int speed) {
+        reset(x, speed);
+    }
+
+    /**
+     * Restarts the motion from a position; it will be anchored to the next tick it is advanced to.
+     *
+     * @param x Starting X-coordinate
+     * @param speed Speed in pixels per tick
+     */
+    public void reset(final int x, final int speed) {
+        this.x0 = x;
+        this.speed = speed;
+        this.t0 = 0;
+        this.tick = 0;
+        this.anchored = false;
+        this.period = 0;
+    }
+
+    /**
+     * Restarts the motion from a position at the current tick, keeping the anchoring.
+     * Used when the speed or the position of the object change.
+     *
+     * @param x X-coordinate at the current tick
+     * @param speed New speed in pixels per tick
+     */
+    public void rebase(final int x, final int speed) {
+        this.x0 = x;
+        this.speed = speed;
+        this.t0 = tick;
+    }
+
+    /**
+     * Moves to the given tick.
+     * The first call anchors the motion so that the object is one step past x0.
+     *
+     * @param newTick Tick to move to
+     * @param width Width of the object
+     * @param mapWidth Width of the map for wrapping
+     * @return X-coordinate at the given tick
+     */
+    public int advanceTo(final long newTick, final int width, final int mapWidth) {
+        this.minX = -width;
+        this.period = mapWidth + width + 1;
+        if (!anchored) {
+            anchored = true;
+            t0 = newTick - 1;
+        }
+        tick = newTick;
+        return positionAt(newTick);
+    }
+
+    /**
+     * Gets the X-coordinate at a tick.
+     *
+     * @param at Tick, past or future
+     * @return X-coordinate at that tick
+     */
+    public int positionAt(final long at) {
+        if (period == 0) {
+            return x0;
+        }
+        return minX + (int) Math.floorMod(phase0() + speed * (at - t0), (long) period);
+    }
+
+    /**
+     * Finds the first tick, not before fromTick, at which the object covers a column.
+     *
+     * @param fromTick First tick to consider
+     * @param x X-coordinate of the column
+     * @param width Width of the object
+     * @return The tick, or -1 if the object never reaches the column
+     */
+    public long nextTickCovering(final long fromTick, final int x, final int width) {
+        if (period == 0) {
+            return (x0 <= x && x < x0 + width) ? fromTick : NEVER;
+        }
+        // Copre la colonna quando la posizione è in [x - width + 1, x], limitato alle posizioni possibili
+        int first = Math.max(x - width + 1, minX);
+        int last = Math.min(x, minX + period - 1);
+        return first > last ? NEVER : firstTickInRange(fromTick, first - minX, last - first + 1);
+    }
+
+    /**
+     * Finds the first tick, not before fromTick, at which the object does not overlap a span.
+     *
+     * @param fromTick First tick to consider
+     * @param fromX Left edge of the span, inclusive
+     * @param toX Right edge of the span, exclusive
+     * @param width Width of the object
+     * @return The tick, or -1 if the span is never free
+     */
+    public long nextTickClearOf(final long fromTick, final int fromX, final int toX, final int width) {
+        if (period == 0) {
+            return (x0 + width <= fromX || x0 >= toX) ? fromTick : NEVER;
+        }
+        // Occupato quando la posizione è in [fromX - width + 1, toX - 1]: libero nel resto del giro
+        int first = Math.max(fromX - width + 1, minX);
+        int last = Math.min(toX - 1, minX + period - 1);
+        if (first > last) {
+            return fromTick;
+        }
+        return firstTickInRange(fromTick, last + 1 - minX, period - (last - first + 1));
+    }
+
+    /**
+     * Gets the tick the motion was last advanced to.
+     *
+     * @return Current tick
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    private long phase0() {
+        return (long) x0 - minX;
+    }
+
+    /**
+     * Finds the first tick at which the phase falls in the cyclic range [start, start + length).
+     *
+     * @param fromTick First tick to consider
+     * @param start Start of the range, as a phase
+     * @param length Length of the range
+     * @return The tick, or -1 if the phase never falls in the range
+     */
+    private long firstTickInRange(final long fromTick, final long start, final int length) {
+        if (period == 0) {
+            return NEVER;
+        }
+        if (length >= period) {
+            return fromTick;
+        }
+        if (length <= 0) {
+            return NEVER;
+        }
+        long at = fromTick;
+        // Ogni iterazione salta direttamente al primo tick utile del giro successivo
+        for (int lap = 0; lap <= period; lap++) {
+            long phase = Math.floorMod(phase0() + speed * (at - t0), (long) period);
+            if (Math.floorMod(phase - start, (long) period) < length) {
+                return at;
+            }
+            if (speed == 0) {
+                return NEVER;
+            }
+            long distance = speed > 0
+                ? Math.floorMod(start - phase, (long) period)
+                : Math.floorMod(phase - (start + length - 1), (long) period);
+            at += Math.max(1, (distance + Math.abs(speed) - 1) / Math.abs(speed));
+        }
+        return NEVER;
+    }
+}
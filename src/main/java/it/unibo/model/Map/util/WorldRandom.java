@@ -0,0 +1,67 @@
+package it.unibo.model.Map.util;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Deterministic random generator for world generation, based on the SplitMix64
+ * algorithm used by {@link java.util.SplittableRandom}.
+ * The generator can be moved to the stream of any chunk, derived only from the
+ * world seed and the chunk index: the same chunk is therefore rebuilt identically
+ * regardless of the order in which chunks are generated.
+ */
+public final class WorldRandom implements RandomGenerator {
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final long seed;
+    private long state;
+
+    /**
+     * Constructor for the WorldRandom class.
+     * 
+     * @param seed Seed of the world
+     */
+    public WorldRandom(final long seed) {
+        this.seed = seed;
+        this.state = mix64(seed);
+    }
+
+    /**
+     * Moves the generator to the stream of a chunk.
+     * Different streams of the same chunk are independent of each other.
+     * 
+     * @param chunkIndex Index of the chunk
+     * @param stream Index of the stream within the chunk
+     */
+    public void reseed(final long chunkIndex, final long stream) {
+        state = mix64(seed + mix64(chunkIndex * GOLDEN_GAMMA + stream));
+    }
+
+    /**
+     * Gets the seed of the world.
+     * 
+     * @return World seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    @Override
+    public long nextLong() {
+        state += GOLDEN_GAMMA;
+        return mix64(state);
+    }
+
+    /**
+     * Scrambles the bits of a value (variant 13 of the MurmurHash3 finalizer).
+     * 
+     * @param value Value to scramble
+     * @return Scrambled value
+     */
+    private static long mix64(final long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
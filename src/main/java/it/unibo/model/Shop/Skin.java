@@ -1,15 +1,21 @@
 package it.unibo.model.Shop;
 
 import java.awt.image.BufferedImage;
+import java.util.concurrent.CompletableFuture;
 
 public class Skin {
     private final String id;
     private final String name;
     private final int price;
-    private final BufferedImage image;
+    private final CompletableFuture<BufferedImage> image;
     private boolean unlocked;
 
     public Skin(String id, String name, int price, BufferedImage image, boolean unlocked) {
+        this(id, name, price, CompletableFuture.completedFuture(image), unlocked);
+    }
+
+    // L'immagine può essere ancora in caricamento: getImage restituisce null finché non è pronta
+    public Skin(String id, String name, int price, CompletableFuture<BufferedImage> image, boolean unlocked) {
         this.id = id;
         this.name = name;
         this.price = price;
@@ -21,7 +27,7 @@ public class Skin {
     public String getId() { return id; }
     public String getName() { return name; }
     public int getPrice() { return price; }
-    public BufferedImage getImage() { return image; }
+    public BufferedImage getImage() { return image.isCompletedExceptionally() ? null : image.getNow(null); }
     public boolean isUnlocked() { return unlocked; }
     
     // Setter
@@ -1,15 +1,12 @@
 package it.unibo.model.Shop;
 
-import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.prefs.Preferences;
 
-import javax.imageio.ImageIO;
+import it.unibo.view.AssetManager;
 
 public class SkinManager {
     private final List<Skin> availableSkins = new ArrayList<>();
@@ -24,25 +21,20 @@ public class SkinManager {
     }
     
     private void loadSkins() {
-        try {
-            // Carica la skin predefinita (sempre sbloccata)
-            BufferedImage defaultImage = ImageIO.read(new File("path/to/default_skin.png"));
-            Skin defaultSkin = new Skin("default", "Default", 0, defaultImage, true);
-            availableSkins.add(defaultSkin);
-            skinMap.put(defaultSkin.getId(), defaultSkin);
-            currentSkin = defaultSkin;
-            
-            // Carica altre skin
-            BufferedImage frogImage = ImageIO.read(new File("path/to/frog_skin.png"));
-            Skin frogSkin = new Skin("frog", "Frog", 100, frogImage, false);
-            availableSkins.add(frogSkin);
-            skinMap.put(frogSkin.getId(), frogSkin);
-            
-            // Aggiungi altre skin qui...
-            
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        AssetManager assets = AssetManager.getDefault();
+        
+        // Carica la skin predefinita (sempre sbloccata)
+        Skin defaultSkin = new Skin("default", "Default", 0, assets.load("skins/default_skin.png"), true);
+        availableSkins.add(defaultSkin);
+        skinMap.put(defaultSkin.getId(), defaultSkin);
+        currentSkin = defaultSkin;
+        
+        // Carica altre skin
+        Skin frogSkin = new Skin("frog", "Frog", 100, assets.load("skins/frog_skin.png"), false);
+        availableSkins.add(frogSkin);
+        skinMap.put(frogSkin.getId(), frogSkin);
+        
+        // Aggiungi altre skin qui...
     }
     
     private void loadUnlockedStatus() {
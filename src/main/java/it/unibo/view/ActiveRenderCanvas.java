@@ -0,0 +1,113 @@
+package it.unibo.view;
+
+import java.awt.Canvas;
+import java.awt.Graphics2D;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+import java.util.function.Consumer;
+
+/**
+ * Canvas drawn by the game loop instead of by the Swing repaint manager.
+ * Each call to {@link #renderFrame()} draws a whole frame into the back
+ * buffer of a {@link BufferStrategy} and shows it right away, so frames are
+ * neither coalesced nor delayed by the event dispatch thread.
+ * The strategy uses page flipping when the display supports it and falls
+ * back to blitting otherwise.
+ */
+public class ActiveRenderCanvas extends Canvas {
+
+    private static final int BUFFER_COUNT = 2;
+
+    private final Consumer<Graphics2D> painter;
+    private BufferStrategy strategy;
+    private volatile boolean syncEnabled;
+
+    /**
+     * Constructor for the ActiveRenderCanvas class.
+     *
+     * @param painter Draws a frame on the graphics it receives
+     */
+    public ActiveRenderCanvas(final Consumer<Graphics2D> painter) {
+        this.painter = painter;
+        this.syncEnabled = true;
+        // I frame li disegna il game loop, non il repaint manager
+        setIgnoreRepaint(true);
+    }
+
+    /**
+     * Draws and shows a frame. Must not be called by more than one thread at a time.
+     *
+     * @return False if the canvas is not on screen and nothing was drawn
+     */
+    public boolean renderFrame() {
+        if (!isShowing() || getWidth() <= 0 || getHeight() <= 0) {
+            return false;
+        }
+        BufferStrategy bs = getStrategy();
+        if (bs == null) {
+            return false;
+        }
+        // Ripete il frame se il contenuto del buffer è andato perso nel frattempo
+        do {
+            do {
+                Graphics2D g = (Graphics2D) bs.getDrawGraphics();
+                try {
+                    g.setColor(getBackground());
+                    g.fillRect(0, 0, getWidth(), getHeight());
+                    painter.accept(g);
+                } finally {
+                    g.dispose();
+                }
+            } while (bs.contentsRestored());
+            bs.show();
+        } while (bs.contentsLost());
+        if (syncEnabled) {
+            // Sui sistemi con coda di rendering (X11) il frame viene inviato subito
+            Toolkit.getDefaultToolkit().sync();
+        }
+        return true;
+    }
+
+    /**
+     * Sets whether the display is synchronized after each frame.
+     *
+     * @param syncEnabled True to call {@link Toolkit#sync()} after showing a frame
+     */
+    public void setSyncEnabled(final boolean syncEnabled) {
+        this.syncEnabled = syncEnabled;
+    }
+
+    /**
+     * Checks if frames are shown by flipping pages rather than copying the back buffer.
+     *
+     * @return True if page flipping is in use
+     */
+    public boolean isPageFlipping() {
+        BufferStrategy bs = getStrategy();
+        return bs != null && bs.getCapabilities().isPageFlipping();
+    }
+
+    private synchronized BufferStrategy getStrategy() {
+        if (strategy == null && isDisplayable()) {
+            try {
+                // Prova il page flipping, poi il blit accelerato, poi quello in memoria
+                createBufferStrategy(BUFFER_COUNT);
+                strategy = getBufferStrategy();
+            } catch (IllegalStateException e) {
+                return null;
+            }
+        }
+        return strategy;
+    }
+
+    @Override
+    public void removeNotify() {
+        synchronized (this) {
+            if (strategy != null) {
+                strategy.dispose();
+                strategy = null;
+            }
+        }
+        super.removeNotify();
+    }
+}
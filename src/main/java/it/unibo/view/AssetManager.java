@@ -0,0 +1,124 @@
+package it.unibo.view;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Loads images from the classpath on a pool of worker threads.
+ * Every image is decoded once: asking again for the same path returns the
+ * same future. Views request their images when they are created and pick
+ * them up when the futures are done, so no screen waits for a decode, and
+ * {@link #preload(String...)} lets the decoding start before the views exist.
+ * Images that cannot be read complete with null and are logged.
+ */
+public final class AssetManager {
+
+    private static final Logger LOGGER = Logger.getLogger(AssetManager.class.getName());
+    private static final int MAX_THREADS = 4;
+    private static final AssetManager DEFAULT = new AssetManager(
+        Math.min(MAX_THREADS, Runtime.getRuntime().availableProcessors()));
+
+    static {
+        // Decodifica direttamente dallo stream, senza file temporanei
+        ImageIO.setUseCache(false);
+    }
+
+    private final ExecutorService workers;
+    private final Map<String, CompletableFuture<BufferedImage>> images = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for the AssetManager class.
+     *
+     * @param threads Number of worker threads
+     */
+    public AssetManager(final int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive: " + threads);
+        }
+        AtomicInteger count = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "asset-loader-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Gets the loader shared by the whole game.
+     *
+     * @return The shared loader
+     */
+    public static AssetManager getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Starts loading an image, unless it was already requested.
+     *
+     * @param path Path of the image on the classpath, with or without the leading slash
+     * @return Future completed with the image, in the display format, or with null if it cannot be read
+     */
+    public CompletableFuture<BufferedImage> load(final String path) {
+        String name = path.startsWith("/") ? path.substring(1) : path;
+        return images.computeIfAbsent(name, key -> CompletableFuture.supplyAsync(() -> decode(key), workers));
+    }
+
+    /**
+     * Starts loading a set of images without waiting for them.
+     *
+     * @param paths Paths of the images on the classpath
+     */
+    public void preload(final String... paths) {
+        for (String path : paths) {
+            load(path);
+        }
+    }
+
+    /**
+     * Gets an image if it has already been decoded.
+     *
+     * @param path Path of the image on the classpath
+     * @return The image, or null if it is not ready or cannot be read
+     */
+    public BufferedImage getIfReady(final String path) {
+        return load(path).getNow(null);
+    }
+
+    /**
+     * Stops the worker threads. Images not yet decoded complete exceptionally.
+     */
+    public void shutdown() {
+        workers.shutdownNow();
+        images.values().forEach(future -> future.cancel(false));
+    }
+
+    private static BufferedImage decode(final String name) {
+        try (InputStream in = AssetManager.class.getClassLoader().getResourceAsStream(name)) {
+            if (in == null) {
+                LOGGER.warning("Image not found on the classpath: " + name);
+                return null;
+            }
+            BufferedImage image = ImageIO.read(in);
+            if (image == null) {
+                LOGGER.warning("Unsupported image format: " + name);
+                return null;
+            }
+            // Anche la conversione nel formato del display avviene fuori dal thread di rendering
+            return CompatibleImages.normalize(image);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to load image " + name, e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package it.unibo.view;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsDevice;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.util.Map;
+
+/**
+ * Converts loaded images to the format of the display they are drawn on.
+ * Images read by ImageIO usually have custom or indexed types that Java2D
+ * converts on every drawImage; a copy created by the current
+ * {@link GraphicsConfiguration} with the same transparency is drawn directly
+ * and can be cached by Java2D as a managed image.
+ * When the images are drawn on a different configuration (the window moved
+ * to another screen, or the display mode changed) the generation counter is
+ * increased, telling the holders to convert their images again.
+ */
+public final class CompatibleImages {
+
+    private static GraphicsConfiguration configuration = defaultConfiguration();
+    private static int generation;
+
+    private CompatibleImages() {
+    }
+
+    private static GraphicsConfiguration defaultConfiguration() {
+        if (GraphicsEnvironment.isHeadless()) {
+            return null;
+        }
+        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+    }
+
+    /**
+     * Records the configuration images are being drawn on.
+     * Offscreen buffers are ignored, so rendering to them does not trigger a conversion.
+     *
+     * @param drawingConfiguration Configuration of the Graphics being drawn on
+     * @return True if it differs from the previous one and images must be converted again
+     */
+    public static synchronized boolean updateConfiguration(final GraphicsConfiguration drawingConfiguration) {
+        if (drawingConfiguration == null || drawingConfiguration == configuration
+            || drawingConfiguration.getDevice().getType() == GraphicsDevice.TYPE_IMAGE_BUFFER) {
+            return false;
+        }
+        configuration = drawingConfiguration;
+        generation++;
+        return true;
+    }
+
+    /**
+     * Gets a counter increased every time the display configuration changes.
+     * Holders of converted images compare it with the value they had when
+     * converting, and convert again when it differs.
+     *
+     * @return Current generation
+     */
+    public static synchronized int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Creates an empty image in the display format.
+     *
+     * @param width Width of the image
+     * @param height Height of the image
+     * @param transparency One of the {@link Transparency} constants
+     * @return The new image
+     */
+    public static BufferedImage createImage(final int width, final int height, final int transparency) {
+        GraphicsConfiguration gc = getConfiguration();
+        if (gc != null) {
+            return gc.createCompatibleImage(width, height, transparency);
+        }
+        return new BufferedImage(width, height,
+            transparency == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+    }
+
+    /**
+     * Creates an opaque image in video memory, if there is a display.
+     * Its contents can be lost at any time, so it only suits images that are
+     * drawn again every frame.
+     *
+     * @param width Width of the image
+     * @param height Height of the image
+     * @return The new image, or null when running headless
+     */
+    public static VolatileImage createVolatileImage(final int width, final int height) {
+        GraphicsConfiguration gc = getConfiguration();
+        return gc == null ? null : gc.createCompatibleVolatileImage(width, height, Transparency.OPAQUE);
+    }
+
+    /**
+     * Checks if a volatile image can still be drawn on the current display,
+     * restoring its surface if it was lost.
+     *
+     * @param image Image to check
+     * @return False if the image must be created again
+     */
+    public static boolean validate(final VolatileImage image) {
+        GraphicsConfiguration gc = getConfiguration();
+        return gc != null && image.validate(gc) != VolatileImage.IMAGE_INCOMPATIBLE;
+    }
+
+    /**
+     * Gets a copy of an image in the display format, keeping its transparency.
+     * Images that already are in that format are returned as they are.
+     *
+     * @param image Image to convert, may be null
+     * @return The converted image, or null if image is null
+     */
+    public static BufferedImage normalize(final BufferedImage image) {
+        if (image == null) {
+            return null;
+        }
+        int transparency = image.getTransparency();
+        GraphicsConfiguration gc = getConfiguration();
+        if (isCompatible(image, gc, transparency)) {
+            return image;
+        }
+        BufferedImage result = createImage(image.getWidth(), image.getHeight(), transparency);
+        Graphics2D g = result.createGraphics();
+        try {
+            // Copia i pixel così come sono, alpha compreso
+            g.setComposite(AlphaComposite.Src);
+            g.drawImage(image, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return result;
+    }
+
+    /**
+     * Converts every image of a map in place.
+     *
+     * @param <K> Type of the keys
+     * @param images Images to convert
+     */
+    public static <K> void normalizeAll(final Map<K, BufferedImage> images) {
+        images.replaceAll((key, image) -> normalize(image));
+    }
+
+    private static synchronized GraphicsConfiguration getConfiguration() {
+        return configuration;
+    }
+
+    private static boolean isCompatible(final BufferedImage image, final GraphicsConfiguration gc, final int transparency) {
+        if (gc == null) {
+            return image.getType() == (transparency == Transparency.OPAQUE
+                ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        }
+        return image.getColorModel().equals(gc.getColorModel(transparency));
+    }
+}
@@ -7,9 +7,12 @@ import java.awt.Component;
 import java.awt.Dimension;
 import java.awt.FlowLayout;
 import java.awt.Font;
+import java.awt.Graphics;
 import java.awt.GridBagLayout;
 import java.awt.GridLayout;
 import java.awt.Toolkit;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
 
 import javax.swing.JButton;
 import javax.swing.JFrame;
@@ -19,9 +22,9 @@ import javax.swing.JPanel;
 import javax.swing.SwingConstants;
 import javax.swing.SwingUtilities;
 
-import it.unibo.controller.MovingObstacleController;
 import it.unibo.view.Map.api.MapView;
 import it.unibo.view.Map.impl.MapViewImpl;
+import it.unibo.view.Menu.impl.MenuViewImpl;
 
 public class GameView extends JFrame {
     private JPanel mainPanel;
@@ -33,7 +36,24 @@ public class GameView extends JFrame {
     private MapView mapView;
     private CardLayout cardLayout;
     
+    // Superficie su cui viene disegnata la mappa: canvas attivo o pannello Swing
+    private final boolean activeRendering;
+    private ActiveRenderCanvas gameCanvas;
+    private Component mapSurface;
+    
     public GameView() {
+        this(true);
+    }
+    
+    /**
+     * Creates the main window.
+     * 
+     * @param activeRendering True to draw the map from the game loop on a
+     *                        {@link ActiveRenderCanvas}, false to use Swing repaints
+     */
+    public GameView(boolean activeRendering) {
+        this.activeRendering = activeRendering;
+        
         // Get screen dimensions
         Dimension screenSize = Toolkit.getDefaultToolkit().getScreenSize();
         int screenWidth = (int) screenSize.getWidth();
@@ -124,13 +144,44 @@ public class GameView extends JFrame {
         
         // Create map view with screen-adaptive size
         mapView = new MapViewImpl();
+        mapSurface = createMapSurface();
         
         gameScreen.add(scorePanel, BorderLayout.NORTH);
-        gameScreen.add((Component) mapView, BorderLayout.CENTER);
+        gameScreen.add(mapSurface, BorderLayout.CENTER);
         
         return gameScreen;
     }
     
+    private Component createMapSurface() {
+        Component surface;
+        if (activeRendering) {
+            gameCanvas = new ActiveRenderCanvas(mapView::render);
+            gameCanvas.setBackground(Color.BLACK);
+            surface = gameCanvas;
+        } else {
+            // Percorso Swing: la mappa viene disegnata quando il repaint manager lo decide
+            JPanel mapPanel = new JPanel() {
+                @Override
+                protected void paintComponent(Graphics g) {
+                    super.paintComponent(g);
+                    mapView.render(g);
+                }
+            };
+            mapPanel.setBackground(Color.BLACK);
+            surface = mapPanel;
+        }
+        // La mappa si adatta alle dimensioni della superficie
+        surface.addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                if (mapView instanceof MapViewImpl mapViewImpl) {
+                    mapViewImpl.updateDimensions(e.getComponent().getWidth(), e.getComponent().getHeight());
+                }
+            }
+        });
+        return surface;
+    }
+    
     private JPanel createAdaptiveGameOverScreen(int screenWidth, int screenHeight) {
         JPanel gameOverPanel = new JPanel(new BorderLayout());
         gameOverPanel.setBackground(Color.BLACK);
@@ -188,10 +239,16 @@ public class GameView extends JFrame {
         return button;
     }
 
-    public void setMovingObstacleController(MovingObstacleController controller) {
-        if (mapView instanceof MapViewImpl mapViewImpl) {
-            mapViewImpl.setObstacleController(controller);
+    /**
+     * Draws a frame of the map. With active rendering the frame is drawn and
+     * shown immediately on the calling thread; otherwise, or while the canvas
+     * is not on screen, a Swing repaint is requested.
+     */
+    public void renderFrame() {
+        if (gameCanvas != null && gameCanvas.renderFrame()) {
+            return;
         }
+        mapSurface.repaint();
     }
     
     // Public methods for game state management
@@ -244,6 +301,9 @@ public class GameView extends JFrame {
     
     // Main method for testing
     public static void main(String[] args) {
+        // Le immagini si decodificano mentre viene costruita la finestra
+        AssetManager.getDefault().preload(MapViewImpl.IMAGES);
+        AssetManager.getDefault().preload(MenuViewImpl.IMAGES);
         SwingUtilities.invokeLater(() -> {
             GameView gameView = new GameView();
             gameView.setVisible(true);
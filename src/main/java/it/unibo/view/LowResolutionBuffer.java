@@ -0,0 +1,110 @@
+package it.unibo.view;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.VolatileImage;
+
+/**
+ * Offscreen image at the logical resolution of the game.
+ * A scene is drawn into it without any scaling and then stretched to the
+ * output size with a single drawImage, so the cost of drawing the scene does
+ * not depend on the resolution of the screen.
+ * When there is a display the buffer lives in video memory, where the
+ * stretch is done by the graphics pipeline; it is redrawn every frame, so
+ * losing its contents costs nothing.
+ */
+public class LowResolutionBuffer {
+
+    /**
+     * Filter used to stretch the buffer to the output size.
+     */
+    public enum Filter {
+        /** Sharp pixels, the cheapest. */
+        NEAREST(RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR),
+        /** Smooth pixels. */
+        BILINEAR(RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+
+        private final Object hint;
+
+        Filter(final Object hint) {
+            this.hint = hint;
+        }
+    }
+
+    private final int width;
+    private final int height;
+    private Image image;
+    private int imageGeneration;
+
+    /**
+     * Constructor for the LowResolutionBuffer class.
+     *
+     * @param width Logical width
+     * @param height Logical height
+     */
+    public LowResolutionBuffer(final int width, final int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Buffer size must be positive: " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Gets a graphics context drawing into the buffer. The caller must dispose it.
+     *
+     * @return Graphics of the buffer
+     */
+    public Graphics2D createGraphics() {
+        if (image == null || imageGeneration != CompatibleImages.getGeneration()
+            || image instanceof VolatileImage volatileImage && !CompatibleImages.validate(volatileImage)) {
+            // Ricreato nel formato del display corrente, in memoria video se possibile
+            imageGeneration = CompatibleImages.getGeneration();
+            image = CompatibleImages.createVolatileImage(width, height);
+            if (image == null) {
+                image = CompatibleImages.createImage(width, height, Transparency.OPAQUE);
+            }
+        }
+        return (Graphics2D) image.getGraphics();
+    }
+
+    /**
+     * Stretches the buffer over an area of the target.
+     *
+     * @param g Graphics to draw on
+     * @param outputWidth Width of the area
+     * @param outputHeight Height of the area
+     * @param filter Filter used to stretch the buffer
+     */
+    public void drawTo(final Graphics2D g, final int outputWidth, final int outputHeight, final Filter filter) {
+        if (image == null) {
+            return;
+        }
+        Object previous = g.getRenderingHint(RenderingHints.KEY_INTERPOLATION);
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, filter.hint);
+        g.drawImage(image, 0, 0, outputWidth, outputHeight, null);
+        if (previous != null) {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, previous);
+        }
+    }
+
+    /**
+     * Gets the logical width of the buffer.
+     *
+     * @return Width in pixels
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the logical height of the buffer.
+     *
+     * @return Height in pixels
+     */
+    public int getHeight() {
+        return height;
+    }
+}
@@ -1,27 +1,32 @@
 package it.unibo.view.Map.impl;
 
+import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
+import java.awt.Transparency;
 import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.logging.Level;
-import java.util.logging.Logger;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
-import javax.imageio.ImageIO;
-
-import it.unibo.controller.MovingObstacleController;
-import it.unibo.model.Map.api.Chunk;
-import it.unibo.model.Map.api.Collectible;
-import it.unibo.model.Map.api.GameObject;
+import it.unibo.model.Map.impl.RenderSnapshot;
+import it.unibo.model.Map.impl.RenderSnapshot.Sprite;
+import it.unibo.model.Map.impl.RenderSnapshotBuffer;
 import it.unibo.model.Map.util.ChunkType;
 import it.unibo.model.Map.util.CollectibleType;
+import it.unibo.model.Map.util.FrameMetrics;
+import it.unibo.model.Map.util.FrameMetrics.Phase;
 import it.unibo.view.Map.api.MapView;
 import it.unibo.view.Obstacles.MovingObstacleViewManager;
+import it.unibo.view.AssetManager;
+import it.unibo.view.CompatibleImages;
+import it.unibo.view.LowResolutionBuffer;
 import it.unibo.view.ScaleManager;
 
 /**
@@ -30,7 +35,6 @@ import it.unibo.view.ScaleManager;
  */
 public class MapViewImpl implements MapView {
     
-    private static final Logger LOGGER = Logger.getLogger(MapViewImpl.class.getName());
     private ScaleManager scaleManager;
     private MovingObstacleViewManager obstacleViewManager; //GIULY
     
@@ -39,8 +43,11 @@ public class MapViewImpl implements MapView {
     private static final int BASE_HEIGHT = 600;
     
     // Viewport information (provided by the controller)
-    private List<Chunk> visibleChunks;
-    private int currentPosition;
+    private RenderSnapshotBuffer snapshots;
+    // Istantanea del frame in corso, letta al posto del modello
+    private RenderSnapshot snapshot;
+    // Scritta dal game loop e letta dall'EDT quando si ridisegna con repaint
+    private volatile double interpolation;
     private int viewportWidth;
     
     // Image resources for different elements
@@ -48,9 +55,30 @@ public class MapViewImpl implements MapView {
     private Map<CollectibleType, BufferedImage> collectibleImages;
     private Map<String, BufferedImage> obstacleImages;
     
-    // Path to image resources
-    private static final String SEP = File.separator;
-    private static final String IMAGE_PATH = "src" + SEP + "main" + SEP + "resources" + SEP;
+    // Sfondi dei chunk già composti alla scala corrente, uno per tipo
+    private final Map<ChunkType, BufferedImage> backgroundStrips = new EnumMap<>(ChunkType.class);
+    // Sfondo dell'ultimo frame, riusato spostandolo di quanto è scorsa la mappa
+    private BufferedImage backgroundBuffer;
+    private boolean backgroundValid;
+    private int backgroundRow;
+    // Rendering alla risoluzione logica, ingrandito una volta sola per frame
+    private final LowResolutionBuffer lowResolutionBuffer = new LowResolutionBuffer(BASE_WIDTH, BASE_HEIGHT);
+    private LowResolutionBuffer.Filter upscaleFilter;
+    private int outputWidth;
+    private int outputHeight;
+    // Generazione del formato del display per cui sono state convertite le immagini
+    private int imagesGeneration;
+    
+    // Immagini richieste all'AssetManager e non ancora arrivate
+    private final List<PendingImage> pendingImages = new ArrayList<>();
+    
+    /**
+     * Images used by the map, on the classpath, so they can be preloaded
+     * before the view is created.
+     */
+    public static final String[] IMAGES = {
+        "road.png", "rails.png", "river.jpg", "grass.png", "coin.png", "invincibility.png", "log.png", "tree.png"
+    };
     
     /**
      * Constructor for the MapView class.
@@ -58,6 +86,9 @@ public class MapViewImpl implements MapView {
     public MapViewImpl() {
         this.scaleManager = new ScaleManager(BASE_WIDTH, BASE_HEIGHT);
         this.viewportWidth = BASE_WIDTH;
+        this.outputWidth = BASE_WIDTH;
+        this.outputHeight = BASE_HEIGHT;
+        this.interpolation = 1; // Senza game loop si disegna l'ultimo stato
 
         // Inizializza il manager degli ostacoli, GIULY
         this.obstacleViewManager = new MovingObstacleViewManager(this.scaleManager);
@@ -67,33 +98,73 @@ public class MapViewImpl implements MapView {
     }
     
     /**
-     * Loads all image resources for map and collectible elements.
+     * Requests all image resources for map and collectible elements.
+     * They are decoded in the background; each one is put in its map by
+     * the first frame rendered after it is ready.
      */
     private void loadImageResources() {
         // Initialize image maps
         chunkImages = new HashMap<>();
         collectibleImages = new HashMap<>();
         obstacleImages = new HashMap<>();
+        imagesGeneration = CompatibleImages.getGeneration();
         
-        try {
-            // Load chunk images
-            chunkImages.put(ChunkType.ROAD, ImageIO.read(new File(IMAGE_PATH + "road.png")));
-            chunkImages.put(ChunkType.RAILWAY, ImageIO.read(new File(IMAGE_PATH + "rails.png")));
-            chunkImages.put(ChunkType.RIVER, ImageIO.read(new File(IMAGE_PATH + "river.png")));
-            chunkImages.put(ChunkType.GRASS, ImageIO.read(new File(IMAGE_PATH + "grass.png")));
-            
-            // Load collectible images
-            collectibleImages.put(CollectibleType.COIN, ImageIO.read(new File(IMAGE_PATH + "coin.png")));
-            collectibleImages.put(CollectibleType.INVINCIBILITY, ImageIO.read(new File(IMAGE_PATH + "invincibility.png")));
-            
-            // Load obstacle images if needed
-            obstacleImages.put("log", ImageIO.read(new File(IMAGE_PATH + "log.png")));
-            obstacleImages.put("tree", ImageIO.read(new File(IMAGE_PATH + "tree.png")));
-            
-        } catch (IOException e) {
-            LOGGER.log(Level.SEVERE, "Failed to load game images: " + e.getMessage(), e);
-            LOGGER.info("Make sure the images are in the resources folder");
+        // Load chunk images
+        requestImage("road.png", image -> chunkImages.put(ChunkType.ROAD, image));
+        requestImage("rails.png", image -> chunkImages.put(ChunkType.RAILWAY, image));
+        requestImage("river.jpg", image -> chunkImages.put(ChunkType.RIVER, image));
+        requestImage("grass.png", image -> chunkImages.put(ChunkType.GRASS, image));
+        
+        // Load collectible images
+        requestImage("coin.png", image -> collectibleImages.put(CollectibleType.COIN, image));
+        requestImage("invincibility.png", image -> collectibleImages.put(CollectibleType.INVINCIBILITY, image));
+        
+        // Load obstacle images if needed
+        requestImage("log.png", image -> obstacleImages.put("log", image));
+        requestImage("tree.png", image -> obstacleImages.put("tree", image));
+    }
+    
+    private void requestImage(String path, Consumer<BufferedImage> install) {
+        pendingImages.add(new PendingImage(AssetManager.getDefault().load(path), install));
+    }
+    
+    /**
+     * Puts the images decoded since the last frame in their maps.
+     * Called on the rendering thread, so the maps are never shared with the loader.
+     */
+    private void installLoadedImages() {
+        if (pendingImages.isEmpty()) {
+            return;
+        }
+        boolean installed = false;
+        for (Iterator<PendingImage> iterator = pendingImages.iterator(); iterator.hasNext();) {
+            PendingImage pending = iterator.next();
+            if (!pending.future().isDone()) {
+                continue;
+            }
+            iterator.remove();
+            BufferedImage image = pending.future().isCompletedExceptionally() ? null : pending.future().getNow(null);
+            if (image != null) {
+                pending.install().accept(image);
+                installed = true;
+            }
         }
+        if (installed) {
+            // Le nuove immagini cambiano gli sfondi già composti
+            normalizeImages();
+        }
+    }
+    
+    /**
+     * Converts all the loaded images to the format of the display,
+     * so that drawing them does not need a conversion every frame.
+     */
+    private void normalizeImages() {
+        imagesGeneration = CompatibleImages.getGeneration();
+        CompatibleImages.normalizeAll(chunkImages);
+        CompatibleImages.normalizeAll(collectibleImages);
+        CompatibleImages.normalizeAll(obstacleImages);
+        invalidateBackground();
     }
     
     /**
@@ -103,28 +174,67 @@ public class MapViewImpl implements MapView {
      * @param height The new height of the window
      */
     public void updateDimensions(int width, int height) {
-        scaleManager.updateScale(width, height);
+        outputWidth = width;
+        outputHeight = height;
+        applyScale();
+    }
+    
+    /**
+     * Chooses whether the map is drawn at the output resolution or at the
+     * base resolution and then stretched to the output size in one step.
+     * The second way costs the same at any screen size, at the price of detail.
+     * 
+     * @param filter Filter used to stretch the frame, or null to draw at the output resolution
+     */
+    public void setUpscaleFilter(LowResolutionBuffer.Filter filter) {
+        this.upscaleFilter = filter;
+        applyScale();
+    }
+    
+    /**
+     * Scales the drawing to the output size, or leaves it at the base size
+     * when the frame is going to be stretched.
+     */
+    private void applyScale() {
+        if (upscaleFilter == null) {
+            scaleManager.updateScale(outputWidth, outputHeight);
+        } else {
+            scaleManager.updateScale(BASE_WIDTH, BASE_HEIGHT);
+        }
         obstacleViewManager.updateScaleManager(scaleManager);
+        invalidateBackground();
     }
     
     /**
-     * Sets the visible chunks to be rendered.
-     * This is provided by the controller.
+     * Sets where the snapshots of the simulation are published.
+     * This is provided by the controller; each frame draws the latest one.
      * 
-     * @param chunks List of visible chunks
+     * @param snapshots Buffer of the snapshots
      */
-    public void setVisibleChunks(List<Chunk> chunks) {
-        this.visibleChunks = chunks;
+    public void setSnapshotBuffer(RenderSnapshotBuffer snapshots) {
+        this.snapshots = snapshots;
     }
     
     /**
-     * Sets the current position of the viewport.
-     * This is provided by the controller.
+     * Sets how far the frame being rendered is between the last two
+     * simulation steps, so that scrolling stays smooth when frames and
+     * steps are not in sync. May be called from a thread other than the
+     * one painting.
+     * 
+     * @param alpha Fraction of a step, in [0, 1]
+     */
+    public void setInterpolation(double alpha) {
+        this.interpolation = Math.max(0, Math.min(1, alpha));
+    }
+    
+    /**
+     * Gets the viewport position interpolated between the last two steps.
      * 
-     * @param position Current viewport position
+     * @return Position to render at
      */
-    public void setCurrentPosition(int position) {
-        this.currentPosition = position;
+    private int getRenderPosition() {
+        int previousPosition = snapshot.getPreviousPosition();
+        return previousPosition + (int) Math.round((snapshot.getPosition() - previousPosition) * interpolation);
     }
     
     /**
@@ -134,6 +244,9 @@ public class MapViewImpl implements MapView {
      * @param width Viewport width
      */
     public void setViewportWidth(int width) {
+        if (width != this.viewportWidth) {
+            invalidateBackground();
+        }
         this.viewportWidth = width;
     }
     
@@ -145,139 +258,272 @@ public class MapViewImpl implements MapView {
     
     @Override
     public void render(Graphics g) {
-        if (visibleChunks == null) {
+        snapshot = snapshots == null ? null : snapshots.acquireLatest();
+        if (snapshot == null) {
             return; // Nothing to render yet
         }
         
+        long start = System.nanoTime();
         Graphics2D g2d = (Graphics2D) g;
         
+        // Riconverte le immagini se il display è cambiato
+        CompatibleImages.updateConfiguration(g2d.getDeviceConfiguration());
+        if (imagesGeneration != CompatibleImages.getGeneration()) {
+            normalizeImages();
+        }
+        installLoadedImages();
+        
+        if (upscaleFilter == null) {
+            renderScene(g2d);
+        } else {
+            Graphics2D buffer = lowResolutionBuffer.createGraphics();
+            try {
+                renderScene(buffer);
+            } finally {
+                buffer.dispose();
+            }
+            lowResolutionBuffer.drawTo(g2d, outputWidth, outputHeight, upscaleFilter);
+        }
+
+        FrameMetrics.record(Phase.RENDER, start);
+    }
+    
+    /**
+     * Draws the map, the objects on it and the moving obstacles at the current scale.
+     * 
+     * @param g2d Graphics context
+     */
+    private void renderScene(Graphics2D g2d) {
         // Enable anti-aliasing for smoother visuals at different scales
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
         g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
         
-        // Render each visible chunk
-        for (Chunk chunk : visibleChunks) {
-            renderChunk(g2d, chunk, currentPosition);
-        }
+        // Render the background, then the objects of each visible chunk on top
+        int renderPosition = getRenderPosition();
+        updateBackground(renderPosition);
+        drawBackgroundBuffer(g2d);
+        renderChunkObjects(g2d, renderPosition);
 
          //Render moving obstacles, GIULY
-        obstacleViewManager.updateViewportOffset(currentPosition);
-        obstacleViewManager.render(g2d);
+        obstacleViewManager.updateViewportOffset(renderPosition);
+        obstacleViewManager.render(g2d, snapshot);
+    }
+    
+    /**
+     * Marks the cached backgrounds as stale, so the next frame composes them again.
+     */
+    private void invalidateBackground() {
+        backgroundStrips.clear();
+        backgroundValid = false;
     }
 
-    // Aggiungi un metodo per impostare il controller degli ostacoli, GIULY
-    public void setObstacleController(MovingObstacleController controller) {
-        this.obstacleViewManager.setObstacleController(controller);
+    /**
+     * Converts a map Y-coordinate to a row of the scaled map.
+     * Screen positions are differences of rows, so scrolling by any amount
+     * moves everything by the same whole number of pixels.
+     *
+     * @param y Y-coordinate on the map
+     * @return Row at the current scale
+     */
+    private int toRow(int y) {
+        return scaleManager.toRow(y);
     }
-    
+
     /**
-     * Renders a single chunk to the screen, with scaling applied.
-     * 
-     * @param g2d Graphics context
-     * @param chunk Chunk to render
+     * Brings the background buffer to the given position.
+     * The buffer is used as a ring: map row r is kept in buffer row r modulo
+     * the height, so after a scroll the rows still on screen stay where they
+     * are and only the rows the previous frame did not cover are drawn.
+     * The whole buffer is drawn again when it is stale or the map moved by a
+     * screen or more.
+     *
      * @param offset Y-offset for scrolling
      */
-    private void renderChunk(Graphics2D g2d, Chunk chunk, int offset) {
-        int chunkPosition = chunk.getPosition();
-        
-        // Calculate the y-position in the viewport
-        int logicalScreenY = (chunkPosition - offset);
-        
-        // Scale the coordinates and dimensions
-        int screenY = scaleManager.scaleY(logicalScreenY);
-        int visibleHeight = scaleManager.scaleHeight(chunk.getHeight());
-        
-        // Adjust visibility calculations
-        if (screenY < 0) {
-            visibleHeight += screenY;
-            screenY = 0;
+    private void updateBackground(int offset) {
+        int width = scaleManager.getCurrentWidth();
+        int height = scaleManager.getCurrentHeight();
+        if (backgroundBuffer == null || backgroundBuffer.getWidth() != width || backgroundBuffer.getHeight() != height) {
+            backgroundBuffer = CompatibleImages.createImage(Math.max(width, 1), Math.max(height, 1), Transparency.OPAQUE);
+            backgroundValid = false;
         }
-        
-        if (screenY + visibleHeight > scaleManager.getCurrentHeight()) {
-            visibleHeight = scaleManager.getCurrentHeight() - screenY;
+        int row = toRow(offset);
+        int shift = row - backgroundRow;
+        boolean complete = true;
+        Graphics2D g = backgroundBuffer.createGraphics();
+        try {
+            if (!backgroundValid || Math.abs(shift) >= height) {
+                complete = drawRows(g, row, height);
+            } else if (shift > 0) {
+                // La mappa avanza: si scoprono righe in fondo allo schermo
+                complete = drawRows(g, backgroundRow + height, shift);
+            } else if (shift < 0) {
+                complete = drawRows(g, row, -shift);
+            }
+        } finally {
+            g.dispose();
         }
-        
-        // Only render if the chunk is at least partially visible
-        if (visibleHeight <= 0) {
-            return;
+        backgroundRow = row;
+        // Se mancava un chunk il prossimo frame ridisegna tutto, invece di tenere il vuoto
+        backgroundValid = complete;
+    }
+
+    /**
+     * Draws a range of map rows into the ring buffer, in one or two bands
+     * depending on whether it wraps around the bottom of the buffer.
+     *
+     * @param g Graphics of the buffer
+     * @param firstRow First map row to draw
+     * @param count Number of rows to draw
+     * @return True if every row was covered by a chunk
+     */
+    private boolean drawRows(Graphics2D g, int firstRow, int count) {
+        int height = backgroundBuffer.getHeight();
+        int y = Math.floorMod(firstRow, height);
+        int first = Math.min(count, height - y);
+        boolean complete = drawBackground(g, firstRow - y, y, first);
+        if (count > first) {
+            complete &= drawBackground(g, firstRow + first, 0, count - first);
         }
-        
-        // Get the scaled chunk width
-        int scaledChunkWidth = scaleManager.scaleWidth(viewportWidth);
-        
-        // Render chunk using image
-        BufferedImage chunkImage = chunkImages.get(chunk.getType());
-        if (chunkImage != null) {
-            // Tile the image horizontally and vertically if needed
-            int imgWidth = chunkImage.getWidth();
-            int imgHeight = chunkImage.getHeight();
-            
-            for (int x = 0; x < scaledChunkWidth; x += imgWidth) {
-                for (int y = screenY; y < screenY + visibleHeight; y += imgHeight) {
-                    // Calculate the source rectangle (for partial images at edges)
-                    int srcWidth = Math.min(imgWidth, scaledChunkWidth - x);
-                    int srcHeight = Math.min(imgHeight, screenY + visibleHeight - y);
-                    
-                    // Draw the appropriate portion of the image
-                    g2d.drawImage(
-                        chunkImage.getSubimage(0, 0, srcWidth, srcHeight),
-                        x, y, srcWidth, srcHeight, null
-                    );
-                }
+        return complete;
+    }
+
+    /**
+     * Copies the background buffer to the screen, unrolling the ring so that
+     * the row at the given position ends up at the top.
+     *
+     * @param g2d Graphics context
+     */
+    private void drawBackgroundBuffer(Graphics2D g2d) {
+        int width = backgroundBuffer.getWidth();
+        int height = backgroundBuffer.getHeight();
+        int top = Math.floorMod(backgroundRow, height);
+        g2d.drawImage(backgroundBuffer, 0, 0, width, height - top, 0, top, width, height, null);
+        if (top > 0) {
+            g2d.drawImage(backgroundBuffer, 0, height - top, width, height, 0, 0, width, top, null);
+        }
+    }
+
+    /**
+     * Draws the chunk backgrounds over a band of rows of the buffer.
+     * Rows not covered by any visible chunk are cleared.
+     *
+     * @param g Graphics of the buffer
+     * @param row Map row that would be at buffer row 0 for this band
+     * @param y First row of the band in the buffer
+     * @param bandHeight Number of rows of the band
+     * @return True if every row of the band was covered by a chunk
+     */
+    private boolean drawBackground(Graphics2D g, int row, int y, int bandHeight) {
+        g.setClip(0, y, backgroundBuffer.getWidth(), bandHeight);
+        g.setColor(Color.BLACK);
+        g.fillRect(0, y, backgroundBuffer.getWidth(), bandHeight);
+        int coveredRows = 0;
+        for (int i = 0; i < snapshot.getChunkCount(); i++) {
+            int screenY = toRow(snapshot.getChunkPosition(i)) - row;
+            int chunkHeight = scaleManager.scaleHeight(snapshot.getChunkHeight(i));
+            if (screenY + chunkHeight <= y || screenY >= y + bandHeight) {
+                continue;
+            }
+            // Render chunk background with a single blit; the parts outside the band are clipped
+            BufferedImage strip = getBackgroundStrip(snapshot.getChunkType(i), chunkHeight);
+            if (strip != null) {
+                g.drawImage(strip, 0, screenY, null);
             }
+            coveredRows += Math.min(screenY + chunkHeight, y + bandHeight) - Math.max(screenY, y);
         }
-        
-        // Render game objects in the chunk
-        for (GameObject obj : chunk.getObjects()) {
-            // Scale the object's position and dimensions
-            int scaledX = scaleManager.scaleX(obj.getX());
-            int scaledY = scaleManager.scaleY(obj.getY() - offset);
-            int scaledWidth = scaleManager.scaleWidth(obj.getWidth());
-            int scaledHeight = scaleManager.scaleHeight(obj.getHeight());
+        return coveredRows >= bandHeight;
+    }
+
+    /**
+     * Renders the objects lying on the visible chunks, such as collectibles
+     * and logs, with scaling applied. Moving obstacles are drawn afterwards
+     * by the obstacle view.
+     *
+     * @param g2d Graphics context
+     * @param offset Y-offset for scrolling
+     */
+    private void renderChunkObjects(Graphics2D g2d, int offset) {
+        int row = toRow(offset);
+        for (int i = 0; i < snapshot.getSpriteCount(); i++) {
+            BufferedImage image = getObjectImage(snapshot.getSprite(i));
+            if (image == null) {
+                continue;
+            }
+            // Scale the object's position and dimensions, on the same rows as the background
+            int scaledX = scaleManager.scaleX(snapshot.getSpriteX(i));
+            int scaledY = toRow(snapshot.getSpriteY(i)) - row;
+            int scaledWidth = scaleManager.scaleWidth(snapshot.getSpriteWidth(i));
+            int scaledHeight = scaleManager.scaleHeight(snapshot.getSpriteHeight(i));
             
             // Skip if not visible on screen
             if (scaledY + scaledHeight < 0 || scaledY > scaleManager.getCurrentHeight()) {
                 continue;
             }
-            
-            // Render different types of objects
-            if (obj instanceof Collectible) {
-                renderCollectible(g2d, (Collectible) obj, scaledX, scaledY, scaledWidth, scaledHeight);
-            } else if (obj.isPlatform()) {
-                // Render platforms like logs
-                BufferedImage logImage = obstacleImages.get("log");
-                if (logImage != null) {
-                    g2d.drawImage(logImage, scaledX, scaledY, scaledWidth, scaledHeight, null);
-                }
-            } else {
-                // Render other game objects if needed
-                // This could be expanded based on object types
-            }
+            g2d.drawImage(image, scaledX, scaledY, scaledWidth, scaledHeight, null);
         }
     }
     
     /**
-     * Renders a collectible to the screen with scaling.
+     * Gets the image of an object lying on a chunk.
+     * Collected items are already left out of the snapshot.
      * 
-     * @param g2d Graphics context
-     * @param collectible Collectible to render
-     * @param x Scaled X-position on screen
-     * @param y Scaled Y-position on screen
-     * @param width Scaled width
-     * @param height Scaled height
+     * @param sprite Sprite of the object
+     * @return The image, or null if it is not loaded or the sprite is a moving obstacle
      */
-    private void renderCollectible(Graphics2D g2d, Collectible collectible, int x, int y, int width, int height) {
-        // Skip if already collected
-        if (collectible.isCollected()) {
-            return;
+    private BufferedImage getObjectImage(Sprite sprite) {
+        switch (sprite) {
+            case COIN:
+                return collectibleImages.get(CollectibleType.COIN);
+            case INVINCIBILITY:
+                return collectibleImages.get(CollectibleType.INVINCIBILITY);
+            case LOG:
+                return obstacleImages.get("log");
+            default:
+                return null;
         }
-        
-        CollectibleType type = collectible.getType();
-        BufferedImage collectibleImage = collectibleImages.get(type);
-        
-        if (collectibleImage != null) {
-            // Draw the collectible image with scaled dimensions
-            g2d.drawImage(collectibleImage, x, y, width, height, null);
+    }
+    
+    /**
+     * Gets the background of a chunk type at the current scale, composing it
+     * the first time: the chunk image is tiled over a full-width strip as tall
+     * as a scaled chunk. Strips are kept until the dimensions change.
+     * 
+     * @param type Type of the chunk
+     * @param scaledHeight Height of a chunk at the current scale
+     * @return The strip, or null if the chunk image is missing
+     */
+    private BufferedImage getBackgroundStrip(ChunkType type, int scaledHeight) {
+        BufferedImage strip = backgroundStrips.get(type);
+        if (strip != null) {
+            return strip;
+        }
+        BufferedImage chunkImage = chunkImages.get(type);
+        int scaledChunkWidth = scaleManager.scaleWidth(viewportWidth);
+        if (chunkImage == null || scaledChunkWidth <= 0 || scaledHeight <= 0) {
+            return null;
+        }
+        strip = CompatibleImages.createImage(scaledChunkWidth, scaledHeight, chunkImage.getTransparency());
+        Graphics2D g = strip.createGraphics();
+        try {
+            // Stessa piastrellatura di prima, fatta una volta sola
+            for (int x = 0; x < scaledChunkWidth; x += chunkImage.getWidth()) {
+                for (int y = 0; y < scaledHeight; y += chunkImage.getHeight()) {
+                    g.drawImage(chunkImage, x, y, null);
+                }
+            }
+        } finally {
+            g.dispose();
         }
+        backgroundStrips.put(type, strip);
+        return strip;
+    }
+    
+    /**
+     * Image being decoded, with the action that puts it in place.
+     * 
+     * @param future Result of the decoding
+     * @param install Puts the image in its map
+     */
+    private record PendingImage(CompletableFuture<BufferedImage> future, Consumer<BufferedImage> install) {
     }
-}
\ No newline at end of file
+}
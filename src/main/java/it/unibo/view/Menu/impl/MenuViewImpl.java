@@ -4,16 +4,16 @@ import java.awt.Color;
 import java.awt.Font;
 import java.awt.FontMetrics;
 import java.awt.Graphics;
+import java.awt.Graphics2D;
 import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
-import javax.imageio.ImageIO;
-
 import it.unibo.controller.Menu.api.MenuController;
 import it.unibo.view.Menu.api.MenuView;
+import it.unibo.view.AssetManager;
+import it.unibo.view.CompatibleImages;
 import it.unibo.view.ScaleManager;
 
 /**
@@ -25,6 +25,15 @@ public class MenuViewImpl implements MenuView {
     private final ScaleManager scaleManager;
     private BufferedImage backgroundImage;
     private BufferedImage logoImage;
+    private int imagesGeneration;
+    
+    private static final String BACKGROUND_IMAGE = "images/menu_background.png";
+    private static final String LOGO_IMAGE = "images/logo.png";
+    
+    /**
+     * Immagini del menu sul classpath, da caricare all'avvio.
+     */
+    public static final String[] IMAGES = {BACKGROUND_IMAGE, LOGO_IMAGE};
     
     private List<MenuButton> buttons;
     private static final Color BUTTON_COLOR = new Color(76, 175, 80);
@@ -51,15 +60,30 @@ public class MenuViewImpl implements MenuView {
     }
     
     private void loadImages() {
-        try {
-            backgroundImage = ImageIO.read(getClass().getResourceAsStream("/images/menu_background.png"));
-            logoImage = ImageIO.read(getClass().getResourceAsStream("/images/logo.png"));
-        } catch (IOException | NullPointerException e) {
-            // Se non riusciamo a caricare l'immagine, utilizziamo un colore di sfondo
-            System.err.println("Impossibile caricare le immagini del menu: " + e.getMessage());
-            backgroundImage = null;
-            logoImage = null;
+        // Le immagini vengono decodificate in background e usate appena pronte
+        AssetManager.getDefault().preload(IMAGES);
+    }
+    
+    /**
+     * Prende le immagini già decodificate, senza attendere quelle mancanti.
+     * Se un'immagine non può essere caricata si continua a usare il colore di sfondo.
+     */
+    private void pickUpImages() {
+        if (backgroundImage == null) {
+            backgroundImage = AssetManager.getDefault().getIfReady(BACKGROUND_IMAGE);
         }
+        if (logoImage == null) {
+            logoImage = AssetManager.getDefault().getIfReady(LOGO_IMAGE);
+        }
+    }
+    
+    /**
+     * Converte le immagini nel formato del display, per disegnarle senza conversioni.
+     */
+    private void normalizeImages() {
+        imagesGeneration = CompatibleImages.getGeneration();
+        backgroundImage = CompatibleImages.normalize(backgroundImage);
+        logoImage = CompatibleImages.normalize(logoImage);
     }
     
     private void initButtons() {
@@ -106,6 +130,15 @@ public class MenuViewImpl implements MenuView {
     
     @Override
     public void render(Graphics g) {
+        // Riconverte le immagini se il display è cambiato
+        if (g instanceof Graphics2D g2d) {
+            CompatibleImages.updateConfiguration(g2d.getDeviceConfiguration());
+        }
+        if (imagesGeneration != CompatibleImages.getGeneration()) {
+            normalizeImages();
+        }
+        pickUpImages();
+        
         // Disegna lo sfondo
         if (backgroundImage != null) {
             g.drawImage(backgroundImage, 0, 0, currentWidth, currentHeight, null);
@@ -4,12 +4,18 @@ import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.EnumMap;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 import it.unibo.model.Map.Obstacles.impl.MovingObstacles;
+import it.unibo.model.Map.impl.RenderSnapshot;
+import it.unibo.model.Map.impl.RenderSnapshot.Sprite;
 import it.unibo.model.Map.util.ObstacleType;
+import it.unibo.view.CompatibleImages;
 import it.unibo.view.ScaleManager;
 
 /**
@@ -20,6 +26,9 @@ public class MovingObstacleView {
     // Cache of loaded images
     private final Map<ObstacleType, Color> obstacleColors;
     private ScaleManager scaleManager;
+    // Sprite già disegnati alla scala corrente: [0] verso destra, [1] verso sinistra
+    private final Map<ObstacleType, BufferedImage[]> sprites = new EnumMap<>(ObstacleType.class);
+    private int spritesGeneration = CompatibleImages.getGeneration();
     
     // Constants for obstacle visual dimensions
     private static final int CAR_WIDTH = 50;
@@ -42,118 +51,195 @@ public class MovingObstacleView {
     }
     
     /**
-     * Renders all moving obstacles.
+     * Renders the moving obstacles of a snapshot.
      * 
      * @param g Graphics context
-     * @param obstacles List of moving obstacles to render
+     * @param snapshot Snapshot holding the obstacles, among the other sprites
      * @param viewportOffset The Y offset of the viewport
      */
-    public void renderObstacles(Graphics g, List<MovingObstacles> obstacles, int viewportOffset) {
+    public void renderObstacles(Graphics g, RenderSnapshot snapshot, int viewportOffset) {
         Graphics2D g2d = (Graphics2D) g;
+        // Come per lo sfondo, la Y è una differenza di righe: gli ostacoli scorrono insieme alla strada
+        int viewportRow = scaleManager.toRow(viewportOffset);
         
-        for (MovingObstacles obstacle : obstacles) {
-            if (obstacle.isVisible()) {
+        for (int i = 0; i < snapshot.getSpriteCount(); i++) {
+            ObstacleType type = obstacleTypeOf(snapshot.getSprite(i));
+            if (type != null) {
                 // Get screen coordinates
-                int screenX = scaleManager.scaleX(obstacle.getX());
-                int screenY = scaleManager.scaleY(obstacle.getY() - viewportOffset);
+                int screenX = scaleManager.scaleX(snapshot.getSpriteX(i));
+                int screenY = scaleManager.toRow(snapshot.getSpriteY(i)) - viewportRow;
                 
                 // Draw the obstacle based on its type
-                renderObstacle(g2d, obstacle, screenX, screenY);
+                renderObstacle(g2d, type, snapshot.isSpriteFacingRight(i), screenX, screenY);
             }
         }
     }
     
+    /**
+     * Gets the obstacle type drawn for a sprite of the snapshot.
+     * 
+     * @param sprite The sprite
+     * @return The obstacle type, or null if the sprite is not a moving obstacle
+     */
+    private static ObstacleType obstacleTypeOf(Sprite sprite) {
+        switch (sprite) {
+            case CAR:
+                return ObstacleType.CAR;
+            case TRAIN:
+                return ObstacleType.TRAIN;
+            default:
+                return null;
+        }
+    }
+    
     /**
      * Renders a single obstacle.
      * 
      * @param g2d Graphics2D context
-     * @param obstacle The obstacle to render
+     * @param type The obstacle type
+     * @param movingRight True if the obstacle moves to the right
      * @param screenX The screen X coordinate
      * @param screenY The screen Y coordinate
      */
-    private void renderObstacle(Graphics2D g2d, MovingObstacles obstacle, int screenX, int screenY) {
-        ObstacleType type = obstacle.getType();
-        
+    private void renderObstacle(Graphics2D g2d, ObstacleType type, boolean movingRight, int screenX, int screenY) {
+        BufferedImage sprite = getSprite(type, movingRight);
+        if (sprite != null) {
+            g2d.drawImage(sprite, screenX, screenY, null);
+            
+            // Debug hitbox if needed (uncomment for debugging)
+            // g2d.setColor(Color.GREEN);
+            // g2d.drawRect(screenX, screenY, sprite.getWidth(), sprite.getHeight());
+        }
+    }
+    
+    /**
+     * Gets the sprite of an obstacle type at the current scale, drawing it the first time.
+     * 
+     * @param type The obstacle type
+     * @param movingRight True for the sprite facing right
+     * @return The sprite, or null if the type is not drawn
+     */
+    private BufferedImage getSprite(ObstacleType type, boolean movingRight) {
+        if (spritesGeneration != CompatibleImages.getGeneration()) {
+            // Il display è cambiato: gli sprite vanno ricreati nel nuovo formato
+            sprites.clear();
+            spritesGeneration = CompatibleImages.getGeneration();
+        }
+        BufferedImage[] directions = sprites.computeIfAbsent(type, t -> new BufferedImage[2]);
+        int index = movingRight ? 0 : 1;
+        if (directions[index] == null) {
+            directions[index] = createSprite(type, movingRight);
+        }
+        return directions[index];
+    }
+    
+    /**
+     * Draws an obstacle once into an image, at the current scale.
+     * 
+     * @param type The obstacle type
+     * @param movingRight True if the obstacle moves to the right
+     * @return The sprite, or null if the type is not drawn
+     */
+    private BufferedImage createSprite(ObstacleType type, boolean movingRight) {
+        int width, height;
+        if (type == ObstacleType.CAR) {
+            width = scaleManager.scaleWidth(CAR_WIDTH);
+            height = scaleManager.scaleHeight(CAR_HEIGHT);
+        } else if (type == ObstacleType.TRAIN) {
+            width = scaleManager.scaleWidth(TRAIN_WIDTH);
+            height = scaleManager.scaleHeight(TRAIN_HEIGHT);
+        } else {
+            return null;
+        }
+        if (width <= 0 || height <= 0) {
+            return null;
+        }
+        // Il corpo copre tutto il rettangolo, quindi lo sprite può essere opaco e copiato senza blending
+        BufferedImage sprite = CompatibleImages.createImage(width, height, Transparency.OPAQUE);
+        Graphics2D g2d = sprite.createGraphics();
+        try {
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            paintObstacle(g2d, type, movingRight, width, height);
+        } finally {
+            g2d.dispose();
+        }
+        return sprite;
+    }
+    
+    /**
+     * Draws an obstacle with its top-left corner at the origin.
+     * 
+     * @param g2d Graphics2D context
+     * @param type The obstacle type
+     * @param movingRight True if the obstacle moves to the right
+     * @param width The scaled width of the obstacle
+     * @param height The scaled height of the obstacle
+     */
+    private void paintObstacle(Graphics2D g2d, ObstacleType type, boolean movingRight, int width, int height) {
         // Get the appropriate color
         Color color = obstacleColors.getOrDefault(type, Color.GRAY);
         g2d.setColor(color);
         
-        // Calculate dimensions based on obstacle type
-        int width, height;
         if (type == ObstacleType.CAR) {
-            width = scaleManager.scaleWidth(CAR_WIDTH);
-            height = scaleManager.scaleHeight(CAR_HEIGHT);
-            
             // Draw the car (simple rectangle for now)
-            g2d.fillRect(screenX, screenY, width, height);
+            g2d.fillRect(0, 0, width, height);
             
             // Add wheels
             g2d.setColor(Color.BLACK);
             int wheelSize = height / 3;
             
             // Front wheel
-            g2d.fillOval(screenX + width - wheelSize - 5, 
-                         screenY + height - wheelSize,
-                         wheelSize, wheelSize);
+            g2d.fillOval(width - wheelSize - 5, height - wheelSize, wheelSize, wheelSize);
             
             // Back wheel
-            g2d.fillOval(screenX + 5, 
-                         screenY + height - wheelSize,
-                         wheelSize, wheelSize);
+            g2d.fillOval(5, height - wheelSize, wheelSize, wheelSize);
             
             // Direction indicator (headlights)
             g2d.setColor(Color.YELLOW);
-            if (obstacle.getSpeed() > 0) { // Moving right
-                g2d.fillRect(screenX + width - 5, screenY + 5, 5, 5);
-                g2d.fillRect(screenX + width - 5, screenY + height - 10, 5, 5);
-            } else { // Moving left
-                g2d.fillRect(screenX, screenY + 5, 5, 5);
-                g2d.fillRect(screenX, screenY + height - 10, 5, 5);
+            if (movingRight) {
+                g2d.fillRect(width - 5, 5, 5, 5);
+                g2d.fillRect(width - 5, height - 10, 5, 5);
+            } else {
+                g2d.fillRect(0, 5, 5, 5);
+                g2d.fillRect(0, height - 10, 5, 5);
             }
             
         } else if (type == ObstacleType.TRAIN) {
-            width = scaleManager.scaleWidth(TRAIN_WIDTH);
-            height = scaleManager.scaleHeight(TRAIN_HEIGHT);
-            
             // Draw the train body
-            g2d.fillRect(screenX, screenY, width, height);
+            g2d.fillRect(0, 0, width, height);
             
             // Add windows
             g2d.setColor(Color.LIGHT_GRAY);
             int windowWidth = width / 10;
             int windowHeight = height / 2;
-            int windowY = screenY + (height - windowHeight) / 2;
+            int windowY = (height - windowHeight) / 2;
             
             // Draw multiple windows along the train
             for (int i = 1; i < 10; i++) {
                 if (i % 2 == 0) { // Every other section
-                    g2d.fillRect(screenX + i * windowWidth, windowY, windowWidth - 2, windowHeight);
+                    g2d.fillRect(i * windowWidth, windowY, windowWidth - 2, windowHeight);
                 }
             }
             
             // Draw the engine part (front or back depending on direction)
             g2d.setColor(Color.DARK_GRAY);
-            if (obstacle.getSpeed() > 0) { // Moving right
-                g2d.fillRect(screenX + width - width/5, screenY, width/5, height);
-            } else { // Moving left
-                g2d.fillRect(screenX, screenY, width/5, height);
+            if (movingRight) {
+                g2d.fillRect(width - width/5, 0, width/5, height);
+            } else {
+                g2d.fillRect(0, 0, width/5, height);
             }
             
             // Draw wheels
             g2d.setColor(Color.BLACK);
-            int wheelCount = width / 40;
+            int wheelCount = Math.max(1, width / 40);
             int wheelSize = height / 3;
-            int wheelY = screenY + height - wheelSize;
+            int wheelY = height - wheelSize;
             
             for (int i = 0; i < wheelCount; i++) {
-                g2d.fillOval(screenX + (i * width/wheelCount) + width/(wheelCount*2) - wheelSize/2, 
+                g2d.fillOval((i * width/wheelCount) + width/(wheelCount*2) - wheelSize/2, 
                            wheelY, wheelSize, wheelSize);
             }
         }
-        
-        // Debug hitbox if needed (uncomment for debugging)
-        // g2d.setColor(Color.GREEN);
-        // g2d.drawRect(screenX, screenY, width, height);
     }
     
     /**
@@ -163,6 +249,7 @@ public class MovingObstacleView {
      */
     public void updateScaleManager(ScaleManager newScaleManager) {
         this.scaleManager = newScaleManager;
+        sprites.clear();
     }
     
     /**
@@ -178,7 +265,7 @@ public class MovingObstacleView {
         int height = obstacle.getType() == ObstacleType.CAR ? CAR_HEIGHT : TRAIN_HEIGHT;
         
         int screenX = scaleManager.scaleX(obstacle.getX());
-        int screenY = scaleManager.scaleY(obstacle.getY() - viewportOffset);
+        int screenY = scaleManager.toRow(obstacle.getY()) - scaleManager.toRow(viewportOffset);
         int screenWidth = scaleManager.scaleWidth(width);
         int screenHeight = scaleManager.scaleHeight(height);
         
@@ -193,5 +280,6 @@ public class MovingObstacleView {
      */
     public void setObstacleColor(ObstacleType type, Color color) {
         obstacleColors.put(type, color);
+        sprites.remove(type);
     }
 }
@@ -1,21 +1,16 @@
 package it.unibo.view.Obstacles;
 
 import java.awt.Graphics;
-import java.util.ArrayList;
-import java.util.List;
 
-import it.unibo.controller.MovingObstacleController;
-import it.unibo.model.Map.Obstacles.impl.MovingObstacles;
-import it.unibo.model.Map.util.ObstacleType;
+import it.unibo.model.Map.impl.RenderSnapshot;
 import it.unibo.view.ScaleManager;
 
 /**
- * Manager class that handles interaction between the MovingObstacleController and MovingObstacleView.
+ * Manager class that handles interaction between the map view and MovingObstacleView.
  * This class is responsible for coordinating the rendering of all moving obstacles in the game.
  */
 public class MovingObstacleViewManager {
     private final MovingObstacleView obstacleView;
-    private MovingObstacleController obstacleController;
     private int viewportOffset;
     
     /**
@@ -28,15 +23,6 @@ public class MovingObstacleViewManager {
         this.viewportOffset = 0;
     }
     
-    /**
-     * Sets the obstacle controller for this view manager.
-     * 
-     * @param controller The moving obstacle controller
-     */
-    public void setObstacleController(MovingObstacleController controller) {
-        this.obstacleController = controller;
-    }
-    
     /**
      * Updates the viewport offset for proper rendering.
      * 
@@ -50,23 +36,11 @@ public class MovingObstacleViewManager {
      * Renders all moving obstacles.
      * 
      * @param g Graphics context
+     * @param snapshot Snapshot of the last tick: the simulation may be moving the obstacles meanwhile
      */
-    public void render(Graphics g) {
-        if (obstacleController == null) {
-            return; // Can't render without a controller
-        }
-        
-        // Get all active obstacles from the controller
-        List<MovingObstacles> allObstacles = new ArrayList<>();
-        
-        // Add cars
-        allObstacles.addAll(obstacleController.getObstaclesByType(ObstacleType.CAR));
-        
-        // Add trains
-        allObstacles.addAll(obstacleController.getObstaclesByType(ObstacleType.TRAIN));
-        
+    public void render(Graphics g, RenderSnapshot snapshot) {
         // Render the obstacles
-        obstacleView.renderObstacles(g, allObstacles, viewportOffset);
+        obstacleView.renderObstacles(g, snapshot, viewportOffset);
     }
     
     /**
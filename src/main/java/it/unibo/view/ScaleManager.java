@@ -53,6 +53,15 @@ public class ScaleManager {
         return Math.round(y * scaleY);
     }
     
+    /**
+     * Converts a map Y coordinate to a row of the scaled map.
+     * Screen positions computed as differences of rows move by the same
+     * whole number of pixels whatever the amount scrolled.
+     */
+    public int toRow(int y) {
+        return (int) Math.floor(y * (double) scaleY);
+    }
+    
     /**
      * Scales a width from logical to screen space.
      */
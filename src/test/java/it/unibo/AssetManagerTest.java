@@ -0,0 +1,63 @@
+package it.unibo;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import it.unibo.view.AssetManager;
+
+class AssetManagerTest {
+
+    private AssetManager assets;
+
+    @BeforeEach
+    void setUp() {
+        assets = new AssetManager(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        assets.shutdown();
+    }
+
+    @Test
+    @DisplayName("Test images are decoded from the classpath")
+    void testLoadFromClasspath() throws Exception {
+        BufferedImage image = assets.load("coin.png").get(5, TimeUnit.SECONDS);
+        assertNotNull(image);
+        assertTrue(image.getWidth() > 0 && image.getHeight() > 0);
+        assertSame(image, assets.getIfReady("/coin.png"), "A leading slash names the same image");
+    }
+
+    @Test
+    @DisplayName("Test each image is requested only once")
+    void testSameFuture() {
+        CompletableFuture<BufferedImage> first = assets.load("grass.png");
+        assertSame(first, assets.load("grass.png"));
+        assertSame(first, assets.load("/grass.png"));
+    }
+
+    @Test
+    @DisplayName("Test missing images complete with null")
+    void testMissingImage() throws Exception {
+        assertNull(assets.load("images/missing.png").get(5, TimeUnit.SECONDS));
+        assertNull(assets.getIfReady("images/missing.png"));
+    }
+
+    @Test
+    @DisplayName("Test preloading decodes every image")
+    void testPreload() throws Exception {
+        String[] paths = {"road.png", "rails.png", "river.jpg", "tree.png"};
+        assets.preload(paths);
+        for (String path : paths) {
+            assertNotNull(assets.load(path).get(5, TimeUnit.SECONDS), path);
+        }
+    }
+}
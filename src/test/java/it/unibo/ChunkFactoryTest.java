@@ -142,6 +142,65 @@ class ChunkFactoryImplTest {
         }
     }
     
+    @Test
+    void testSameSeedBuildsSameChunks() {
+        ChunkFactoryImpl first = new ChunkFactoryImpl(ChunkImpl.DEFAULT_CELL_SIZE, 42L);
+        ChunkFactoryImpl second = new ChunkFactoryImpl(ChunkImpl.DEFAULT_CELL_SIZE, 42L);
+        
+        // Generating in a different order must not change the chunks
+        for (int i = 10; i >= 1; i--) {
+            second.createRandomChunk(i * ChunkImpl.STANDARD_HEIGHT, TEST_WIDTH);
+        }
+        for (int i = 1; i <= 10; i++) {
+            int position = i * ChunkImpl.STANDARD_HEIGHT;
+            assertSameChunk(first.createRandomChunk(position, TEST_WIDTH), second.createRandomChunk(position, TEST_WIDTH));
+        }
+    }
+    
+    @Test
+    void testSkippedChunksDoNotChangeTheWorld() {
+        ChunkFactoryImpl sequential = new ChunkFactoryImpl(ChunkImpl.DEFAULT_CELL_SIZE, 7L);
+        ChunkFactoryImpl sparse = new ChunkFactoryImpl(ChunkImpl.DEFAULT_CELL_SIZE, 7L);
+        
+        // A factory that only sees some of the chunks must agree with one that sees all of them
+        for (int i = 1; i <= 60; i++) {
+            int position = i * ChunkImpl.STANDARD_HEIGHT;
+            Chunk expected = sequential.createRandomChunk(position, TEST_WIDTH);
+            if (i % 3 == 0) {
+                assertSameChunk(expected, sparse.createRandomChunk(position, TEST_WIDTH));
+            }
+        }
+    }
+    
+    @Test
+    void testDifferentSeedsBuildDifferentWorlds() {
+        ChunkFactoryImpl first = new ChunkFactoryImpl(ChunkImpl.DEFAULT_CELL_SIZE, 1L);
+        ChunkFactoryImpl second = new ChunkFactoryImpl(ChunkImpl.DEFAULT_CELL_SIZE, 2L);
+        
+        boolean differs = false;
+        for (int i = 1; i <= 20 && !differs; i++) {
+            int position = i * ChunkImpl.STANDARD_HEIGHT;
+            differs = !describe(first.createRandomChunk(position, TEST_WIDTH))
+                .equals(describe(second.createRandomChunk(position, TEST_WIDTH)));
+        }
+        assertTrue(differs, "Different seeds should generate different worlds");
+    }
+    
+    private void assertSameChunk(Chunk expected, Chunk actual) {
+        assertEquals(describe(expected), describe(actual), "Chunks with the same seed and position should match");
+    }
+    
+    private String describe(Chunk chunk) {
+        StringBuilder sb = new StringBuilder(chunk.getType() + "@" + chunk.getPosition());
+        for (GameObject obj : chunk.getObjects()) {
+            sb.append(' ').append(obj.getClass().getSimpleName())
+                .append('(').append(obj.getX()).append(',').append(obj.getY())
+                .append(',').append(obj.getWidth()).append(',').append(obj.getHeight())
+                .append(',').append(obj.getSpeed()).append(')');
+        }
+        return sb.toString();
+    }
+    
     private void checkObstaclesDoNotBlockPath(Chunk chunk) {
         // Get all obstacles that are not platforms and are not movable
         boolean hasFullWidthObstacle = chunk.getObjects().stream()
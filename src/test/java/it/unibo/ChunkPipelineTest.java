@@ -0,0 +1,71 @@
+package it.unibo;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import it.unibo.model.Map.api.Chunk;
+import it.unibo.model.Map.api.ChunkPipeline;
+import it.unibo.model.Map.impl.ChunkFactoryImpl;
+import it.unibo.model.Map.impl.ChunkImpl;
+import it.unibo.model.Map.impl.ChunkPipelineImpl;
+
+class ChunkPipelineTest {
+
+    private static final int WIDTH = 800;
+    private static final int H = ChunkImpl.STANDARD_HEIGHT;
+
+    private ChunkPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        pipeline = new ChunkPipelineImpl(new ChunkFactoryImpl(), new ChunkFactoryImpl(), WIDTH, 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.shutdown();
+    }
+
+    @Test
+    @DisplayName("Test synchronous fallback when the worker is not running")
+    void testFallback() {
+        for (int i = 0; i < 4; i++) {
+            Chunk chunk = pipeline.next(i * H);
+            assertEquals(i * H, chunk.getPosition());
+            assertEquals(WIDTH, chunk.getWidth());
+        }
+        assertEquals(4, pipeline.getFallbackCount());
+        assertEquals(0, pipeline.getPrefetchedCount());
+    }
+
+    @Test
+    @DisplayName("Test that background chunks are served in order")
+    void testPrefetch() throws InterruptedException {
+        pipeline.start(H);
+        // Lascia al worker il tempo di riempire la coda
+        Thread.sleep(200);
+
+        for (int i = 1; i <= 20; i++) {
+            assertEquals(i * H, pipeline.next(i * H).getPosition());
+        }
+        assertTrue(pipeline.getPrefetchedCount() > 0, "Some chunks come from the worker");
+        assertEquals(20, pipeline.getPrefetchedCount() + pipeline.getFallbackCount());
+    }
+
+    @Test
+    @DisplayName("Test that the pipeline recovers after skipping ahead")
+    void testSkipAhead() throws InterruptedException {
+        pipeline.start(0);
+        Thread.sleep(100);
+
+        // Le posizioni già preparate ma superate vengono scartate
+        assertEquals(10 * H, pipeline.next(10 * H).getPosition());
+        assertEquals(11 * H, pipeline.next(11 * H).getPosition());
+        Thread.sleep(100);
+        assertEquals(12 * H, pipeline.next(12 * H).getPosition());
+    }
+}
@@ -0,0 +1,125 @@
+package it.unibo;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import it.unibo.model.Map.Obstacles.api.MovingObstacleManager;
+import it.unibo.model.Map.Obstacles.impl.MovingObstacleFactoryImpl;
+import it.unibo.model.Map.Obstacles.impl.MovingObstacleManagerImpl;
+import it.unibo.model.Map.api.Chunk;
+import it.unibo.model.Map.impl.ChunkFactoryImpl;
+import it.unibo.model.Map.impl.ChunkImpl;
+import it.unibo.model.Map.impl.ChunkPools;
+import it.unibo.model.Map.impl.CollectibleImpl;
+import it.unibo.model.Map.util.ChunkType;
+import it.unibo.model.Map.util.CollectibleType;
+import it.unibo.model.Map.util.ObjectPool;
+
+class ChunkPoolsTest {
+
+    private static final int WIDTH = 800;
+    private static final int H = ChunkImpl.STANDARD_HEIGHT;
+    private static final int WINDOW = 12;
+
+    private ChunkPools pools;
+
+    @BeforeEach
+    void setUp() {
+        pools = new ChunkPools();
+    }
+
+    @Test
+    @DisplayName("Test that released objects are reused")
+    void testObjectPool() {
+        ObjectPool<StringBuilder> pool = new ObjectPool<>(StringBuilder::new, 1);
+        StringBuilder first = pool.acquire();
+        StringBuilder second = pool.acquire();
+        assertEquals(2, pool.getCreatedCount());
+
+        assertTrue(pool.release(first));
+        assertFalse(pool.release(second), "Objects beyond the capacity are dropped");
+        assertSame(first, pool.acquire());
+        assertEquals(2, pool.getCreatedCount());
+    }
+
+    @Test
+    @DisplayName("Test that recycled chunks and objects come back reinitialized")
+    void testRecycledState() {
+        ChunkImpl chunk = pools.acquireChunk(0, WIDTH, ChunkImpl.DEFAULT_CELL_SIZE, ChunkType.GRASS);
+        CollectibleImpl coin = pools.acquireCollectible(10, 10, CollectibleType.COIN);
+        coin.collect();
+        assertTrue(chunk.addObject(coin));
+        pools.recycle(chunk);
+
+        ChunkImpl reused = pools.acquireChunk(5 * H, WIDTH, ChunkImpl.DEFAULT_CELL_SIZE, ChunkType.ROAD);
+        assertSame(chunk, reused);
+        assertEquals(5 * H, reused.getPosition());
+        assertEquals(ChunkType.ROAD, reused.getType());
+        assertTrue(reused.getObjects().isEmpty());
+        assertEquals(reused.getCellsPerRow(), reused.getFreeCellCount());
+
+        CollectibleImpl gem = pools.acquireCollectible(30, 40, CollectibleType.INVINCIBILITY);
+        assertSame(coin, gem);
+        assertFalse(gem.isCollected());
+        assertEquals(CollectibleType.INVINCIBILITY, gem.getType());
+        assertEquals(30, gem.getX());
+    }
+
+    @Test
+    @DisplayName("Test that scrolling allocates almost nothing once the pools are warm")
+    void testSteadyStateAllocations() {
+        ChunkFactoryImpl factory = new ChunkFactoryImpl(ChunkImpl.DEFAULT_CELL_SIZE, 3L, pools);
+        Deque<Chunk> window = new ArrayDeque<>();
+        int position = H;
+
+        // Riscaldamento: riempie i pool con i chunk scartati
+        for (int i = 0; i < 200; i++) {
+            position = scroll(factory, window, position);
+        }
+        long warm = pools.getAllocationCount();
+
+        for (int i = 0; i < 1000; i++) {
+            position = scroll(factory, window, position);
+        }
+        long steady = pools.getAllocationCount() - warm;
+        assertTrue(steady <= 10, "Allocations after warm-up: " + steady);
+    }
+
+    @Test
+    @DisplayName("Test that spawned obstacles are reused once they are cleaned up or rejected")
+    void testSpawnedObstacleAllocations() {
+        MovingObstacleManager manager = new MovingObstacleManagerImpl(new Random(3), pools.getMovingObstaclePool());
+        MovingObstacleFactoryImpl factory = new MovingObstacleFactoryImpl(new Random(3), pools.getMovingObstaclePool());
+        long warm = 0;
+
+        for (int i = 0; i < 1200; i++) {
+            int y = i * H;
+            // Il secondo ostacolo di ogni corsia non ha spazio e viene scartato
+            manager.submitAdd(factory.createRandomCar(y, WIDTH, true), 100);
+            manager.submitAdd(factory.createCar(-60, y, 2), 100);
+            manager.advanceTo(i + 1, WIDTH);
+            manager.cleanupOffscreenObstacles(y - WINDOW * H, y + H);
+            if (i == 199) {
+                warm = pools.getAllocationCount();
+            }
+        }
+        assertTrue(manager.getObstacleCount() <= WINDOW + 1);
+        long steady = pools.getAllocationCount() - warm;
+        assertTrue(steady <= 10, "Allocations after warm-up: " + steady);
+    }
+
+    private int scroll(final ChunkFactoryImpl factory, final Deque<Chunk> window, final int position) {
+        window.addLast(factory.createRandomChunk(position, WIDTH));
+        if (window.size() > WINDOW) {
+            factory.recycle(window.removeFirst());
+        }
+        return position + H;
+    }
+}
@@ -0,0 +1,106 @@
+package it.unibo;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import it.unibo.model.Map.api.Chunk;
+import it.unibo.model.Map.impl.ChunkImpl;
+import it.unibo.model.Map.impl.ChunkRingBuffer;
+import it.unibo.model.Map.util.ChunkType;
+
+class ChunkRingBufferTest {
+
+    private static final int CAPACITY = 4;
+    private static final int H = ChunkImpl.STANDARD_HEIGHT;
+
+    private ChunkRingBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        buffer = new ChunkRingBuffer(CAPACITY);
+    }
+
+    private Chunk chunkAt(final int index) {
+        return new ChunkImpl(index * H, 10, ChunkType.GRASS);
+    }
+
+    @Test
+    @DisplayName("Test append and lookup by world Y")
+    void testLookupByWorldY() {
+        for (int i = 0; i < 3; i++) {
+            buffer.append(chunkAt(i));
+        }
+
+        assertEquals(3, buffer.size());
+        assertEquals(0, buffer.getChunkAt(0).getPosition());
+        assertEquals(0, buffer.getChunkAt(H - 1).getPosition());
+        assertEquals(H, buffer.getChunkAt(H).getPosition());
+        assertEquals(2 * H, buffer.getChunkAt(3 * H - 1).getPosition());
+        assertNull(buffer.getChunkAt(-1), "No chunk before the oldest one");
+        assertNull(buffer.getChunkAt(3 * H), "No chunk after the newest one");
+    }
+
+    @Test
+    @DisplayName("Test eviction when the buffer is full")
+    void testEviction() {
+        for (int i = 0; i < CAPACITY; i++) {
+            assertNull(buffer.append(chunkAt(i)));
+        }
+
+        Chunk evicted = buffer.append(chunkAt(CAPACITY));
+        assertNotNull(evicted);
+        assertEquals(0, evicted.getPosition());
+        assertEquals(CAPACITY, buffer.size());
+        assertEquals(H, buffer.getFirst().getPosition());
+        assertEquals(CAPACITY * H, buffer.getLast().getPosition());
+        assertEquals(CAPACITY * H, buffer.getChunkAt(CAPACITY * H).getPosition());
+    }
+
+    @Test
+    @DisplayName("Test removal of the oldest chunk after wrap-around")
+    void testRemoveFirstAfterWrap() {
+        for (int i = 0; i < CAPACITY + 2; i++) {
+            buffer.append(chunkAt(i));
+        }
+
+        assertEquals(2 * H, buffer.removeFirst().getPosition());
+        assertEquals(3 * H, buffer.getFirst().getPosition());
+        assertNull(buffer.getChunkAt(2 * H));
+
+        List<Chunk> all = buffer.asList();
+        assertEquals(CAPACITY - 1, all.size());
+        for (int i = 0; i < all.size(); i++) {
+            assertEquals((3 + i) * H, all.get(i).getPosition());
+        }
+    }
+
+    @Test
+    @DisplayName("Test range views")
+    void testRange() {
+        for (int i = 0; i < CAPACITY; i++) {
+            buffer.append(chunkAt(i));
+        }
+
+        List<Chunk> view = buffer.range(H / 2, 2 * H + 1);
+        assertEquals(3, view.size());
+        assertEquals(0, view.get(0).getPosition());
+        assertEquals(2 * H, view.get(2).getPosition());
+
+        assertEquals(1, buffer.range(H, 2 * H).size(), "The upper bound is exclusive");
+        assertTrue(buffer.range(CAPACITY * H, (CAPACITY + 2) * H).isEmpty());
+        assertEquals(CAPACITY, buffer.range(-10 * H, 10 * H).size());
+        assertThrows(UnsupportedOperationException.class, () -> view.add(chunkAt(0)));
+    }
+
+    @Test
+    @DisplayName("Test that non contiguous chunks are rejected")
+    void testRejectsGaps() {
+        buffer.append(chunkAt(0));
+        assertThrows(IllegalArgumentException.class, () -> buffer.append(chunkAt(2)));
+    }
+}
@@ -8,6 +8,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import it.unibo.model.Map.api.Cell;
 import it.unibo.model.Map.api.GameObject;
 import it.unibo.model.Map.impl.ChunkImpl;
 import it.unibo.model.Map.impl.GameObjectImpl;
@@ -66,4 +67,111 @@ class ChunkImplTest {
         // Not visible (below viewport)
         assertFalse(chunk.isVisible(0, position - 10));
     }
-}
\ No newline at end of file
+    
+    @Test
+    @DisplayName("Test cell occupancy and removal")
+    void testCellOccupancy() {
+        int lastCell = chunk.getCellsPerRow() - 1;
+        GameObject first = new GameObjectImpl(0, 0, 10, 10);
+        GameObject second = new GameObjectImpl(0, 0, 10, 10);
+        GameObject third = new GameObjectImpl(0, 0, 10, 10);
+        
+        assertTrue(chunk.addObjectAt(first, 3));
+        assertTrue(chunk.addObjectAt(second, 7));
+        assertTrue(chunk.addObjectAt(third, lastCell));
+        assertFalse(chunk.addObjectAt(third, 3), "An occupied cell should reject new objects");
+        assertFalse(chunk.addObjectAt(third, lastCell + 1), "Out of range cells should be rejected");
+        
+        assertEquals(chunk.getCellsPerRow() - 3, chunk.getFreeCellCount());
+        assertSame(second, chunk.getObjectAt(7).orElseThrow());
+        
+        assertTrue(chunk.removeObjectAt(3));
+        assertFalse(chunk.removeObjectAt(3));
+        assertTrue(chunk.getObjectAt(3).isEmpty());
+        
+        List<GameObject> objects = chunk.getObjects();
+        assertEquals(2, objects.size());
+        assertTrue(objects.contains(second));
+        assertTrue(objects.contains(third));
+        assertSame(third, chunk.getObjectAt(lastCell).orElseThrow(), "Compaction should keep the cell mapping");
+    }
+    
+    @Test
+    @DisplayName("Test free cell lookup by rank")
+    void testFreeCellRank() {
+        // Una cella per pixel per attraversare più parole del bitset
+        ChunkImpl wide = new ChunkImpl(position, width, 1, type);
+        wide.addObjectAt(new GameObjectImpl(0, 0, 1, 1), 0);
+        wide.addObjectAt(new GameObjectImpl(0, 0, 1, 1), 2);
+        wide.addObjectAt(new GameObjectImpl(0, 0, 1, 1), 64);
+        
+        assertEquals(1, wide.getFreeCell(0));
+        assertEquals(3, wide.getFreeCell(1));
+        assertEquals(63, wide.getFreeCell(61));
+        assertEquals(65, wide.getFreeCell(62));
+        assertEquals(width - 1, wide.getFreeCell(wide.getFreeCellCount() - 1));
+        assertEquals(-1, wide.getFreeCell(wide.getFreeCellCount()));
+    }
+    
+    @Test
+    @DisplayName("Test cell views write through to the chunk")
+    void testCellViews() {
+        Cell cell = chunk.getCellAt(10);
+        assertFalse(cell.hasObject());
+        assertEquals(10, cell.getX());
+        assertEquals(position, cell.getY());
+        
+        GameObject obj = new GameObjectImpl(0, 0, 10, 10);
+        assertTrue(cell.addObject(obj));
+        assertTrue(chunk.getCells().get(10).hasObject());
+        assertSame(obj, chunk.getObjects().get(0));
+        
+        cell.removeObject();
+        assertTrue(chunk.getObjects().isEmpty());
+        assertNull(chunk.getCellAt(chunk.getCellsPerRow()));
+    }
+    
+    @Test
+    @DisplayName("Test world to cell mapping")
+    void testCellMapping() {
+        int cellSize = chunk.getCellSize();
+        assertEquals(ChunkImpl.DEFAULT_CELL_SIZE, cellSize);
+        assertEquals(width / cellSize, chunk.getCellsPerRow());
+        
+        assertEquals(0, chunk.toCellX(0));
+        assertEquals(0, chunk.toCellX(cellSize - 1));
+        assertEquals(1, chunk.toCellX(cellSize));
+        assertEquals(-1, chunk.toCellX(-1));
+        assertEquals(5 * cellSize, chunk.toWorldX(5));
+    }
+    
+    @Test
+    @DisplayName("Test objects are snapped to their cell")
+    void testSnapToCell() {
+        int cellSize = chunk.getCellSize();
+        
+        // Gli oggetti fermi vengono centrati sulla cella scelta
+        GameObject tree = new GameObjectImpl(500, position + 10, 20, 20);
+        assertTrue(chunk.addObjectAt(tree, 2));
+        assertEquals(2 * cellSize + (cellSize - 20) / 2, tree.getX());
+        assertEquals(position + 10, tree.getY());
+        
+        // addObject usa la cella sotto il centro dell'oggetto senza spostarlo
+        GameObject coin = new GameObjectImpl(5 * cellSize + 3, position, 20, 20);
+        assertTrue(chunk.addObject(coin));
+        assertSame(coin, chunk.getObjectAt(5).orElseThrow());
+        assertEquals(5 * cellSize + 3, coin.getX());
+        
+        // Se la cella è occupata viene scelta la più vicina libera
+        GameObject other = new GameObjectImpl(5 * cellSize, position, 20, 20);
+        assertTrue(chunk.addObject(other));
+        assertSame(other, chunk.getObjectAt(4).orElseThrow());
+        assertEquals(4 * cellSize + (cellSize - 20) / 2, other.getX());
+        
+        // Gli oggetti mobili mantengono la propria X
+        GameObjectImpl log = new GameObjectImpl(123, position, 80, 30);
+        log.setMovable(true);
+        assertTrue(chunk.addObjectAt(log, 10));
+        assertEquals(123, log.getX());
+    }
+}
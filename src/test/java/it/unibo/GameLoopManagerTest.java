@@ -0,0 +1,81 @@
+package it.unibo;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import it.unibo.controller.GameLoopManager;
+
+class GameLoopManagerTest {
+
+    private static final int TICKS_PER_SECOND = 50;
+
+    private AtomicInteger updates;
+    private GameLoopManager loop;
+    private long step;
+
+    @BeforeEach
+    void setUp() {
+        updates = new AtomicInteger();
+        loop = new GameLoopManager(updates::incrementAndGet, alpha -> { }, TICKS_PER_SECOND, 60);
+        step = loop.getStepNanos();
+    }
+
+    @Test
+    @DisplayName("Test that elapsed time is consumed in fixed steps")
+    void testFixedSteps() {
+        assertEquals(20_000_000L, step);
+        assertEquals(0, loop.advance(step / 2));
+        assertEquals(0.5, loop.getInterpolation(), 1e-9);
+
+        assertEquals(1, loop.advance(step / 2));
+        assertEquals(0, loop.getInterpolation(), 1e-9);
+
+        // Frame lenti e veloci producono lo stesso numero di passi
+        for (int i = 0; i < 16; i++) {
+            loop.advance(step / 4);
+        }
+        assertEquals(5, updates.get());
+        assertEquals(5, loop.getTickCount());
+        assertEquals(100, loop.getSimulatedMillis());
+    }
+
+    @Test
+    @DisplayName("Test that a long frame does not trigger an unbounded catch-up")
+    void testSpiralOfDeathProtection() {
+        int steps = loop.advance(step * 100 + step / 4);
+        assertTrue(steps < 100, "The backlog is dropped");
+        assertEquals(steps, updates.get());
+        assertEquals(0.25, loop.getInterpolation(), 1e-9);
+        assertEquals(step * (100 - steps), loop.getDroppedNanos());
+    }
+
+    @Test
+    @DisplayName("Test that time spent in pause is not simulated")
+    void testPause() {
+        loop.pauseGameLoop();
+        assertEquals(0, loop.advance(step * 3));
+        loop.resumeGameLoop();
+        assertEquals(0, loop.advance(step / 2));
+        assertEquals(0, updates.get());
+    }
+
+    @Test
+    @DisplayName("Test start and stop of the loop thread")
+    void testStartStop() throws InterruptedException {
+        loop.startGameLoop();
+        assertTrue(loop.isRunning());
+        Thread.sleep(200);
+        loop.stopGameLoop();
+        assertFalse(loop.isRunning());
+
+        int afterStop = updates.get();
+        assertTrue(afterStop > 0, "The loop ran some steps");
+        Thread.sleep(100);
+        assertEquals(afterStop, updates.get(), "No steps after stop");
+    }
+}
@@ -4,10 +4,13 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.List;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import it.unibo.model.Map.api.Chunk;
+import it.unibo.model.Map.api.GameObject;
+import it.unibo.model.Map.impl.ChunkImpl;
 import it.unibo.model.Map.impl.GameMapImpl;
 
 class GameMapTest {
@@ -23,6 +26,11 @@ class GameMapTest {
         gameMap = new GameMapImpl(TEST_WIDTH, TEST_HEIGHT, INITIAL_SPEED);
     }
     
+    @AfterEach
+    void tearDown() {
+        gameMap.dispose();
+    }
+    
     @Test
     void testInitialState() {
         // Verify the initial state of the map
@@ -135,4 +143,39 @@ class GameMapTest {
                        "No chunk should be too far behind the current position");
         }
     }
-}
\ No newline at end of file
+    
+    @Test
+    void testRegenerateChunk() {
+        GameMapImpl forward = new GameMapImpl(TEST_WIDTH, TEST_HEIGHT, INITIAL_SPEED, ChunkImpl.DEFAULT_CELL_SIZE, 99L);
+        GameMapImpl backward = new GameMapImpl(TEST_WIDTH, TEST_HEIGHT, INITIAL_SPEED, ChunkImpl.DEFAULT_CELL_SIZE, 99L);
+        try {
+            // The chunks built by the map are rebuilt identically
+            for (Chunk chunk : forward.getAllChunks()) {
+                assertEquals(describe(chunk), describe(forward.regenerateChunk(chunk.getPosition())));
+            }
+            
+            // Rebuilding in any order gives the same world, grass runs included
+            int count = 100;
+            String[] expected = new String[count];
+            for (int i = 0; i < count; i++) {
+                expected[i] = describe(forward.regenerateChunk(i * ChunkImpl.STANDARD_HEIGHT));
+            }
+            for (int i = count - 1; i >= 0; i--) {
+                assertEquals(expected[i], describe(backward.regenerateChunk(i * ChunkImpl.STANDARD_HEIGHT)));
+            }
+        } finally {
+            forward.dispose();
+            backward.dispose();
+        }
+    }
+    
+    private static String describe(Chunk chunk) {
+        StringBuilder sb = new StringBuilder(chunk.getType() + "@" + chunk.getPosition());
+        for (GameObject obj : chunk.getObjects()) {
+            sb.append(' ').append(obj.getClass().getSimpleName())
+                .append('(').append(obj.getX()).append(',').append(obj.getY())
+                .append(',').append(obj.getWidth()).append(',').append(obj.getHeight()).append(')');
+        }
+        return sb.toString();
+    }
+}
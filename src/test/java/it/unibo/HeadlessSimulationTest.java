@@ -0,0 +1,45 @@
+package it.unibo;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import it.unibo.controller.HeadlessSimulation;
+import it.unibo.model.Map.api.Chunk;
+
+class HeadlessSimulationTest {
+
+    private static final long SEED = 1234L;
+    private static final int TICKS = 5000;
+
+    private static String fingerprint(final HeadlessSimulation simulation) {
+        StringBuilder sb = new StringBuilder();
+        for (Chunk chunk : simulation.getGameMap().getAllChunks()) {
+            sb.append(chunk.getPosition()).append(chunk.getType()).append(chunk.getObjects().size()).append(';');
+        }
+        return sb.toString();
+    }
+
+    @Test
+    @DisplayName("Test that a run depends only on its seed")
+    void testDeterministicRun() {
+        HeadlessSimulation first = new HeadlessSimulation(SEED, 3);
+        HeadlessSimulation second = new HeadlessSimulation(SEED, 3);
+        try {
+            HeadlessSimulation.Report a = first.run(TICKS);
+            HeadlessSimulation.Report b = second.run(TICKS);
+
+            assertEquals(TICKS, first.getTick());
+            assertEquals(3 * TICKS, first.getGameMap().getCurrentPosition());
+            assertEquals(a.getChunksGenerated(), b.getChunksGenerated());
+            assertEquals(a.getCars(), b.getCars());
+            assertEquals(a.getTrains(), b.getTrains());
+            assertEquals(fingerprint(first), fingerprint(second));
+            assertTrue(a.getTicksPerSecond() > 0);
+        } finally {
+            first.dispose();
+            second.dispose();
+        }
+    }
+}
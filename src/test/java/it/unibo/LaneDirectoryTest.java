@@ -0,0 +1,86 @@
+package it.unibo;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import it.unibo.model.Map.impl.LaneDirectory;
+import it.unibo.model.Map.util.ChunkType;
+
+class LaneDirectoryTest {
+
+    private LaneDirectory directory;
+
+    @BeforeEach
+    void setUp() {
+        directory = new LaneDirectory(8);
+        directory.add(ChunkType.ROAD, 0);
+        directory.add(ChunkType.RIVER, 200);
+        directory.add(ChunkType.ROAD, 400);
+        directory.add(ChunkType.RAILWAY, 600);
+        directory.add(ChunkType.ROAD, 800);
+    }
+
+    @Test
+    @DisplayName("Test chunks are counted by type and range")
+    void testCount() {
+        assertEquals(3, directory.size(ChunkType.ROAD));
+        assertEquals(3, directory.count(ChunkType.ROAD, 0, 1000));
+        assertEquals(1, directory.count(ChunkType.ROAD, 100, 800));
+        assertEquals(0, directory.count(ChunkType.RAILWAY, 0, 600));
+        assertEquals(1, directory.count(ChunkType.RIVER, 200, 201));
+        assertEquals(0, directory.count(ChunkType.GRASS, 0, 1000));
+    }
+
+    @Test
+    @DisplayName("Test random positions stay in the range and the type")
+    void testRandomPosition() {
+        Random random = new Random(42);
+        Set<Integer> seen = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            int position = directory.randomPosition(ChunkType.ROAD, 300, 1000, random);
+            assertTrue(position == 400 || position == 800);
+            seen.add(position);
+        }
+        assertEquals(2, seen.size());
+        assertEquals(-1, directory.randomPosition(ChunkType.RAILWAY, 0, 500, random));
+    }
+
+    @Test
+    @DisplayName("Test removal, in order and out of order")
+    void testRemove() {
+        assertTrue(directory.remove(ChunkType.ROAD, 0));
+        assertFalse(directory.remove(ChunkType.ROAD, 0));
+        assertTrue(directory.remove(ChunkType.ROAD, 800));
+        assertEquals(1, directory.size(ChunkType.ROAD));
+        assertEquals(400, directory.randomPosition(ChunkType.ROAD, 0, 1000, new Random()));
+        directory.add(ChunkType.ROAD, 1000);
+        assertEquals(2, directory.count(ChunkType.ROAD, 0, 1200));
+    }
+
+    @Test
+    @DisplayName("Test positions must be added in order")
+    void testAddOrder() {
+        assertThrows(IllegalArgumentException.class, () -> directory.add(ChunkType.ROAD, 800));
+        directory.clear();
+        directory.add(ChunkType.ROAD, 0);
+        assertEquals(1, directory.size(ChunkType.ROAD));
+    }
+
+    @Test
+    @DisplayName("Test the oldest position is dropped when full")
+    void testWrapAround() {
+        LaneDirectory small = new LaneDirectory(2);
+        for (int y = 0; y < 1000; y += 200) {
+            small.add(ChunkType.GRASS, y);
+        }
+        assertEquals(2, small.size(ChunkType.GRASS));
+        assertEquals(2, small.count(ChunkType.GRASS, 600, 1000));
+    }
+}
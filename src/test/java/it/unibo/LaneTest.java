@@ -0,0 +1,251 @@
+package it.unibo;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import it.unibo.model.Map.Obstacles.api.Lane;
+import it.unibo.model.Map.Obstacles.api.MovingObstacleManager;
+import it.unibo.model.Map.Obstacles.impl.LaneImpl;
+import it.unibo.model.Map.Obstacles.impl.MovingObstacleManagerImpl;
+import it.unibo.model.Map.Obstacles.impl.MovingObstacles;
+import it.unibo.model.Map.util.ObjectPool;
+import it.unibo.model.Map.util.ObstacleType;
+
+class LaneTest {
+
+    private static final int MAP_WIDTH = 800;
+    private static final int Y = 200;
+
+    private Lane lane;
+
+    @BeforeEach
+    void setUp() {
+        lane = new LaneImpl(Y, 1);
+    }
+
+    private MovingObstacles car(final int x, final int speed) {
+        return new MovingObstacles(x, Y, ObstacleType.CAR, speed);
+    }
+
+    private void assertSorted(final List<MovingObstacles> obstacles) {
+        for (int i = 1; i < obstacles.size(); i++) {
+            assertTrue(obstacles.get(i - 1).getX() <= obstacles.get(i).getX(), "Lane must be sorted by X");
+        }
+    }
+
+    @Test
+    @DisplayName("Test that the lane stays sorted when obstacles wrap around")
+    void testSortedAfterWrap() {
+        lane.add(car(700, 2));
+        lane.add(car(100, 2));
+        lane.add(car(400, 2));
+        assertSorted(lane.getObstacles());
+
+        for (int tick = 1; tick <= 60; tick++) {
+            lane.advanceTo(tick, MAP_WIDTH);
+        }
+        // 700 + 2 * 60 supera il bordo di 19 pixel oltre il periodo (800 + 50 + 1)
+        assertEquals(-50 + 19, lane.getObstacles().get(0).getX(), "The wrapped car leads the order");
+        assertSorted(lane.getObstacles());
+    }
+
+    @Test
+    @DisplayName("Test that a faster car slows down behind a slower one")
+    void testCarFollowing() {
+        MovingObstacles slow = car(100, 1);
+        MovingObstacles fast = car(40, 3);
+        lane.add(slow);
+        lane.add(fast);
+
+        for (int tick = 1; tick <= 10; tick++) {
+            lane.advanceTo(tick, MAP_WIDTH);
+        }
+        assertEquals(1, fast.getSpeed());
+        assertTrue(fast.getX() < slow.getX(), "Cars do not overtake each other");
+    }
+
+    @Test
+    @DisplayName("Test that advancing a lane is idempotent and can skip ticks")
+    void testAdvanceSkipsTicks() {
+        MovingObstacles stepped = car(100, 3);
+        lane.add(stepped);
+        Lane other = new LaneImpl(Y, 1);
+        MovingObstacles skipped = car(100, 3);
+        other.add(skipped);
+
+        for (int tick = 1; tick <= 500; tick++) {
+            lane.advanceTo(tick, MAP_WIDTH);
+            lane.advanceTo(tick, MAP_WIDTH);
+        }
+        other.advanceTo(1, MAP_WIDTH);
+        other.advanceTo(500, MAP_WIDTH);
+        assertEquals(stepped.getX(), skipped.getX());
+        assertEquals(500, other.getTick());
+    }
+
+    @Test
+    @DisplayName("Test the first tick at which a span of the lane is free")
+    void testNextFreeTick() {
+        lane.add(car(100, 2));
+        lane.add(car(300, 2));
+        lane.advanceTo(1, MAP_WIDTH);
+
+        long free = lane.nextFreeTick(1, 150, 200);
+        assertTrue(free >= 1);
+        lane.advanceTo(free, MAP_WIDTH);
+        for (MovingObstacles obstacle : lane.getObstacles()) {
+            assertTrue(obstacle.getX() + obstacle.getWidth() <= 150 || obstacle.getX() >= 200);
+        }
+        // Il tick precedente era ancora occupato
+        if (free > 1) {
+            Lane replay = new LaneImpl(Y, 1);
+            MovingObstacles a = car(100, 2);
+            MovingObstacles b = car(300, 2);
+            replay.add(a);
+            replay.add(b);
+            replay.advanceTo(1, MAP_WIDTH);
+            replay.advanceTo(free - 1, MAP_WIDTH);
+            assertTrue(a.getX() < 200 && a.getX() + a.getWidth() > 150
+                || b.getX() < 200 && b.getX() + b.getWidth() > 150);
+        }
+        assertEquals(-1, lane.nextFreeTick(1, -100, MAP_WIDTH + 100), "A span wider than the period is never free");
+    }
+
+    @Test
+    @DisplayName("Test spawn gaps")
+    void testSpawnGap() {
+        lane.add(car(100, 1));
+        lane.add(car(400, 1));
+
+        assertTrue(lane.hasGap(250, 50, 100));
+        assertFalse(lane.hasGap(210, 50, 100), "Too close to the car behind");
+        assertFalse(lane.hasGap(260, 50, 100), "Too close to the car ahead");
+        assertTrue(lane.hasGap(-200, 50, 100));
+        assertFalse(lane.hasGap(120, 50, 0), "Overlapping an existing car");
+    }
+
+    @Test
+    @DisplayName("Test player collision and lane lookup in the manager")
+    void testManagerCollision() {
+        MovingObstacleManager manager = new MovingObstacleManagerImpl();
+        manager.addObstacle(car(100, 2));
+        manager.addObstacle(car(300, -2));
+        manager.addObstacle(new MovingObstacles(0, Y + 100, ObstacleType.TRAIN, 3));
+
+        assertEquals(3, manager.getLanes().size(), "One lane per row and direction");
+        assertTrue(manager.checkCollision(120, Y + 10));
+        assertTrue(manager.checkCollision(320, Y + 39));
+        assertFalse(manager.checkCollision(320, Y + 40));
+        assertTrue(manager.checkCollision(150, Y + 120));
+        assertFalse(manager.checkCollision(250, Y + 10));
+
+        manager.cleanupOffscreenObstacles(Y + 50, Y + 500);
+        assertEquals(1, manager.getObstacleCount());
+        assertFalse(manager.checkCollision(120, Y + 10));
+    }
+
+    @Test
+    @DisplayName("Test commands from other threads are applied at the next tick")
+    void testCommandQueue() throws InterruptedException {
+        MovingObstacleManager manager = new MovingObstacleManagerImpl();
+        MovingObstacles removed = car(0, 2);
+        manager.addObstacle(removed);
+        manager.advanceTo(1, MAP_WIDTH);
+
+        Thread[] producers = new Thread[4];
+        for (int t = 0; t < producers.length; t++) {
+            final int row = t;
+            producers[t] = new Thread(() -> {
+                for (int i = 0; i < 25; i++) {
+                    manager.submitAdd(new MovingObstacles(i * 60, Y + 100 * (row + 1), ObstacleType.CAR, 2));
+                }
+            });
+            producers[t].start();
+        }
+        manager.submitRemove(removed);
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        assertEquals(1, manager.getObstacleCount(), "Nothing changes before the tick");
+
+        manager.advanceTo(2, MAP_WIDTH);
+        assertEquals(100, manager.getObstacleCount());
+        assertFalse(manager.getActiveObstacles().contains(removed));
+        assertEquals(0, manager.drainCommands());
+    }
+
+    @Test
+    @DisplayName("Test the spawn gap is checked when the commands are applied")
+    void testSubmitWithGap() {
+        MovingObstacleManager manager = new MovingObstacleManagerImpl();
+        MovingObstacles first = car(100, 2);
+        MovingObstacles tooClose = car(150, 2);
+        MovingObstacles farAway = car(400, 2);
+        manager.submitAdd(first, 50);
+        manager.submitAdd(tooClose, 50);
+        manager.submitAdd(farAway, 50);
+
+        manager.advanceTo(1, MAP_WIDTH);
+        assertEquals(List.of(first, farAway), manager.getActiveObstacles());
+    }
+
+    @Test
+    @DisplayName("Test that resetting the obstacles only depends on the seed")
+    void testSeededReset() {
+        int[] first = resetSpeeds(7);
+        int[] second = resetSpeeds(7);
+        assertArrayEquals(first, second);
+    }
+
+    private int[] resetSpeeds(final long seed) {
+        MovingObstacleManager manager = new MovingObstacleManagerImpl(new Random(seed),
+            new ObjectPool<>(() -> car(0, 1), 0));
+        MovingObstacles[] obstacles = {
+            car(100, 2), car(400, -3), new MovingObstacles(0, Y + 100, ObstacleType.TRAIN, 4),
+        };
+        manager.addObstacles(obstacles);
+        manager.increaseSpeed(2);
+        manager.resetAll();
+        int[] speeds = new int[obstacles.length];
+        for (int i = 0; i < obstacles.length; i++) {
+            speeds[i] = obstacles[i].getSpeed();
+        }
+        return speeds;
+    }
+
+    @Test
+    @DisplayName("Test obstacles are kept in read-only buckets by type")
+    void testTypeBuckets() {
+        MovingObstacleManager manager = new MovingObstacleManagerImpl();
+        MovingObstacles first = car(100, 2);
+        MovingObstacles second = car(300, -2);
+        MovingObstacles train = new MovingObstacles(0, Y + 100, ObstacleType.TRAIN, 3);
+        manager.addObstacles(new MovingObstacles[] {first, second, train});
+
+        List<MovingObstacles> cars = manager.getObstacles(ObstacleType.CAR);
+        assertEquals(2, cars.size());
+        assertEquals(List.of(train), manager.getObstacles(ObstacleType.TRAIN));
+        assertTrue(manager.getObstacles(ObstacleType.TREE).isEmpty());
+        assertSame(cars, manager.getObstaclesByType("CAR"), "The same view is returned on every call");
+        assertTrue(manager.getObstaclesByType("BOAT").isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> cars.add(train));
+
+        manager.removeObstacle(first);
+        assertEquals(List.of(second), cars, "The view follows the manager");
+        MovingObstacles third = car(500, 2);
+        manager.addObstacle(third);
+        manager.removeObstacle(second);
+        assertEquals(List.of(third), cars);
+        manager.removeObstacle(second);
+        assertEquals(List.of(third), cars, "Removing twice does nothing");
+        manager.cleanupOffscreenObstacles(Y + 50, Y + 500);
+        assertTrue(cars.isEmpty());
+        assertEquals(1, manager.getObstacles(ObstacleType.TRAIN).size());
+    }
+}
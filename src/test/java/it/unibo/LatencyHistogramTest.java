@@ -0,0 +1,88 @@
+package it.unibo;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import it.unibo.model.Map.util.FrameMetrics;
+import it.unibo.model.Map.util.FrameMetrics.Phase;
+import it.unibo.model.Map.util.LatencyHistogram;
+
+class LatencyHistogramTest {
+
+    private LatencyHistogram histogram;
+
+    @BeforeEach
+    void setUp() {
+        histogram = new LatencyHistogram();
+    }
+
+    @Test
+    @DisplayName("Test small values are exact")
+    void testSmallValues() {
+        for (int v = 1; v <= 10; v++) {
+            histogram.record(v);
+        }
+        assertEquals(10, histogram.getCount());
+        assertEquals(5, histogram.getPercentile(0.5));
+        assertEquals(10, histogram.getPercentile(1.0));
+        assertEquals(10, histogram.getMax());
+        assertEquals(5.5, histogram.getMean(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Test percentiles against the sorted values")
+    void testPercentilesWithinBucketError() {
+        Random random = new Random(7);
+        long[] values = new long[10_000];
+        for (int i = 0; i < values.length; i++) {
+            // Distribuzione a coda lunga, come i tempi dei frame
+            values[i] = (long) (50_000 * Math.exp(random.nextGaussian()));
+            histogram.record(values[i]);
+        }
+        java.util.Arrays.sort(values);
+        for (double p : new double[] {0.5, 0.9, 0.99}) {
+            long exact = values[(int) Math.ceil(p * values.length) - 1];
+            long reported = histogram.getPercentile(p);
+            assertTrue(reported >= exact, "Percentiles are rounded up to the bucket edge");
+            assertTrue(reported <= exact * 1.125, "Error below one sub-bucket: " + exact + " vs " + reported);
+        }
+        assertEquals(values[values.length - 1], histogram.getMax());
+        assertEquals(values[values.length - 1], histogram.getPercentile(1.0));
+    }
+
+    @Test
+    @DisplayName("Test extreme values and reset")
+    void testExtremesAndReset() {
+        assertEquals(0, histogram.getPercentile(0.99), "Empty histogram");
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(0, histogram.getPercentile(0.5));
+        assertEquals(Long.MAX_VALUE, histogram.getPercentile(1.0));
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+    }
+
+    @Test
+    @DisplayName("Test the per phase registry")
+    void testFrameMetrics() {
+        FrameMetrics.reset();
+        long start = System.nanoTime();
+        FrameMetrics.record(Phase.RENDER, start);
+        FrameMetrics.record(Phase.RENDER, start);
+        assertEquals(2, FrameMetrics.get(Phase.RENDER).getCount());
+        assertEquals(0, FrameMetrics.get(Phase.COLLISION).getCount());
+        assertTrue(FrameMetrics.report().contains("RENDER"));
+
+        FrameMetrics.setEnabled(false);
+        FrameMetrics.record(Phase.RENDER, start);
+        FrameMetrics.setEnabled(true);
+        assertEquals(2, FrameMetrics.get(Phase.RENDER).getCount());
+    }
+}
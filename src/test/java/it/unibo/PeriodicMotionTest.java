@@ -0,0 +1,100 @@
+package it.unibo;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import it.unibo.model.Map.util.PeriodicMotion;
+
+class PeriodicMotionTest {
+
+    private static final int MAP_WIDTH = 800;
+    private static final int WIDTH = 50;
+    private static final int PERIOD = MAP_WIDTH + WIDTH + 1;
+
+    /**
+     * Reference implementation: moves one pixel-step at a time and wraps at the edges.
+     */
+    private static int step(final int x, final int speed) {
+        int next = x + speed;
+        if (next > MAP_WIDTH) {
+            return next - PERIOD;
+        }
+        if (next < -WIDTH) {
+            return next + PERIOD;
+        }
+        return next;
+    }
+
+    @Test
+    @DisplayName("Test that the closed form matches step by step motion")
+    void testMatchesStepping() {
+        for (int speed : new int[] {1, 3, -2, -7, 0}) {
+            PeriodicMotion motion = new PeriodicMotion(120, speed);
+            int x = 120;
+            for (long tick = 1; tick <= 2000; tick++) {
+                x = step(x, speed);
+                assertEquals(x, motion.advanceTo(tick, WIDTH, MAP_WIDTH), "speed " + speed + " tick " + tick);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test that a speed change keeps the current position")
+    void testRebase() {
+        PeriodicMotion motion = new PeriodicMotion(0, 4);
+        motion.advanceTo(10, WIDTH, MAP_WIDTH);
+        int x = motion.positionAt(10);
+        motion.rebase(x, -1);
+        assertEquals(x, motion.positionAt(10));
+        assertEquals(x - 5, motion.advanceTo(15, WIDTH, MAP_WIDTH));
+    }
+
+    @Test
+    @DisplayName("Test time of arrival queries against a brute force search")
+    void testArrivalQueries() {
+        for (int speed : new int[] {2, -3, 11}) {
+            PeriodicMotion motion = new PeriodicMotion(300, speed);
+            motion.advanceTo(1, WIDTH, MAP_WIDTH);
+            for (int column = -40; column < MAP_WIDTH; column += 97) {
+                assertEquals(bruteCovering(motion, 5, column), motion.nextTickCovering(5, column, WIDTH));
+                assertEquals(bruteClear(motion, 5, column, column + 40), motion.nextTickClearOf(5, column, column + 40, WIDTH));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test queries on motions that never get there")
+    void testNeverArrives() {
+        PeriodicMotion still = new PeriodicMotion(100, 0);
+        still.advanceTo(1, WIDTH, MAP_WIDTH);
+        assertEquals(1, still.nextTickCovering(1, 120, WIDTH));
+        assertEquals(-1, still.nextTickCovering(1, 400, WIDTH));
+        assertEquals(-1, still.nextTickClearOf(1, 90, 110, WIDTH));
+
+        PeriodicMotion moving = new PeriodicMotion(100, 5);
+        moving.advanceTo(1, WIDTH, MAP_WIDTH);
+        assertEquals(-1, moving.nextTickClearOf(1, -WIDTH, MAP_WIDTH + 1, WIDTH));
+    }
+
+    private static long bruteCovering(final PeriodicMotion motion, final long from, final int column) {
+        for (long tick = from; tick < from + 10 * PERIOD; tick++) {
+            int x = motion.positionAt(tick);
+            if (x <= column && column < x + WIDTH) {
+                return tick;
+            }
+        }
+        return -1;
+    }
+
+    private static long bruteClear(final PeriodicMotion motion, final long from, final int fromX, final int toX) {
+        for (long tick = from; tick < from + 10 * PERIOD; tick++) {
+            int x = motion.positionAt(tick);
+            if (x + WIDTH <= fromX || x >= toX) {
+                return tick;
+            }
+        }
+        return -1;
+    }
+}
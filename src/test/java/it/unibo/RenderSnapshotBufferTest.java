@@ -0,0 +1,135 @@
+package it.unibo;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import it.unibo.model.Map.Obstacles.impl.MovingObstacles;
+import it.unibo.model.Map.api.Chunk;
+import it.unibo.model.Map.impl.ChunkImpl;
+import it.unibo.model.Map.impl.GameMapImpl;
+import it.unibo.model.Map.impl.RenderSnapshot;
+import it.unibo.model.Map.impl.RenderSnapshotBuffer;
+import it.unibo.model.Map.util.ObstacleType;
+
+class RenderSnapshotBufferTest {
+
+    private GameMapImpl gameMap;
+    private RenderSnapshotBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        gameMap = new GameMapImpl(800, 600, 3, ChunkImpl.DEFAULT_CELL_SIZE, 42L);
+        buffer = new RenderSnapshotBuffer();
+    }
+
+    @AfterEach
+    void tearDown() {
+        gameMap.dispose();
+    }
+
+    @Test
+    @DisplayName("Test a snapshot copies the visible chunks and the position")
+    void testPublish() {
+        assertNull(buffer.acquireLatest(), "Nothing to draw before the first snapshot");
+        buffer.publish(gameMap);
+        gameMap.update();
+        buffer.publish(gameMap);
+
+        RenderSnapshot snapshot = buffer.acquireLatest();
+        List<Chunk> chunks = gameMap.getVisibleChunks();
+        assertEquals(gameMap.getTick(), snapshot.getTick());
+        assertEquals(gameMap.getCurrentPosition(), snapshot.getPosition());
+        assertEquals(gameMap.getCurrentPosition() - 3, snapshot.getPreviousPosition());
+        assertEquals(chunks.size(), snapshot.getChunkCount());
+        for (int i = 0; i < chunks.size(); i++) {
+            assertEquals(chunks.get(i).getType(), snapshot.getChunkType(i));
+            assertEquals(chunks.get(i).getPosition(), snapshot.getChunkPosition(i));
+            assertEquals(chunks.get(i).getHeight(), snapshot.getChunkHeight(i));
+        }
+        assertSame(snapshot, buffer.acquireLatest(), "Without a new snapshot the same one is kept");
+    }
+
+    @Test
+    @DisplayName("Test moving obstacles in view become sprites")
+    void testObstacleSprites() {
+        int y = gameMap.getCurrentPosition() + 100;
+        gameMap.getObstacleManager().addObstacle(new MovingObstacles(50, y, ObstacleType.CAR, -2));
+        gameMap.getObstacleManager().addObstacle(new MovingObstacles(50, y + 5000, ObstacleType.TRAIN, 2));
+        buffer.publish(gameMap);
+
+        RenderSnapshot snapshot = buffer.acquireLatest();
+        int cars = 0;
+        for (int i = 0; i < snapshot.getSpriteCount(); i++) {
+            assertTrue(snapshot.getSpriteY(i) < y + 5000, "Obstacles out of view are left out");
+            if (snapshot.getSpriteY(i) == y) {
+                assertEquals(RenderSnapshot.Sprite.CAR, snapshot.getSprite(i));
+                assertEquals(50, snapshot.getSpriteX(i));
+                assertFalse(snapshot.isSpriteFacingRight(i));
+                cars++;
+            }
+        }
+        assertEquals(1, cars);
+    }
+
+    @Test
+    @DisplayName("Test a held snapshot does not change while newer ones are published")
+    void testHeldSnapshot() {
+        buffer.publish(gameMap);
+        RenderSnapshot held = buffer.acquireLatest();
+        long tick = held.getTick();
+        int position = held.getPosition();
+
+        for (int i = 0; i < 5; i++) {
+            gameMap.update();
+            buffer.publish(gameMap);
+        }
+        assertEquals(tick, held.getTick());
+        assertEquals(position, held.getPosition());
+
+        RenderSnapshot latest = buffer.acquireLatest();
+        assertNotSame(held, latest);
+        assertEquals(gameMap.getTick(), latest.getTick(), "Only the newest snapshot is drawn");
+    }
+
+    @Test
+    @DisplayName("Test the view reads consistent snapshots while the simulation runs")
+    void testConcurrentReader() throws InterruptedException {
+        AtomicReference<String> failure = new AtomicReference<>();
+        Thread simulation = new Thread(() -> {
+            for (int i = 0; i < 2000; i++) {
+                gameMap.update();
+                buffer.publish(gameMap);
+            }
+        });
+        simulation.start();
+        long lastTick = -1;
+        while (simulation.isAlive() && failure.get() == null) {
+            RenderSnapshot snapshot = buffer.acquireLatest();
+            if (snapshot == null) {
+                continue;
+            }
+            if (snapshot.getTick() < lastTick) {
+                failure.set("Snapshot went back from tick " + lastTick + " to " + snapshot.getTick());
+            }
+            lastTick = snapshot.getTick();
+            if (snapshot.getPosition() - snapshot.getPreviousPosition() != 3 && snapshot.getTick() > 1) {
+                failure.set("Position and previous position from different steps");
+            }
+            for (int i = 1; i < snapshot.getChunkCount(); i++) {
+                if (snapshot.getChunkPosition(i) <= snapshot.getChunkPosition(i - 1)) {
+                    failure.set("Chunks out of order at tick " + snapshot.getTick());
+                }
+            }
+        }
+        simulation.join();
+        assertNull(failure.get());
+        assertEquals(gameMap.getTick(), buffer.acquireLatest().getTick());
+    }
+}
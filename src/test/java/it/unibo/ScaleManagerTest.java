@@ -118,4 +118,18 @@ class ScaleManagerTest {
         assertTrue(Math.abs(originalX - unscaledX) <= 1);
         assertTrue(Math.abs(originalY - unscaledY) <= 1);
     }
-}
\ No newline at end of file
+    
+    @Test
+    @DisplayName("Test that objects keep their screen distance while scrolling")
+    void testRowsScrollTogether() {
+        scaleManager.updateScale(1000, 700);
+        int road = 1000;
+        int car = 1010;
+        int distance = scaleManager.toRow(car) - scaleManager.toRow(road);
+        for (int offset = 0; offset < 200; offset++) {
+            int roadY = scaleManager.toRow(road) - scaleManager.toRow(offset);
+            int carY = scaleManager.toRow(car) - scaleManager.toRow(offset);
+            assertEquals(distance, carY - roadY, "Offset " + offset);
+        }
+    }
+}
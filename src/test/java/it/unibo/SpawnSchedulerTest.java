@@ -0,0 +1,77 @@
+package it.unibo;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import it.unibo.controller.SpawnScheduler;
+
+class SpawnSchedulerTest {
+
+    private SpawnScheduler scheduler;
+    private List<Long> runs;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new SpawnScheduler(100);
+        runs = new ArrayList<>();
+    }
+
+    @Test
+    @DisplayName("Test actions run on their ticks")
+    void testPeriodicRuns() {
+        scheduler.schedule(() -> runs.add(scheduler.getTick()), 5, 10);
+        scheduler.advanceTo(104);
+        assertTrue(runs.isEmpty());
+        scheduler.advanceTo(130);
+        assertEquals(List.of(105L, 115L, 125L), runs);
+        assertEquals(130, scheduler.getTick());
+    }
+
+    @Test
+    @DisplayName("Test skipping ticks runs the same actions as stepping")
+    void testSkippingTicks() {
+        SpawnScheduler stepped = new SpawnScheduler(100);
+        List<Long> steppedRuns = new ArrayList<>();
+        stepped.schedule(() -> steppedRuns.add(stepped.getTick()), 3, 7);
+        scheduler.schedule(() -> runs.add(scheduler.getTick()), 3, 7);
+        for (long t = 101; t <= 160; t++) {
+            stepped.advanceTo(t);
+        }
+        assertEquals(9, scheduler.advanceTo(160));
+        assertEquals(steppedRuns, runs);
+    }
+
+    @Test
+    @DisplayName("Test changing the period keeps the phase")
+    void testSetPeriod() {
+        SpawnScheduler.Task task = scheduler.schedule(() -> runs.add(scheduler.getTick()), 10, 10);
+        scheduler.advanceTo(112);
+        task.setPeriod(4);
+        assertEquals(114, task.getNextTick(), "Next run one new period after the last one");
+        task.setPeriod(1);
+        assertEquals(113, task.getNextTick(), "Never in the past");
+        scheduler.advanceTo(115);
+        assertEquals(List.of(110L, 113L, 114L, 115L), runs);
+    }
+
+    @Test
+    @DisplayName("Test cancelled tasks stop running")
+    void testCancel() {
+        SpawnScheduler.Task task = scheduler.schedule(() -> runs.add(scheduler.getTick()), 1, 1);
+        scheduler.advanceTo(103);
+        task.cancel();
+        scheduler.advanceTo(110);
+        assertEquals(3, runs.size());
+        assertEquals(0, scheduler.getTaskCount());
+
+        scheduler.schedule(() -> runs.add(scheduler.getTick()), 1, 1);
+        scheduler.clear();
+        assertEquals(0, scheduler.advanceTo(120));
+    }
+}
@@ -0,0 +1,134 @@
+package it.unibo;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import it.unibo.model.Map.api.GameObject;
+import it.unibo.model.Map.impl.GameObjectImpl;
+import it.unibo.model.Map.impl.UniformGridIndex;
+
+class UniformGridIndexTest {
+
+    private static final int CELL = 40;
+    private static final int ROWS = 8;
+
+    private UniformGridIndex index;
+    private List<GameObject> result;
+
+    @BeforeEach
+    void setUp() {
+        index = new UniformGridIndex(400, CELL, CELL, ROWS);
+        result = new ArrayList<>();
+    }
+
+    @Test
+    @DisplayName("Test point and area queries")
+    void testPointAndAreaQueries() {
+        GameObject a = new GameObjectImpl(10, 10, 30, 30);
+        GameObject b = new GameObjectImpl(100, 10, 80, 30);
+        index.insert(a);
+        index.insert(b);
+        assertEquals(2, index.size());
+
+        index.queryPoint(20, 20, result);
+        assertEquals(List.of(a), result);
+
+        result.clear();
+        index.queryPoint(170, 20, result);
+        assertEquals(List.of(b), result, "Objects spanning several cells are found in each of them");
+
+        result.clear();
+        index.queryPoint(50, 20, result);
+        assertTrue(result.isEmpty());
+
+        result.clear();
+        index.queryArea(0, 0, 400, 40, result);
+        assertEquals(2, result.size(), "Each object is reported once");
+    }
+
+    @Test
+    @DisplayName("Test radius queries")
+    void testRadiusQuery() {
+        GameObject near = new GameObjectImpl(50, 0, 10, 10);
+        GameObject corner = new GameObjectImpl(40, 40, 10, 10);
+        index.insert(near);
+        index.insert(corner);
+
+        index.queryRadius(0, 0, 50, result);
+        assertEquals(List.of(near), result, "Objects in the bounding square but outside the circle are discarded");
+
+        result.clear();
+        index.queryRadius(0, 0, 60, result);
+        assertEquals(2, result.size());
+    }
+
+    @Test
+    @DisplayName("Test that moved objects are found in their new cells")
+    void testMovement() {
+        GameObject car = new GameObjectImpl(0, 0, 30, 30);
+        car.setMovable(true);
+        index.insert(car);
+
+        car.setPosition(200, 0);
+        index.refreshMovables();
+
+        index.queryPoint(10, 10, result);
+        assertTrue(result.isEmpty());
+        index.queryPoint(210, 10, result);
+        assertEquals(List.of(car), result);
+
+        GameObject rock = new GameObjectImpl(0, 80, 30, 30);
+        index.insert(rock);
+        rock.setPosition(300, 80);
+        index.update(rock);
+        result.clear();
+        index.queryPoint(310, 90, result);
+        assertEquals(List.of(rock), result);
+    }
+
+    @Test
+    @DisplayName("Test removal")
+    void testRemove() {
+        GameObject obj = new GameObjectImpl(0, 0, 30, 30);
+        index.insert(obj);
+        index.remove(obj);
+
+        assertEquals(0, index.size());
+        index.queryPoint(10, 10, result);
+        assertTrue(result.isEmpty());
+
+        GameObject first = new GameObjectImpl(0, 0, 30, 30);
+        GameObject second = new GameObjectImpl(100, 0, 30, 30);
+        first.setMovable(true);
+        second.setMovable(true);
+        index.insert(first);
+        index.insert(second);
+        index.remove(first);
+        second.setPosition(300, 0);
+        index.refreshMovables();
+        index.queryPoint(310, 10, result);
+        assertEquals(List.of(second), result, "The remaining movables are still refreshed");
+    }
+
+    @Test
+    @DisplayName("Test that old rows are recycled as the window scrolls")
+    void testRowRecycling() {
+        GameObject old = new GameObjectImpl(0, 0, 30, 30);
+        index.insert(old);
+
+        GameObject ahead = new GameObjectImpl(0, ROWS * CELL, 30, 30);
+        index.insert(ahead);
+
+        assertEquals(1, index.size(), "Objects in a recycled row leave the index");
+        index.queryPoint(10, 10, result);
+        assertTrue(result.isEmpty());
+        index.queryPoint(10, ROWS * CELL + 10, result);
+        assertEquals(List.of(ahead), result);
+    }
+}